@@ -0,0 +1,129 @@
+package com.chimax.chimax_backend.cache;
+
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import com.chimax.chimax_backend.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /api/products yanıtının önceden JSON'a (ve gzip'e) çevrilmiş hali.
+ * Katalog her istekte Jackson ile yeniden serileştirilmek yerine, arka planda bir kez byte dizisine
+ * dönüştürülür; istekler bu diziyi doğrudan yanıt akışına kopyalar.
+ *
+ * Tutarlılık: görüntü, katalog liste sürümüne (CatalogVersion) bağlıdır. Kurulum, başladığı andaki sürümü
+ * kaydeder ve veritabanını ondan sonra okur; bu yüzden sürümü güncel olan bir görüntü, o sürüme kadarki tüm
+ * değişiklikleri içerir. Güncel olmayan görüntü hiç sunulmaz, controller bu durumda normal (önbellekli) yola düşer.
+ *
+ * Tüm katalog okunup serileştirildiği için kurulum her değişiklikte değil, ProductSuggestionIndex'teki gibi
+ * periyodik olarak ve yalnızca liste sürümü değiştiyse yapılır. Yalnızca stok değişiklikleri (siparişler) liste
+ * sürümünü artırmadığından görüntüyü yeniden kurdurmaz; görüntüdeki stok adetleri diğer listeler gibi en fazla
+ * önbellek süresi (app.catalog.cache.ttl-seconds) kadar geride kalır, ardından aynı sürümle yenilenir.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final long maxAgeMs;
+
+    private volatile Snapshot current;
+
+    public CatalogSnapshot(ProductService productService,
+                           ObjectMapper objectMapper,
+                           CatalogVersion catalogVersion,
+                           @Value("${app.catalog.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+        this.maxAgeMs = ttlSeconds * 1000;
+    }
+
+    /**
+     * Güncel bir görüntü varsa döndürür; liste sürümü değiştikten sonra henüz yeniden kurulmadıysa boş döner.
+     */
+    public Optional<Snapshot> getIfFresh() {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version == catalogVersion.current()) {
+            return Optional.of(snapshot);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Liste sürümü son kurulumdan sonra değiştiyse veya görüntü önbellek süresinden eskiyse yeniden kurar.
+     * fixedDelay sayesinde kurulumlar üst üste binmez; kurulum sürerken artan sürüm sonraki çalışmada işlenir.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.snapshot.rebuild-delay-ms:2000}")
+    public void rebuildIfDirty() {
+        long targetVersion = catalogVersion.current(); // Veritabanı bundan SONRA okunmalı
+        long start = System.currentTimeMillis();
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version == targetVersion && start - snapshot.builtAt < maxAgeMs) {
+            return;
+        }
+        try {
+            List<ProductSummaryDto> products = productService.findAllActiveProducts();
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            byte[] gzip = gzip(json);
+            this.current = new Snapshot(targetVersion, start, json, gzip, products.size());
+            logger.debug("Katalog görüntüsü kuruldu. Ürün: {}, JSON: {} bayt, gzip: {} bayt, süre: {} ms",
+                         products.size(), json.length, gzip.length, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Katalog görüntüsü kurulamadı; istekler normal yoldan karşılanacak.", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(512, data.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(buffer)) {
+            gzipOut.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Belirli bir liste sürümüne ait, değişmez katalog görüntüsü.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final long builtAt;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final int productCount;
+
+        private Snapshot(long version, long builtAt, byte[] json, byte[] gzip, int productCount) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.json = json;
+            this.gzip = gzip;
+            this.productCount = productCount;
+        }
+
+        /** UTF-8 JSON dizisi. Değiştirilmemelidir; yanıta olduğu gibi yazılır. */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /** JSON dizisinin gzip ile sıkıştırılmış hali. */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public int getProductCount() {
+            return productCount;
+        }
+    }
+}
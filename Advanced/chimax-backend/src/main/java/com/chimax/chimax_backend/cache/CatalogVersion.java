@@ -0,0 +1,75 @@
+package com.chimax.chimax_backend.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ürün kataloğu için sürüm damgaları. Liste yanıtları (tüm ürünler, sayfalar, arama, filtre) tek bir liste
+ * sürümünü, ürün detay yanıtları ise ürün başına ayrı bir sürümü paylaşır; böylece tek bir ürünün stoğu
+ * değiştiğinde yalnızca o ürünün ETag'i değişir. Sürümler GET endpoint'lerinde güçlü ETag olarak kullanılır.
+ * İstemci aynı ETag'i If-None-Match ile gönderirse veritabanına veya önbelleğe hiç gidilmeden 304 Not Modified döner.
+ * Kategori listesi bu sürümleri kullanmaz; kendi sürümünü CategoryCatalog tutar.
+ *
+ * Sürüm, okuma kaynakları güncellendikten SONRA artırılmalıdır (önce önbellek boşaltılır / indeks güncellenir,
+ * sonra sürüm artar); aksi halde eski veri yeni ETag ile istemciye verilebilir.
+ * Başlangıç değeri açılış zamanıdır; böylece yeniden başlatma sonrası eski ETag'ler yanlışlıkla eşleşmez.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong productClock = new AtomicLong(System.currentTimeMillis());
+    /** Değişmiş ürünlerin sürümleri; hiç değişmemiş ürünler productBase sürümündedir. */
+    private final Map<Long, Long> productVersions = new ConcurrentHashMap<>();
+    private volatile long productBase = productClock.get();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long increment() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * Verilen kaynak için mevcut liste sürümüne karşılık gelen ETag değerini (tırnaksız) döndürür.
+     * @param resource Kaynak adı (örn: "products"). Farklı kaynakların ETag'lerini ayırmak içindir.
+     */
+    public String etag(String resource) {
+        return resource + "-" + version.get();
+    }
+
+    public long productVersion(Long productId) {
+        return productVersions.getOrDefault(productId, productBase);
+    }
+
+    /**
+     * Verilen ürünlerin sürümlerini artırır; liste sürümüne dokunmaz.
+     */
+    public void incrementProducts(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            productVersions.put(productId, productClock.incrementAndGet());
+        }
+    }
+
+    /**
+     * Tüm ürünlerin ve listelerin sürümlerini artırır (örn. önbellek elle temizlendiğinde).
+     */
+    public void incrementAll() {
+        productBase = productClock.incrementAndGet(); // Önce taban; temizlenen ürünler yeni tabana düşer
+        productVersions.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Tek bir ürünün yanıtı için ETag değerini (tırnaksız) döndürür.
+     * @param resource Kaynak adı (örn: "product", "product-detail").
+     */
+    public String productEtag(String resource, Long productId) {
+        return resource + "-" + productId + "-" + productVersion(productId);
+    }
+}
@@ -0,0 +1,177 @@
+package com.chimax.chimax_backend.cache;
+
+import com.chimax.chimax_backend.dto.CacheStatsDto;
+import com.chimax.chimax_backend.dto.ProductDetailDto;
+import com.chimax.chimax_backend.dto.ProductResponseDto;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import com.chimax.chimax_backend.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Herkese açık katalog okumalarının önünde duran, boyut ve TTL ile sınırlı bellek içi ürün önbelleği.
+ * Controller'lar ProductService'i bu sınıf üzerinden çağırır; isabet durumunda ne transaction açılır
+ * ne de veritabanına gidilir. Önbellekte entity değil, hazır DTO'lar (detay için ProductResponseDto,
+ * listeler için ProductSummaryDto, detay sayfası için ProductDetailDto) tutulur.
+ *
+ * Geçersiz kılma (invalidation) ProductChangedEvent üzerinden yapılır: değişen ürünlerin detay kayıtları
+ * (yeni yorumlar da ürünün puan özetini güncelleyip olay yayınladığından detay sayfası kayıtları dahil)
+ * tek tek atılır ve ürün sürümleri artırılır. Liste kayıtları (herhangi bir liste değişen ürünü içerebileceği için)
+ * topluca atılır; yalnızca stok değiştiyse (STOCK_CHANGED) listelere dokunulmaz; listelerdeki stok adedi
+ * önbellek süresi kadar geride kalabilir, kesin kontrol siparişte yapılır. Liste sürümünü bu sınıf artırmaz;
+ * indeksler güncellendikten sonra ProductIndexUpdater artırır, eski sürümle yüklenmiş listeler o an yeniden yüklenir.
+ * Olay transaction commit edildikten sonra işlendiği için önbelleğe commit edilmemiş veri girmez.
+ *
+ * Her kayıt, yükleme başlamadan önce okunan sürümle saklanır. invalidate/invalidateAll süren bir yüklemeyi
+ * iptal etmez; değişiklikten önce başlamış bir yükleme eski veriyi önbelleğe koyabilir. Okumada kaydın sürümü
+ * güncel sürümden eskiyse kayıt kullanılmaz, yeniden yüklenir.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalogCache.class);
+
+    private static final String ACTIVE_PRODUCTS_KEY = "active-products";
+
+    private final Cache<Long, Versioned<Optional<ProductResponseDto>>> productsById;
+    private final Cache<Long, Versioned<Optional<ProductDetailDto>>> productDetails;
+    private final Cache<String, Versioned<Object>> productLists;
+    private final CatalogVersion catalogVersion;
+
+    public ProductCatalogCache(CatalogVersion catalogVersion,
+                               @Value("${app.catalog.cache.product-max-size:10000}") long productMaxSize,
+                               @Value("${app.catalog.cache.list-max-size:500}") long listMaxSize,
+                               @Value("${app.catalog.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.catalogVersion = catalogVersion;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.productDetails = Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.productLists = Caffeine.newBuilder()
+                .maximumSize(listMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        logger.info("Ürün önbelleği oluşturuldu. Ürün limiti={}, liste limiti={}, TTL={}s", productMaxSize, listMaxSize, ttlSeconds);
+    }
+
+    /**
+     * Ürün detayını önbellekten getirir; yoksa loader ile yükleyip önbelleğe koyar.
+     * Bulunamayan ürünler de (boş Optional olarak) kısa süreliğine önbelleğe alınır.
+     */
+    public Optional<ProductResponseDto> getProduct(Long id, Function<Long, Optional<ProductResponseDto>> loader) {
+        return getVersioned(productsById, id, catalogVersion.productVersion(id), loader);
+    }
+
+    /**
+     * Ürün detay sayfası yanıtını (ürün, puan özeti, ilk yorum sayfası) önbellekten getirir; yoksa loader ile yükler.
+     */
+    public Optional<ProductDetailDto> getProductDetail(Long id, Function<Long, Optional<ProductDetailDto>> loader) {
+        return getVersioned(productDetails, id, catalogVersion.productVersion(id), loader);
+    }
+
+    /**
+     * Tüm aktif ürünler listesini önbellekten getirir; yoksa loader ile yükler.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ProductSummaryDto> getActiveProducts(Supplier<List<ProductSummaryDto>> loader) {
+        return (List<ProductSummaryDto>) getVersioned(productLists, ACTIVE_PRODUCTS_KEY, catalogVersion.current(), key -> loader.get());
+    }
+
+    /**
+     * Anahtarı çağıran tarafça belirlenen bir liste/sayfa sonucunu önbellekten getirir; yoksa loader ile yükler.
+     * @param key Liste anahtarı (örn: "page:{cursor}:{size}"). Tüm parametreleri içermelidir.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getList(String key, Supplier<T> loader) {
+        return (T) getVersioned(productLists, key, catalogVersion.current(), k -> loader.get());
+    }
+
+    /**
+     * Verilen ürünlerin detay kayıtlarını atar ve ürün sürümlerini artırır. listsChanged ise tüm liste
+     * kayıtları da atılır (liste sürümünü ProductIndexUpdater artırır).
+     */
+    public void evictProducts(Collection<Long> productIds, boolean listsChanged) {
+        productsById.invalidateAll(productIds);
+        productDetails.invalidateAll(productIds);
+        catalogVersion.incrementProducts(productIds); // Önbellek boşaltıldıktan sonra; yeni ETag eski veriyle eşleşmez
+        if (listsChanged) {
+            productLists.invalidateAll();
+        }
+    }
+
+    /**
+     * Önbelleği tamamen boşaltır.
+     */
+    public void evictAll() {
+        productsById.invalidateAll();
+        productDetails.invalidateAll();
+        productLists.invalidateAll();
+        catalogVersion.incrementAll(); // Veritabanında elle yapılan değişikliklerden sonra istemciler de yenilensin
+        logger.info("Ürün önbelleği tamamen temizlendi.");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        logger.debug("Ürün önbelleği geçersiz kılınıyor: {}", event);
+        evictProducts(event.getProductIds(), event.getChangeType() != ProductChangedEvent.ChangeType.STOCK_CHANGED);
+    }
+
+    /**
+     * Admin paneli için önbellek istatistiklerini döndürür.
+     */
+    public List<CacheStatsDto> getStats() {
+        return List.of(toStatsDto("products", productsById.estimatedSize(), productsById.stats()),
+                       toStatsDto("product-details", productDetails.estimatedSize(), productDetails.stats()),
+                       toStatsDto("product-lists", productLists.estimatedSize(), productLists.stats()));
+    }
+
+    private CacheStatsDto toStatsDto(String name, long size, CacheStats stats) {
+        return new CacheStatsDto(name, size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+
+    // version, yükleme başlamadan önce okunmalıdır.
+    private static <K, V> V getVersioned(Cache<K, Versioned<V>> cache, K key, long version, Function<K, V> loader) {
+        Versioned<V> entry = cache.get(key, k -> new Versioned<>(version, loader.apply(k)));
+        if (entry.version >= version) {
+            return entry.value;
+        }
+        // Değişiklikten önce başlamış bir yüklemenin sonucu: yeniden yüklenir, daha yeni bir kayıt varsa o korunur.
+        Versioned<V> reloaded = new Versioned<>(version, loader.apply(key));
+        cache.asMap().merge(key, reloaded, (existing, loaded) -> existing.version >= loaded.version ? existing : loaded);
+        return reloaded.value;
+    }
+
+    /**
+     * Önbellek kaydı ve yüklenmeye başlandığı andaki sürüm.
+     */
+    private static final class Versioned<V> {
+        private final long version;
+        private final V value;
+
+        private Versioned(long version, V value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.service.ProductDtoMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aktif ürünlerin hazır özet DTO'larını (açıklama hariç) ID ile tutan bellek içi depo.
+ * Arama ve filtre gibi indeksler sadece ürün ID'leri döndürür; sonuç listeleri bu depodan
+ * veritabanına gitmeden oluşturulur.
+ */
+@Component
+public class ActiveProductStore implements ProductIndex {
+
+    private volatile Map<Long, ProductSummaryDto> products = new ConcurrentHashMap<>();
+
+    @Override
+    public void rebuild(List<Product> activeProducts) {
+        Map<Long, ProductSummaryDto> rebuilt = new ConcurrentHashMap<>(Math.max(16, activeProducts.size() * 2));
+        for (Product product : activeProducts) {
+            rebuilt.put(product.getId(), ProductDtoMapper.toSummaryDto(product));
+        }
+        this.products = rebuilt; // Tek atamayla yeni haritaya geçilir, okuyucular yarım kurulmuş veri görmez.
+    }
+
+    @Override
+    public void upsert(Product product) {
+        products.put(product.getId(), ProductDtoMapper.toSummaryDto(product));
+    }
+
+    @Override
+    public void remove(Long productId) {
+        products.remove(productId);
+    }
+
+    public Optional<ProductSummaryDto> get(Long productId) {
+        return Optional.ofNullable(products.get(productId));
+    }
+
+    /**
+     * Verilen ID'lerin DTO'larını aynı sırayla döndürür; depoda olmayan (pasif/silinmiş) ID'ler atlanır.
+     */
+    public List<ProductSummaryDto> getAll(Collection<Long> productIds) {
+        Map<Long, ProductSummaryDto> current = products;
+        List<ProductSummaryDto> result = new ArrayList<>(productIds.size());
+        for (Long id : productIds) {
+            ProductSummaryDto dto = current.get(id);
+            if (dto != null) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return products.size();
+    }
+}
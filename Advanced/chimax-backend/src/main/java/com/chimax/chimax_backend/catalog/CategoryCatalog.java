@@ -0,0 +1,181 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.dto.CategoryDto;
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Kategorilerin ve her kategorideki aktif ürün sayısının bellek içi, değişmez görüntüsü.
+ * Sayımlar ürün değişikliklerinde artımlı olarak güncellenir (ürün başına hangi kategoride sayıldığı tutulur);
+ * istek başına COUNT sorgusu atılmaz. Her değişiklikte yeni bir Snapshot oluşturulup tek atamayla yayınlanır,
+ * böylece okuyucular kilitsiz çalışır ve Snapshot'ın sürümü doğrudan ETag olarak kullanılabilir.
+ *
+ * Sayımı değişmeyen güncellemeler (fiyat, stok vb.) yeni sürüm üretmez; istemcilerin kategori listesi
+ * önbelleği ürün yazmalarında gereksiz yere geçersiz olmaz.
+ */
+@Component
+public class CategoryCatalog implements ProductIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalog.class);
+
+    private final CategoryRepository categoryRepository;
+
+    // Aşağıdaki alanlara erişim this üzerinde senkronizedir.
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final Map<Long, Long> categoryIdByProductId = new HashMap<>();
+    private final Map<Long, Integer> countsByCategoryId = new HashMap<>();
+    private long version = System.currentTimeMillis(); // Açılış zamanı: yeniden başlatma sonrası eski ETag'ler eşleşmez
+    private boolean categoriesLoaded;
+
+    private volatile Snapshot snapshot = new Snapshot(0, Collections.emptyList());
+
+    public CategoryCatalog(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public synchronized void rebuild(List<Product> activeProducts) {
+        loadCategories();
+        categoryIdByProductId.clear();
+        countsByCategoryId.clear();
+        for (Product product : activeProducts) {
+            addProduct(product);
+        }
+        publish();
+    }
+
+    @Override
+    public synchronized void upsert(Product product) {
+        Long newCategoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        if (categoryIdByProductId.containsKey(product.getId())
+                && Objects.equals(categoryIdByProductId.get(product.getId()), newCategoryId)
+                && (newCategoryId == null || product.getCategory().getName().equals(namesById.get(newCategoryId)))) {
+            return; // Ürün zaten aynı kategoride sayılıyor; görüntü değişmez.
+        }
+        removeProduct(product.getId());
+        addProduct(product);
+        publish();
+    }
+
+    @Override
+    public synchronized void remove(Long productId) {
+        if (categoryIdByProductId.containsKey(productId)) {
+            removeProduct(productId);
+            publish();
+        }
+    }
+
+    /**
+     * Güncel görüntüyü döndürür. Açılışta indeks henüz kurulmadıysa kategoriler sayımsız olarak yüklenir.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current.getVersion() == 0) {
+            synchronized (this) {
+                if (!categoriesLoaded) {
+                    loadCategories();
+                    publish();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Kategori listesini veritabanından yeniden okur (örn. veritabanına doğrudan yeni kategori eklendiğinde).
+     * Ürün sayımları korunur.
+     */
+    public synchronized void reloadCategories() {
+        loadCategories();
+        publish();
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private void loadCategories() {
+        namesById.clear();
+        for (Category category : categoryRepository.findAll()) {
+            namesById.put(category.getId(), category.getName());
+        }
+        categoriesLoaded = true;
+        logger.debug("{} kategori yüklendi.", namesById.size());
+    }
+
+    private void addProduct(Product product) {
+        Category category = product.getCategory();
+        if (category == null) {
+            categoryIdByProductId.put(product.getId(), null);
+            return;
+        }
+        // Görüntüde olmayan (sonradan eklenmiş) veya adı değişmiş kategori ürünün kendisinden öğrenilir.
+        namesById.put(category.getId(), category.getName());
+        categoryIdByProductId.put(product.getId(), category.getId());
+        countsByCategoryId.merge(category.getId(), 1, Integer::sum);
+    }
+
+    private void removeProduct(Long productId) {
+        Long categoryId = categoryIdByProductId.remove(productId);
+        if (categoryId != null) {
+            countsByCategoryId.computeIfPresent(categoryId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void publish() {
+        List<CategoryDto> categories = new ArrayList<>(namesById.size());
+        for (Map.Entry<Long, String> entry : namesById.entrySet()) {
+            categories.add(new CategoryDto(entry.getKey(), entry.getValue(), countsByCategoryId.getOrDefault(entry.getKey(), 0)));
+        }
+        categories.sort((a, b) -> a.getName().compareToIgnoreCase(b.getName()));
+        this.snapshot = new Snapshot(++version, Collections.unmodifiableList(categories));
+    }
+
+    /**
+     * Belirli bir sürüme ait, değişmez kategori görüntüsü.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final List<CategoryDto> categories;
+        private final Map<String, CategoryDto> categoriesByName;
+
+        private Snapshot(long version, List<CategoryDto> categories) {
+            this.version = version;
+            this.categories = categories;
+            this.categoriesByName = new HashMap<>(Math.max(16, categories.size() * 2));
+            for (CategoryDto category : categories) {
+                categoriesByName.put(normalizeName(category.getName()), category);
+            }
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /** Ada göre sıralı kategoriler ve aktif ürün sayıları. Değiştirilemez. */
+        public List<CategoryDto> getCategories() {
+            return categories;
+        }
+
+        /** Kategoriyi adına göre bulur (büyük/küçük harf duyarsız). */
+        public Optional<CategoryDto> findByName(String name) {
+            return name == null ? Optional.empty() : Optional.ofNullable(categoriesByName.get(normalizeName(name)));
+        }
+
+        private static String normalizeName(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.chimax.chimax_backend.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * "Birlikte sık satın alınanlar" için seyrek birlikte-satın-alma (co-occurrence) matrisi.
+ * Her ürün için, aynı siparişte birlikte bulunduğu diğer ürünler ve kaç siparişte birlikte bulundukları tutulur;
+ * sadece gerçekten birlikte satılmış çiftler saklanır. Bir ürünün en çok birlikte satılan ilk K komşusu
+ * ilk sorulduğunda hesaplanır ve o ürünün satırı değişene kadar saklanır.
+ *
+ * Sipariş oluşturma/iptal olayları matrise anında (artımlı) işlenir. Periyodik tam kurulum sipariş geçmişinden
+ * (fork/join ile paralel) yeni bir matris hesaplar ve tek seferde mevcut matrisin yerine koyar; kurulum sırasında
+ * gelen olaylar kaybolmaması için tamponlanır ve kurulumun okuduğu sipariş ID'lerine göre yeni matrise yeniden
+ * uygulanır: okunan bir siparişin oluşturulması ikinci kez sayılmaz, okunmamış bir siparişin iptali düşülmez.
+ *
+ * Tüm erişimler this üzerinde senkronizedir.
+ */
+@Component
+public class CoPurchaseIndex {
+
+    /** Fork/join görevinin daha fazla bölünmeden tek thread'de işleyeceği sipariş sayısı. */
+    private static final int BUILD_THRESHOLD = 2048;
+
+    private final int topK;
+    private final int maxBasketSize;
+
+    /** Ürün ID → (birlikte satın alınan ürün ID → birlikte geçtiği sipariş sayısı). */
+    private Map<Long, Map<Long, Integer>> matrix = new HashMap<>();
+    /** Ürün ID → en çok birlikte satın alınan ilk K ürün (çok → az). Satır değişince atılır. */
+    private final Map<Long, long[]> topNeighbors = new HashMap<>();
+    /** Tam kurulum sürerken gelen olaylar; null ise kurulum yoktur. */
+    private List<PendingChange> pendingChanges;
+
+    public CoPurchaseIndex(@Value("${app.catalog.related.top-k:20}") int topK,
+                           @Value("${app.catalog.related.max-basket-size:50}") int maxBasketSize) {
+        this.topK = topK;
+        this.maxBasketSize = maxBasketSize;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Bir siparişin ürünlerini matrise ekler (delta=1) veya çıkarır (delta=-1).
+     * Tek ürünlü ve maxBasketSize'dan büyük (toptan) siparişler tavsiye kalitesini bozmamak için yok sayılır.
+     * @param orderId Sipariş ID'si (tam kurulumla çakışan olayları ayırt etmek için). Bilinmiyorsa null;
+     *                bu durumda olay tam kurulumun sonucuna koşulsuz uygulanır.
+     * @param productIds Siparişteki farklı ürünler.
+     * @param delta 1 veya -1.
+     */
+    public synchronized void applyOrder(Long orderId, Collection<Long> productIds, int delta) {
+        long[] basket = toBasket(productIds);
+        if (!isCounted(basket)) {
+            return;
+        }
+        applyBasket(matrix, basket, delta);
+        invalidateTop(basket);
+        if (pendingChanges != null) {
+            pendingChanges.add(new PendingChange(orderId, basket, delta));
+        }
+    }
+
+    /**
+     * Ürünle en çok birlikte satın alınan ürünlerin ID'lerini (çok → az) döndürür.
+     * @param productId Ürün ID'si.
+     * @param limit En fazla ID sayısı (topK ile sınırlıdır).
+     */
+    public synchronized List<Long> related(Long productId, int limit) {
+        long[] top = topNeighbors.computeIfAbsent(productId, this::computeTop);
+        int count = Math.min(Math.max(limit, 0), top.length);
+        List<Long> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(top[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Tam kurulumu başlatır; bu andan sonra gelen olaylar tamponlanır.
+     * Olaylar hem mevcut matrise uygulanmaya devam eder (okuyucular güncel kalır) hem de tamponlanır.
+     */
+    public synchronized void beginRebuild() {
+        pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Kurulumu iptal eder (örn. sipariş geçmişi okunamadıysa); mevcut matris olduğu gibi kalır.
+     */
+    public synchronized void abortRebuild() {
+        pendingChanges = null;
+    }
+
+    /**
+     * Sipariş geçmişinden yeni matrisi paralel olarak hesaplar. Kilit dışında çağrılmalıdır;
+     * sonuç completeRebuild ile devreye alınır.
+     * @param baskets Her sipariş için farklı ürün ID'leri (sıralı).
+     */
+    public Map<Long, Map<Long, Integer>> buildMatrix(List<long[]> baskets) {
+        return ForkJoinPool.commonPool().invoke(new BuildTask(baskets, 0, baskets.size(), maxBasketSize));
+    }
+
+    /**
+     * Yeni matrisi devreye alır ve kurulum sırasında gelen olayları üzerine uygular. Bir olay yalnızca yeni
+     * matristeki durumu değiştiriyorsa uygulanır: sipariş o an sayılmıyorsa oluşturma eklenir, sayılıyorsa iptal
+     * düşülür. Kurulumdan önce commit edilip okunmayan bir iptal veya kurulumda zaten okunmuş bir sipariş bu
+     * sayede iki kez uygulanmaz. ID sırası commit sırası olmadığından en büyük okunan ID ile karşılaştırma yetmez.
+     * @param rebuilt buildMatrix sonucu.
+     * @param readOrderIds Kurulumda okunan (iptal edilmemiş) siparişlerin ID'leri, artan sırada.
+     */
+    public synchronized void completeRebuild(Map<Long, Map<Long, Integer>> rebuilt, long[] readOrderIds) {
+        List<PendingChange> pending = pendingChanges != null ? pendingChanges : List.of();
+        pendingChanges = null;
+        Set<Long> placedSinceRead = new HashSet<>();
+        Set<Long> cancelledSinceRead = new HashSet<>();
+        for (PendingChange change : pending) {
+            if (change.orderId == null) {
+                applyBasket(rebuilt, change.basket, change.delta);
+                continue;
+            }
+            long orderId = change.orderId;
+            boolean counted = placedSinceRead.contains(orderId)
+                    || (Arrays.binarySearch(readOrderIds, orderId) >= 0 && !cancelledSinceRead.contains(orderId));
+            if (change.delta > 0 && !counted) {
+                applyBasket(rebuilt, change.basket, change.delta);
+                placedSinceRead.add(orderId);
+                cancelledSinceRead.remove(orderId);
+            } else if (change.delta < 0 && counted) {
+                applyBasket(rebuilt, change.basket, change.delta);
+                placedSinceRead.remove(orderId);
+                cancelledSinceRead.add(orderId);
+            }
+        }
+        this.matrix = rebuilt;
+        topNeighbors.clear();
+    }
+
+    /** Matriste en az bir komşusu olan ürün sayısı. */
+    public synchronized int size() {
+        return matrix.size();
+    }
+
+    // --- Yardımcı metotlar ---
+
+    private boolean isCounted(long[] basket) {
+        return basket.length >= 2 && basket.length <= maxBasketSize;
+    }
+
+    private void invalidateTop(long[] basket) {
+        for (long productId : basket) {
+            topNeighbors.remove(productId);
+        }
+    }
+
+    private long[] computeTop(Long productId) {
+        Map<Long, Integer> row = matrix.get(productId);
+        if (row == null || row.isEmpty()) {
+            return new long[0];
+        }
+        List<Map.Entry<Long, Integer>> neighbors = new ArrayList<>(row.entrySet());
+        neighbors.sort(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        int count = Math.min(topK, neighbors.size());
+        long[] top = new long[count];
+        for (int i = 0; i < count; i++) {
+            top[i] = neighbors.get(i).getKey();
+        }
+        return top;
+    }
+
+    static long[] toBasket(Collection<Long> productIds) {
+        return productIds.stream().filter(id -> id != null).mapToLong(Long::longValue).distinct().sorted().toArray();
+    }
+
+    private static void applyBasket(Map<Long, Map<Long, Integer>> target, long[] basket, int delta) {
+        for (long a : basket) {
+            for (long b : basket) {
+                if (a != b) {
+                    addPair(target, a, b, delta);
+                }
+            }
+        }
+    }
+
+    private static void addPair(Map<Long, Map<Long, Integer>> target, long a, long b, int delta) {
+        Map<Long, Integer> row = target.get(a);
+        if (row == null) {
+            if (delta <= 0) {
+                return;
+            }
+            row = new HashMap<>();
+            target.put(a, row);
+        }
+        int updated = row.getOrDefault(b, 0) + delta;
+        if (updated > 0) {
+            row.put(b, updated);
+        } else {
+            row.remove(b);
+            if (row.isEmpty()) {
+                target.remove(a);
+            }
+        }
+    }
+
+    /**
+     * Sipariş listesini ikiye bölerek alt matrisleri paralel hesaplar ve birleştirir.
+     */
+    private static final class BuildTask extends RecursiveTask<Map<Long, Map<Long, Integer>>> {
+        private final List<long[]> baskets;
+        private final int from;
+        private final int to;
+        private final int maxBasketSize;
+
+        private BuildTask(List<long[]> baskets, int from, int to, int maxBasketSize) {
+            this.baskets = baskets;
+            this.from = from;
+            this.to = to;
+            this.maxBasketSize = maxBasketSize;
+        }
+
+        @Override
+        protected Map<Long, Map<Long, Integer>> compute() {
+            if (to - from <= BUILD_THRESHOLD) {
+                Map<Long, Map<Long, Integer>> partial = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    long[] basket = baskets.get(i);
+                    if (basket.length >= 2 && basket.length <= maxBasketSize) {
+                        applyBasket(partial, basket, 1);
+                    }
+                }
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            BuildTask left = new BuildTask(baskets, from, mid, maxBasketSize);
+            left.fork();
+            Map<Long, Map<Long, Integer>> right = new BuildTask(baskets, mid, to, maxBasketSize).compute();
+            return merge(left.join(), right);
+        }
+
+        private static Map<Long, Map<Long, Integer>> merge(Map<Long, Map<Long, Integer>> a, Map<Long, Map<Long, Integer>> b) {
+            Map<Long, Map<Long, Integer>> larger = a.size() >= b.size() ? a : b;
+            Map<Long, Map<Long, Integer>> smaller = larger == a ? b : a;
+            for (Map.Entry<Long, Map<Long, Integer>> entry : smaller.entrySet()) {
+                Map<Long, Integer> row = larger.get(entry.getKey());
+                if (row == null) {
+                    larger.put(entry.getKey(), entry.getValue());
+                } else {
+                    entry.getValue().forEach((neighbor, count) -> row.merge(neighbor, count, Integer::sum));
+                }
+            }
+            return larger;
+        }
+    }
+
+    private static final class PendingChange {
+        private final Long orderId; // Bilinmiyorsa null
+        private final long[] basket;
+        private final int delta;
+
+        private PendingChange(Long orderId, long[] basket, int delta) {
+            this.orderId = orderId;
+            this.basket = basket;
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.event.OrderChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CoPurchaseIndex'i sipariş geçmişiyle senkron tutar.
+ * Sipariş oluşturma/iptal olayları (transaction commit edildikten sonra) "catalogIndexExecutor" üzerinde
+ * artımlı olarak uygulanır. Ayrıca periyodik olarak tüm (iptal edilmemiş) siparişlerden matris yeniden kurulur.
+ */
+@Component
+public class CoPurchaseUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoPurchaseUpdater.class);
+
+    // Sipariş kalemleri sipariş ID'sine göre sıralı okunur; aynı siparişin kalemleri art arda gelir.
+    private static final String ORDER_ITEMS_SQL =
+            "SELECT oi.order_id, oi.product_id FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE o.status NOT IN ('CANCELLED', 'İPTAL EDİLDİ') ORDER BY oi.order_id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CoPurchaseUpdater(CoPurchaseIndex coPurchaseIndex, JdbcTemplate jdbcTemplate) {
+        this.coPurchaseIndex = coPurchaseIndex;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Async("catalogIndexExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        int delta = event.getChangeType() == OrderChangedEvent.ChangeType.PLACED ? 1 : -1;
+        coPurchaseIndex.applyOrder(event.getOrderId(), event.getProductIds(), delta);
+        logger.debug("Birlikte satın alma matrisi güncellendi: {}", event);
+    }
+
+    /**
+     * Matrisi sipariş geçmişinden yeniden kurar. İlk kurulum açılıştan kısa süre sonra yapılır.
+     */
+    @Scheduled(initialDelayString = "${app.catalog.related.initial-delay-ms:5000}",
+               fixedDelayString = "${app.catalog.related.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        coPurchaseIndex.beginRebuild();
+        try {
+            BasketCollector collector = new BasketCollector();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(ORDER_ITEMS_SQL);
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, collector);
+            List<long[]> baskets = collector.finish();
+
+            Map<Long, Map<Long, Integer>> rebuilt = coPurchaseIndex.buildMatrix(baskets);
+            coPurchaseIndex.completeRebuild(rebuilt, collector.orderIds());
+            logger.info("Birlikte satın alma matrisi {} siparişten {} ürünle {} ms'de kuruldu.",
+                        baskets.size(), rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            coPurchaseIndex.abortRebuild();
+            logger.error("Birlikte satın alma matrisi kurulamadı; mevcut matris kullanılmaya devam edilecek.", e);
+        }
+    }
+
+    /**
+     * Sıralı sipariş kalemlerini sipariş başına bir ürün dizisine (sepet) toplar ve okunan sipariş ID'lerini
+     * (kurulum sırasında gelen olayları ayırt etmek için) artan sırada kaydeder.
+     */
+    private static final class BasketCollector implements RowCallbackHandler {
+        private final List<long[]> baskets = new ArrayList<>();
+        private final List<Long> current = new ArrayList<>();
+        private long currentOrderId = -1;
+        private long[] orderIds = new long[1024];
+        private int orderCount;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong(1);
+            if (orderId != currentOrderId) {
+                flush();
+                currentOrderId = orderId;
+                if (orderCount == orderIds.length) {
+                    orderIds = Arrays.copyOf(orderIds, orderCount * 2);
+                }
+                orderIds[orderCount++] = orderId;
+            }
+            current.add(rs.getLong(2));
+        }
+
+        /** Okunan sipariş ID'leri; sorgu order_id'ye göre sıralı olduğu için artan sıradadır. */
+        private long[] orderIds() {
+            return Arrays.copyOf(orderIds, orderCount);
+        }
+
+        /** Son siparişin sepetini ekleyip tüm sepetleri döndürür. */
+        private List<long[]> finish() {
+            flush();
+            return baskets;
+        }
+
+        private void flush() {
+            if (!current.isEmpty()) {
+                baskets.add(CoPurchaseIndex.toBasket(current));
+                current.clear();
+            }
+        }
+    }
+}
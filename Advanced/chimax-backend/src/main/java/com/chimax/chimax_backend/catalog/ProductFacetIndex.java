@@ -0,0 +1,327 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.dto.FacetValueCountDto;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aktif ürünler için bellek içi filtre (facet) motoru.
+ * Her ürüne küçük bir tamsayı sıra numarası (ordinal) verilir; her facet değeri (örn. kategori = "Laptop")
+ * o değere sahip ürünlerin ordinal'lerini içeren bir BitSet tutar. Filtreleme ve sayımlar
+ * BitSet AND/OR işlemleriyle, veritabanına gitmeden tek geçişte yapılır.
+ *
+ * Aynı facet içindeki seçimler VEYA, farklı facet'ler VE ile birleştirilir. Bir facet'in sayımları
+ * hesaplanırken o facet'in kendi seçimi dikkate alınmaz (disjunctive faceting); böylece kullanıcı
+ * bir kategori seçtiğinde diğer kategorilerin sayıları kaybolmaz.
+ */
+@Component
+public class ProductFacetIndex implements ProductIndex {
+
+    /** Filtrelenebilen alanlar. Anahtarlar istek parametresi ve yanıt alan adı olarak kullanılır. */
+    public enum Facet {
+        CATEGORY("category"),
+        TYPE("type"),
+        PRICE("price"),
+        SELLER("seller");
+
+        private final String key;
+
+        Facet(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /** Fiyat aralıklarının alt sınırları (TL). Son aralık üst sınırsızdır. */
+    private static final BigDecimal[] PRICE_BAND_LOWER_BOUNDS = {
+            BigDecimal.ZERO, new BigDecimal("250"), new BigDecimal("500"),
+            new BigDecimal("1000"), new BigDecimal("2500"), new BigDecimal("5000")
+    };
+    private static final String[] PRICE_BAND_LABELS = {
+            "0-250", "250-500", "500-1000", "1000-2500", "2500-5000", "5000+"
+    };
+
+    private static final Facet[] FACETS = Facet.values();
+
+    private final Map<Long, Integer> ordinalsByProductId = new HashMap<>();
+    private final List<Long> productIdsByOrdinal = new ArrayList<>();
+    private final List<String[]> facetValuesByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+
+    /** Facet → (değer → o değere sahip ürünlerin ordinal'leri). */
+    private final Map<Facet, Map<String, BitSet>> postings = new EnumMap<>(Facet.class);
+    /** Facet → (değer → görünen ad). Satıcı için "Ad Soyad"; diğer facet'lerde değerin kendisi. */
+    private final Map<Facet, Map<String, String>> labels = new EnumMap<>(Facet.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProductFacetIndex() {
+        for (Facet facet : FACETS) {
+            postings.put(facet, new HashMap<>());
+            labels.put(facet, new HashMap<>());
+        }
+    }
+
+    @Override
+    public void rebuild(List<Product> activeProducts) {
+        lock.writeLock().lock();
+        try {
+            ordinalsByProductId.clear();
+            productIdsByOrdinal.clear();
+            facetValuesByOrdinal.clear();
+            freeOrdinals.clear();
+            live.clear();
+            for (Facet facet : FACETS) {
+                postings.get(facet).clear();
+                labels.get(facet).clear();
+            }
+            for (Product product : activeProducts) {
+                addProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(product.getId());
+            addProduct(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Seçili filtrelere uyan ürünleri ve tüm facet'lerin değer sayımlarını tek seferde hesaplar.
+     * @param selections Facet → seçili değerler. Boş veya bulunmayan facet filtrelenmez.
+     * @param offset Atlanacak ürün sayısı.
+     * @param limit Döndürülecek en fazla ürün sayısı.
+     * @return Eşleşen toplam ürün sayısı, sayfadaki ürün ID'leri (ID sırasıyla) ve facet sayımları.
+     */
+    public FacetQueryResult query(Map<Facet, Set<String>> selections, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // Her facet için seçili değerlerin birleşimi (VEYA). null: o facet filtrelenmiyor.
+            Map<Facet, BitSet> masks = new EnumMap<>(Facet.class);
+            for (Facet facet : FACETS) {
+                Set<String> selected = selections.get(facet);
+                if (selected != null && !selected.isEmpty()) {
+                    BitSet mask = new BitSet();
+                    for (String value : selected) {
+                        BitSet bits = postings.get(facet).get(value);
+                        if (bits != null) {
+                            mask.or(bits);
+                        }
+                    }
+                    masks.put(facet, mask);
+                }
+            }
+
+            BitSet matching = (BitSet) live.clone();
+            masks.values().forEach(matching::and);
+
+            Map<Facet, List<FacetValueCountDto>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : FACETS) {
+                // Bu facet'in sayımları diğer tüm facet filtreleri uygulanmış küme üzerinden hesaplanır.
+                BitSet base = matching;
+                if (masks.containsKey(facet)) {
+                    base = (BitSet) live.clone();
+                    for (Map.Entry<Facet, BitSet> mask : masks.entrySet()) {
+                        if (mask.getKey() != facet) {
+                            base.and(mask.getValue());
+                        }
+                    }
+                }
+                counts.put(facet, countValues(facet, base, selections.get(facet)));
+            }
+
+            return new FacetQueryResult(matching.cardinality(), pageOfIds(matching, offset, limit), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen fiyatın düştüğü aralığın etiketini döndürür (örn. 749.90 → "500-1000").
+     */
+    public static String priceBandOf(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        for (int i = PRICE_BAND_LOWER_BOUNDS.length - 1; i >= 0; i--) {
+            if (price.compareTo(PRICE_BAND_LOWER_BOUNDS[i]) >= 0) {
+                return PRICE_BAND_LABELS[i];
+            }
+        }
+        return PRICE_BAND_LABELS[0];
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private List<FacetValueCountDto> countValues(Facet facet, BitSet base, Set<String> selected) {
+        List<FacetValueCountDto> result = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : postings.get(facet).entrySet()) {
+            BitSet intersection = (BitSet) entry.getValue().clone();
+            intersection.and(base);
+            int count = intersection.cardinality();
+            boolean isSelected = selected != null && selected.contains(entry.getKey());
+            if (count > 0 || isSelected) {
+                result.add(new FacetValueCountDto(entry.getKey(), labels.get(facet).get(entry.getKey()), count, isSelected));
+            }
+        }
+        if (facet == Facet.PRICE) {
+            List<String> bandOrder = Arrays.asList(PRICE_BAND_LABELS);
+            result.sort((a, b) -> Integer.compare(bandOrder.indexOf(a.getValue()), bandOrder.indexOf(b.getValue())));
+        } else {
+            // En kalabalık değerler önce; eşitlikte alfabetik.
+            result.sort((a, b) -> a.getCount() != b.getCount()
+                    ? Long.compare(b.getCount(), a.getCount())
+                    : String.valueOf(a.getLabel()).compareToIgnoreCase(String.valueOf(b.getLabel())));
+        }
+        return result;
+    }
+
+    private List<Long> pageOfIds(BitSet matching, int offset, int limit) {
+        if (limit <= 0 || offset < 0 || offset >= matching.cardinality()) {
+            return Collections.emptyList();
+        }
+        long[] ids = new long[matching.cardinality()];
+        int n = 0;
+        for (int ordinal = matching.nextSetBit(0); ordinal >= 0; ordinal = matching.nextSetBit(ordinal + 1)) {
+            ids[n++] = productIdsByOrdinal.get(ordinal);
+        }
+        Arrays.sort(ids); // Ordinal'ler yeniden kullanıldığı için sayfalama kararlı olsun diye ID sırası esas alınır.
+        int end = (int) Math.min(ids.length, (long) offset + limit);
+        List<Long> page = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            page.add(ids[i]);
+        }
+        return page;
+    }
+
+    private void addProduct(Product product) {
+        Integer reused = freeOrdinals.poll();
+        int ordinal;
+        if (reused != null) {
+            ordinal = reused;
+            productIdsByOrdinal.set(ordinal, product.getId());
+        } else {
+            ordinal = productIdsByOrdinal.size();
+            productIdsByOrdinal.add(product.getId());
+            facetValuesByOrdinal.add(null);
+        }
+        ordinalsByProductId.put(product.getId(), ordinal);
+        live.set(ordinal);
+
+        String[] values = new String[FACETS.length];
+        values[Facet.CATEGORY.ordinal()] = product.getCategory() != null ? product.getCategory().getName() : null;
+        values[Facet.TYPE.ordinal()] = blankToNull(product.getType());
+        values[Facet.PRICE.ordinal()] = priceBandOf(product.getPrice());
+        User seller = product.getSeller();
+        if (seller != null) {
+            values[Facet.SELLER.ordinal()] = String.valueOf(seller.getId());
+            labels.get(Facet.SELLER).put(String.valueOf(seller.getId()), seller.getFirstName() + " " + seller.getLastName());
+        }
+        facetValuesByOrdinal.set(ordinal, values);
+
+        for (Facet facet : FACETS) {
+            String value = values[facet.ordinal()];
+            if (value != null) {
+                postings.get(facet).computeIfAbsent(value, v -> new BitSet()).set(ordinal);
+                if (facet != Facet.SELLER) {
+                    labels.get(facet).put(value, value);
+                }
+            }
+        }
+    }
+
+    private void removeProduct(Long productId) {
+        Integer ordinal = ordinalsByProductId.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        String[] values = facetValuesByOrdinal.get(ordinal);
+        for (Facet facet : FACETS) {
+            String value = values[facet.ordinal()];
+            if (value == null) {
+                continue;
+            }
+            BitSet bits = postings.get(facet).get(value);
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    postings.get(facet).remove(value);
+                    labels.get(facet).remove(value);
+                }
+            }
+        }
+        live.clear(ordinal);
+        productIdsByOrdinal.set(ordinal, null);
+        facetValuesByOrdinal.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Bir facet sorgusunun sonucu.
+     */
+    public static final class FacetQueryResult {
+        private final int totalHits;
+        private final List<Long> productIds;
+        private final Map<Facet, List<FacetValueCountDto>> facetCounts;
+
+        public FacetQueryResult(int totalHits, List<Long> productIds, Map<Facet, List<FacetValueCountDto>> facetCounts) {
+            this.totalHits = totalHits;
+            this.productIds = productIds;
+            this.facetCounts = facetCounts;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+
+        public Map<Facet, List<FacetValueCountDto>> getFacetCounts() {
+            return facetCounts;
+        }
+    }
+}
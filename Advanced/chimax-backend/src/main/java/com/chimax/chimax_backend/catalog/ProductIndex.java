@@ -0,0 +1,35 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.entity.Product;
+
+import java.util.List;
+
+/**
+ * Aktif ürünler üzerinden beslenen bellek içi katalog yapıları (arama, filtre, öneri vb.) için ortak sözleşme.
+ * ProductIndexUpdater tüm ProductIndex bean'lerini uygulama açılışında tam olarak kurar ve
+ * ürün değişikliklerinde yalnızca etkilenen ürünleri artımlı olarak günceller.
+ *
+ * Metotlar tek bir güncelleme thread'inden sırayla çağrılır, ancak okuma metotları istek thread'lerinden
+ * eşzamanlı çağrılabileceği için implementasyonlar thread-safe olmalıdır.
+ * Metotlar açık bir read-only transaction içinde çağrılır; LAZY ilişkilere erişilebilir.
+ */
+public interface ProductIndex {
+
+    /**
+     * İndeksi verilen aktif ürün listesiyle sıfırdan kurar.
+     * @param activeProducts Veritabanındaki tüm aktif ürünler.
+     */
+    void rebuild(List<Product> activeProducts);
+
+    /**
+     * Aktif bir ürünü indekse ekler veya mevcut kaydını günceller.
+     * @param product Güncel ürün (her zaman aktif).
+     */
+    void upsert(Product product);
+
+    /**
+     * Ürünü indeksten çıkarır (ürün silindi veya pasif yapıldı). İndekste yoksa bir şey yapılmaz.
+     * @param productId Çıkarılacak ürünün ID'si.
+     */
+    void remove(Long productId);
+}
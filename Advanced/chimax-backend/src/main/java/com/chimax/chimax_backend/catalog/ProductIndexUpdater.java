@@ -0,0 +1,113 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.cache.CatalogVersion;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.event.ProductChangedEvent;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tüm ProductIndex bean'lerini veritabanıyla senkron tutar.
+ * Açılışta aktif ürünlerle tam kurulum yapar; sonrasında ProductChangedEvent geldiğinde
+ * (transaction commit edildikten sonra) yalnızca değişen ürünleri yeniden okuyup indekslere uygular.
+ * Tüm işler tek thread'li "catalogIndexExecutor" üzerinde sırayla çalışır, istek thread'lerini bekletmez.
+ * Liste sürümünü (CatalogVersion) yalnızca bu sınıf artırır: listeler hem indekslerden hem veritabanından
+ * (ProductCatalogCache) okunur ve indeksler en son güncellenen kaynaktır; sürüm uygulamadan sonra bir kez
+ * artırılır. Yalnızca stok değişikliğinde (STOCK_CHANGED) indekslerdeki özetler güncellenir ama sürüm
+ * artırılmaz; liste yanıtlarındaki stok adedi ETag'e dahil değildir.
+ */
+@Component
+public class ProductIndexUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductIndexUpdater.class);
+
+    private final List<ProductIndex> indexes;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CatalogVersion catalogVersion;
+
+    public ProductIndexUpdater(List<ProductIndex> indexes,
+                               ProductRepository productRepository,
+                               PlatformTransactionManager transactionManager,
+                               CatalogVersion catalogVersion) {
+        this.indexes = indexes;
+        this.productRepository = productRepository;
+        this.catalogVersion = catalogVersion;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Async("catalogIndexExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                List<Product> activeProducts = productRepository.findAllActiveForIndexing();
+                for (ProductIndex index : indexes) {
+                    try {
+                        index.rebuild(activeProducts);
+                    } catch (RuntimeException e) {
+                        logger.error("{} kurulurken hata oluştu.", index.getClass().getSimpleName(), e);
+                    }
+                }
+                logger.info("{} katalog indeksi {} aktif ürünle {} ms'de kuruldu.",
+                            indexes.size(), activeProducts.size(), System.currentTimeMillis() - start);
+            });
+            catalogVersion.increment();
+        } catch (RuntimeException e) {
+            logger.error("Katalog indeksleri kurulamadı.", e);
+        }
+    }
+
+    @Async("catalogIndexExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                Set<Long> remaining = new HashSet<>(event.getProductIds());
+                for (Product product : productRepository.findAllById(event.getProductIds())) {
+                    remaining.remove(product.getId());
+                    if (product.isActive()) {
+                        applyToAll(index -> index.upsert(product));
+                    } else {
+                        applyToAll(index -> index.remove(product.getId()));
+                    }
+                }
+                // Veritabanında artık bulunmayan ürünler indekslerden de çıkarılır.
+                for (Long missingId : remaining) {
+                    applyToAll(index -> index.remove(missingId));
+                }
+            });
+            if (event.getChangeType() != ProductChangedEvent.ChangeType.STOCK_CHANGED) {
+                catalogVersion.increment();
+            }
+            logger.debug("Katalog indeksleri güncellendi: {}", event);
+        } catch (RuntimeException e) {
+            logger.error("Katalog indeksleri güncellenirken hata oluştu: {}", event, e);
+        }
+    }
+
+    private void applyToAll(Consumer<ProductIndex> action) {
+        for (ProductIndex index : indexes) {
+            try {
+                action.accept(index);
+            } catch (RuntimeException e) {
+                logger.error("{} güncellenirken hata oluştu.", index.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
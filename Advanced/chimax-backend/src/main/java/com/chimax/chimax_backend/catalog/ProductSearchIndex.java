@@ -0,0 +1,255 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aktif ürünler üzerinde bellek içi ters indeks (inverted index) ve BM25 sıralaması.
+ * İndekslenen alanlar: ürün adı, tipi, kategori adı ve açıklaması. Alanlar farklı ağırlıklarla
+ * (ad > tip = kategori > açıklama) tek bir ağırlıklı terim frekansına katlanır (basitleştirilmiş BM25F).
+ *
+ * Sorgudaki son terim "yazarken arama" için önek olarak da genişletilir ("kulak" → "kulaklik").
+ * Okumalar paylaşımlı, güncellemeler özel kilit altında yapılır; arama veritabanına hiç gitmez.
+ */
+@Component
+public class ProductSearchIndex implements ProductIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float TYPE_WEIGHT = 2f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    /** Önek genişletmesinde en fazla kaç terime bakılacağı. */
+    private static final int MAX_PREFIX_EXPANSIONS = 20;
+    /** Önek eşleşmeleri tam eşleşmeden biraz daha düşük puan alır. */
+    private static final double PREFIX_MATCH_FACTOR = 0.8;
+
+    /** Terim → (ürün ID → ağırlıklı terim frekansı). Önek araması için sıralı tutulur. */
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    /** Ürün ID → ürünün indeksteki terimleri ve ağırlıklı uzunluğu (silme/güncelleme için). */
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private double totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void rebuild(List<Product> activeProducts) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (Product product : activeProducts) {
+                addDocument(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            addDocument(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sorguyu BM25 ile puanlar ve istenen sayfadaki ürün ID'lerini puan sırasıyla döndürür.
+     * Sorgu terimlerinden en az birini içeren her ürün sonuçlara dahildir (OR semantiği).
+     * @param query Kullanıcının arama metni.
+     * @param offset Atlanacak sonuç sayısı.
+     * @param limit Döndürülecek en fazla sonuç sayısı.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return new SearchHits(0, Collections.emptyList());
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new SearchHits(0, Collections.emptyList());
+            }
+            double averageLength = totalLength / documentCount;
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                scoreTerm(term, 1.0, averageLength, scores);
+                if (i == queryTerms.size() - 1) {
+                    expandPrefix(term, averageLength, scores);
+                }
+            }
+            return new SearchHits(scores.size(), topIds(scores, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private void expandPrefix(String prefix, double averageLength, Map<Long, Double> scores) {
+        int expanded = 0;
+        for (String term : postings.subMap(prefix, false, prefix + Character.MAX_VALUE, false).keySet()) {
+            if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            scoreTerm(term, PREFIX_MATCH_FACTOR, averageLength, scores);
+        }
+    }
+
+    private void scoreTerm(String term, double factor, double averageLength, Map<Long, Double> scores) {
+        Map<Long, Float> termPostings = postings.get(term);
+        if (termPostings == null) {
+            return;
+        }
+        int documentCount = documents.size();
+        int documentFrequency = termPostings.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+            double tf = posting.getValue();
+            double length = documents.get(posting.getKey()).length;
+            double norm = K1 * (1 - B + B * length / averageLength);
+            double score = factor * idf * (tf * (K1 + 1)) / (tf + norm);
+            scores.merge(posting.getKey(), score, Double::sum);
+        }
+    }
+
+    private List<Long> topIds(Map<Long, Double> scores, int offset, int limit) {
+        if (limit <= 0 || offset < 0 || offset >= scores.size()) {
+            return Collections.emptyList();
+        }
+        int needed = (int) Math.min((long) offset + limit, scores.size());
+        // Eşit puanlarda sonuçların sayfalar arasında kaymaması için ID ile kesin sıralama yapılır.
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Math.min(needed, scores.size()) + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > needed) {
+                top.poll(); // En düşük puanlı atılır
+            }
+        }
+        List<Map.Entry<Long, Double>> ordered = new ArrayList<>(top);
+        ordered.sort(ranking.reversed());
+        List<Long> ids = new ArrayList<>(limit);
+        for (int i = offset; i < ordered.size(); i++) {
+            ids.add(ordered.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private void addDocument(Product product) {
+        Map<String, Float> termFrequencies = new HashMap<>();
+        float length = 0;
+        length += addField(product.getName(), NAME_WEIGHT, termFrequencies);
+        length += addField(product.getType(), TYPE_WEIGHT, termFrequencies);
+        length += addField(product.getCategory() != null ? product.getCategory().getName() : null, CATEGORY_WEIGHT, termFrequencies);
+        length += addField(product.getDescription(), DESCRIPTION_WEIGHT, termFrequencies);
+
+        for (Map.Entry<String, Float> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(product.getId(), entry.getValue());
+        }
+        documents.put(product.getId(), new IndexedDocument(termFrequencies.keySet(), length));
+        totalLength += length;
+    }
+
+    private float addField(String text, float weight, Map<String, Float> termFrequencies) {
+        List<String> tokens = TextNormalizer.tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeDocument(Long productId) {
+        IndexedDocument document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    private static final class IndexedDocument {
+        private final Set<String> terms;
+        private final float length;
+
+        private IndexedDocument(Set<String> terms, float length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Bir arama sorgusunun sonucu: eşleşen toplam ürün sayısı ve istenen sayfadaki ürün ID'leri (puan sırasıyla).
+     */
+    public static final class SearchHits {
+        private final int totalHits;
+        private final List<Long> productIds;
+
+        public SearchHits(int totalHits, List<Long> productIds) {
+            this.totalHits = totalHits;
+            this.productIds = productIds;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aktif ürünlerin her sıralama ölçütüne (fiyat artan/azalan, en yeni, en yüksek puanlı) göre önceden sıralanmış
+ * bellek içi indeksleri. Her ölçüt için ayrı bir TreeSet tutulur; bir sayfa, imleçteki konumdan itibaren
+ * ağaçta ilerlenerek O(log n + sayfa boyutu) sürede okunur. Katalog her istekte yeniden sıralanmaz.
+ *
+ * Tüm karşılaştırıcılar son olarak ürün ID'sine bakar; böylece sıra kesin (total) olur ve imleç
+ * eşit değerli ürünlerde de kaymaz.
+ */
+@Component
+public class ProductSortIndex implements ProductIndex {
+
+    /** Desteklenen sıralamalar. Anahtarlar "sort" istek parametresinde kullanılır. */
+    public enum Sort {
+        PRICE_ASC("price_asc", Comparator.comparing(Entry::getPrice)
+                .thenComparingLong(Entry::getProductId)),
+        PRICE_DESC("price_desc", Comparator.comparing(Entry::getPrice).reversed()
+                .thenComparingLong(Entry::getProductId)),
+        NEWEST("newest", Comparator.comparingLong(Entry::getCreatedAt).reversed()
+                .thenComparing(Comparator.comparingLong(Entry::getProductId).reversed())),
+        TOP_RATED("rating", Comparator.comparingDouble(Entry::getAverageRating).reversed()
+                .thenComparing(Comparator.comparingInt(Entry::getReviewCount).reversed())
+                .thenComparingLong(Entry::getProductId));
+
+        private final String key;
+        private final Comparator<Entry> comparator;
+
+        Sort(String key, Comparator<Entry> comparator) {
+            this.key = key;
+            this.comparator = comparator;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * İstek parametresini sıralamaya çevirir (büyük/küçük harf duyarsız).
+         * @throws IllegalArgumentException Desteklenmeyen sıralamada.
+         */
+        public static Sort fromKey(String key) {
+            String normalized = key == null ? "" : key.trim().toLowerCase(Locale.ROOT);
+            for (Sort sort : values()) {
+                if (sort.key.equals(normalized)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Desteklenmeyen sıralama: " + key + " (price_asc, price_desc, newest veya rating olmalı).");
+        }
+    }
+
+    private static final Sort[] SORTS = Sort.values();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Sort, TreeSet<Entry>> sorted = new EnumMap<>(Sort.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProductSortIndex() {
+        for (Sort sort : SORTS) {
+            sorted.put(sort, new TreeSet<>(sort.comparator));
+        }
+    }
+
+    @Override
+    public void rebuild(List<Product> activeProducts) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            sorted.values().forEach(TreeSet::clear);
+            for (Product product : activeProducts) {
+                add(Entry.of(product));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(product.getId());
+            add(Entry.of(product));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen konumdan sonra gelen en fazla limit kadar kaydı sıralama düzeniyle döndürür.
+     * @param sort Sıralama ölçütü.
+     * @param after Önceki sayfanın son kaydı (ilk sayfa için null). İndekste artık bulunmasa da çalışır;
+     *              karşılaştırma sadece kayıttaki değerlere bakar.
+     * @param limit En fazla kayıt sayısı.
+     */
+    public List<Entry> page(Sort sort, Entry after, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Entry> set = sorted.get(sort);
+            NavigableSet<Entry> tail = after == null ? set : set.tailSet(after, false);
+            List<Entry> page = new ArrayList<>(Math.min(limit, tail.size()));
+            for (Entry entry : tail) {
+                if (page.size() >= limit) {
+                    break;
+                }
+                page.add(entry);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private void add(Entry entry) {
+        entries.put(entry.productId, entry);
+        for (Sort sort : SORTS) {
+            sorted.get(sort).add(entry);
+        }
+    }
+
+    private void removeEntry(Long productId) {
+        Entry existing = entries.remove(productId);
+        if (existing != null) {
+            for (Sort sort : SORTS) {
+                sorted.get(sort).remove(existing);
+            }
+        }
+    }
+
+    /**
+     * Bir ürünün sıralamada kullanılan değerleri. Değişmezdir; ürün güncellendiğinde yeni kayıt oluşturulur.
+     */
+    public static final class Entry {
+        private final long productId;
+        private final BigDecimal price;
+        private final long createdAt; // Epoch milisaniye (UTC); tarihi olmayan eski kayıtlarda 0
+        private final double averageRating;
+        private final int reviewCount;
+
+        public Entry(long productId, BigDecimal price, long createdAt, double averageRating, int reviewCount) {
+            this.productId = productId;
+            this.price = price != null ? price : BigDecimal.ZERO;
+            this.createdAt = createdAt;
+            this.averageRating = averageRating;
+            this.reviewCount = reviewCount;
+        }
+
+        static Entry of(Product product) {
+            LocalDateTime createdAt = product.getCreatedAt();
+            return new Entry(product.getId(), product.getPrice(),
+                    createdAt != null ? createdAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L,
+                    product.getAverageRating(), product.getReviewCount());
+        }
+
+        public long getProductId() {
+            return productId;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public double getAverageRating() {
+            return averageRating;
+        }
+
+        public int getReviewCount() {
+            return reviewCount;
+        }
+    }
+}
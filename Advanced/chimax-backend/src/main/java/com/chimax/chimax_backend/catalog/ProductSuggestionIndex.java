@@ -0,0 +1,183 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.entity.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Arama kutusu için otomatik tamamlama önerileri: ürün adları, ürün tipleri ve kategori adları.
+ * Her öneri, kaç aktif ürün tarafından desteklendiğine göre ağırlıklandırılır (örn. 40 ürünlü bir kategori,
+ * tek bir ürün adından önce gelir). Öneriler sadece baştan değil, her kelimenin başından da bulunur
+ * ("kulak" → "Bluetooth Kulaklık").
+ *
+ * Ürün değişiklikleri öneri ağırlık tablosuna anında (artımlı) işlenir; sorgulara cevap veren değişmez
+ * SuggestionTrie ise tablo değiştiyse periyodik olarak yeniden kurulup tek atamayla değiştirilir.
+ * Böylece yoğun yazma anlarında ağaç her değişiklikte değil, en fazla birkaç saniyede bir kurulur.
+ */
+@Component
+public class ProductSuggestionIndex implements ProductIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestionIndex.class);
+
+    static final String KIND_PRODUCT = "product";
+    static final String KIND_TYPE = "type";
+    static final String KIND_CATEGORY = "category";
+
+    /** Her düğümde saklanan en fazla öneri sayısı; sorgu limiti de bununla sınırlıdır. */
+    public static final int MAX_SUGGESTIONS = 10;
+    /** Bir önerinin kaç kelime başından bulunabileceği (çok uzun ürün adlarında ağacın şişmesini önler). */
+    private static final int MAX_WORD_KEYS = 6;
+    /** Anahtarların en fazla uzunluğu. Daha uzun önekler zaten nadiren yazılır. */
+    private static final int MAX_KEY_LENGTH = 40;
+
+    /** "tür:normalize metin" → öneri. Tüm erişimler this üzerinde senkronizedir. */
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    /** Ürün ID → ürünün katkıda bulunduğu öneri anahtarları (güncelleme/silmede ağırlığı geri almak için). */
+    private final Map<Long, List<String>> phrasesByProduct = new HashMap<>();
+    private boolean dirty;
+
+    private volatile SuggestionTrie trie = SuggestionTrie.empty();
+    /** Aynı anda iki kurulumun (zamanlanmış iş ve tam yeniden kurulum) eski ağacı yeninin üzerine yazmasını önler. */
+    private final Object trieBuildLock = new Object();
+
+    @Override
+    public void rebuild(List<Product> activeProducts) {
+        synchronized (this) {
+            phrases.clear();
+            phrasesByProduct.clear();
+            for (Product product : activeProducts) {
+                addProduct(product);
+            }
+        }
+        rebuildTrieIfDirty(); // Açılışta ilk sorgular boş dönmesin diye hemen kurulur.
+    }
+
+    @Override
+    public synchronized void upsert(Product product) {
+        removeProduct(product.getId());
+        addProduct(product);
+    }
+
+    @Override
+    public synchronized void remove(Long productId) {
+        removeProduct(productId);
+    }
+
+    /**
+     * Öneke uyan önerileri ağırlık sırasıyla döndürür. Kilitsizdir; yalnızca mevcut ağacı okur.
+     * @param prefix Kullanıcının yazdığı metin (normalize edilmemiş).
+     * @param limit En fazla öneri sayısı (MAX_SUGGESTIONS ile sınırlıdır).
+     */
+    public List<SuggestionTrie.Suggestion> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix).trim().replaceAll("\\s+", " ");
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trie.suggest(normalized, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Öneri tablosu değiştiyse ağacı yeniden kurar. Ağacın kurulumu kilit dışında yapılır; okuyucular
+     * kurulum bitene kadar eski ağacı kullanmaya devam eder.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.suggest.rebuild-delay-ms:2000}")
+    public void rebuildTrieIfDirty() {
+        synchronized (trieBuildLock) {
+            List<SuggestionTrie.Entry> entries;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                entries = new ArrayList<>(phrases.size());
+                for (Phrase phrase : phrases.values()) {
+                    entries.add(new SuggestionTrie.Entry(phrase.text, phrase.kind, phrase.weight, phrase.keys));
+                }
+                dirty = false;
+            }
+            long start = System.currentTimeMillis();
+            this.trie = SuggestionTrie.build(entries, MAX_SUGGESTIONS);
+            logger.debug("Öneri ağacı {} öneriyle {} ms'de kuruldu.", entries.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private void addProduct(Product product) {
+        List<String> contributed = new ArrayList<>(3);
+        addPhrase(KIND_PRODUCT, product.getName(), contributed);
+        addPhrase(KIND_TYPE, product.getType(), contributed);
+        addPhrase(KIND_CATEGORY, product.getCategory() != null ? product.getCategory().getName() : null, contributed);
+        phrasesByProduct.put(product.getId(), contributed);
+    }
+
+    private void addPhrase(String kind, String text, List<String> contributed) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String normalized = TextNormalizer.normalize(text).trim().replaceAll("\\s+", " ");
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String phraseKey = kind + ":" + normalized;
+        Phrase phrase = phrases.computeIfAbsent(phraseKey, k -> new Phrase(text.trim(), kind, keysOf(normalized)));
+        phrase.weight++;
+        contributed.add(phraseKey);
+        dirty = true;
+    }
+
+    private void removeProduct(Long productId) {
+        List<String> contributed = phrasesByProduct.remove(productId);
+        if (contributed == null) {
+            return;
+        }
+        for (String phraseKey : contributed) {
+            Phrase phrase = phrases.get(phraseKey);
+            if (phrase != null && --phrase.weight <= 0) {
+                phrases.remove(phraseKey);
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Normalize metnin tamamını ve her kelime başından başlayan son eklerini anahtar olarak üretir.
+     */
+    private static List<String> keysOf(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(truncate(normalized));
+        int words = 1;
+        for (int i = 1; i < normalized.length() && words < MAX_WORD_KEYS; i++) {
+            if (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ') {
+                keys.add(truncate(normalized.substring(i)));
+                words++;
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static final class Phrase {
+        private final String text;
+        private final String kind;
+        private final List<String> keys;
+        private long weight;
+
+        private Phrase(String text, String kind, List<String> keys) {
+            this.text = text;
+            this.kind = kind;
+            this.keys = keys;
+        }
+    }
+}
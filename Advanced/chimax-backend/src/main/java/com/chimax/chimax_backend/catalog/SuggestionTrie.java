@@ -0,0 +1,176 @@
+package com.chimax.chimax_backend.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Otomatik tamamlama için değişmez (immutable), bellek dostu önek ağacı.
+ * Her düğüm sadece sıralı bir karakter dizisi ve çocuk dizisi tutar (HashMap yerine ikili arama);
+ * ayrıca o önekle başlayan en yüksek ağırlıklı K öneri önceden hesaplanır. Böylece bir sorgu
+ * önek uzunluğu kadar adımda, katalog boyutundan bağımsız olarak yanıtlanır.
+ *
+ * Ağaç okunurken hiç değişmediği için kilitsiz ve thread-safe'tir; güncellemeler yeni bir ağaç kurularak yapılır.
+ */
+public final class SuggestionTrie {
+
+    private static final SuggestionTrie EMPTY = new SuggestionTrie(new Node(new char[0], new Node[0], new int[0]), new String[0], new String[0]);
+
+    private final Node root;
+    private final String[] texts;
+    private final String[] kinds;
+
+    private SuggestionTrie(Node root, String[] texts, String[] kinds) {
+        this.root = root;
+        this.texts = texts;
+        this.kinds = kinds;
+    }
+
+    public static SuggestionTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Verilen önerilerden yeni bir ağaç kurar.
+     * @param entries Öneriler. Ağırlığı yüksek olan önce gelir; eşitlikte alfabetik sıralanır.
+     * @param topK Her düğümde saklanacak en fazla öneri sayısı (sorguda döndürülebilecek üst sınır).
+     */
+    public static SuggestionTrie build(List<Entry> entries, int topK) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort((a, b) -> a.weight != b.weight ? Long.compare(b.weight, a.weight) : a.text.compareToIgnoreCase(b.text));
+
+        String[] texts = new String[sorted.size()];
+        String[] kinds = new String[sorted.size()];
+        BuilderNode root = new BuilderNode();
+        for (int id = 0; id < sorted.size(); id++) {
+            Entry entry = sorted.get(id);
+            texts[id] = entry.text;
+            kinds[id] = entry.kind;
+            // Ağırlık sırasıyla eklendiği için her düğüme ilk gelen K öneri, o önekteki en iyi K öneridir.
+            for (String key : entry.keys) {
+                BuilderNode node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new BuilderNode());
+                    node.offer(id, topK);
+                }
+            }
+        }
+        return new SuggestionTrie(root.freeze(), texts, kinds);
+    }
+
+    /**
+     * Normalize edilmiş öneke uyan en iyi önerileri ağırlık sırasıyla döndürür.
+     * @param normalizedPrefix TextNormalizer.normalize ile normalize edilmiş önek.
+     * @param limit En fazla öneri sayısı (kurulumdaki topK'dan büyük olamaz).
+     */
+    public List<Suggestion> suggest(String normalizedPrefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < normalizedPrefix.length() && node != null; i++) {
+            node = node.child(normalizedPrefix.charAt(i));
+        }
+        if (node == null || node == root) {
+            return Collections.emptyList();
+        }
+        int count = Math.min(limit, node.top.length);
+        List<Suggestion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = node.top[i];
+            result.add(new Suggestion(texts[id], kinds[id]));
+        }
+        return result;
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    private static final class Node {
+        private final char[] labels;   // Sıralı çocuk karakterleri
+        private final Node[] children;  // labels ile aynı sırada
+        private final int[] top;        // Bu önekteki en iyi öneri ID'leri (ağırlık sırasıyla)
+
+        private Node(char[] labels, Node[] children, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class BuilderNode {
+        private final TreeMap<Character, BuilderNode> children = new TreeMap<>();
+        private int[] top = new int[4];
+        private int topSize;
+
+        private void offer(int id, int topK) {
+            if (topSize >= topK) {
+                return;
+            }
+            // Aynı öneri birden fazla anahtarla aynı düğümden geçebilir ("kulaklik kulaklik" gibi).
+            if (topSize > 0 && top[topSize - 1] == id) {
+                return;
+            }
+            if (topSize == top.length) {
+                top = Arrays.copyOf(top, Math.min(topK, top.length * 2));
+            }
+            top[topSize++] = id;
+        }
+
+        private Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuilderNode> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                frozen[i] = child.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozen, Arrays.copyOf(top, topSize));
+        }
+    }
+
+    /**
+     * Ağaca eklenecek bir öneri: gösterilecek metin, türü, ağırlığı ve hangi normalize anahtarlarla bulunabileceği.
+     */
+    public static final class Entry {
+        private final String text;
+        private final String kind;
+        private final long weight;
+        private final List<String> keys;
+
+        public Entry(String text, String kind, long weight, List<String> keys) {
+            this.text = text;
+            this.kind = kind;
+            this.weight = weight;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * Sorgu sonucu dönen öneri.
+     */
+    public static final class Suggestion {
+        private final String text;
+        private final String kind;
+
+        public Suggestion(String text, String kind) {
+            this.text = text;
+            this.kind = kind;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.chimax.chimax_backend.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Arama ve otomatik tamamlama için metin normalizasyonu.
+ * Küçük harfe çevirir ve Türkçe karakterleri ASCII karşılıklarına indirger (ı/İ → i, ş → s, ğ → g ...),
+ * böylece "IŞIK", "ışık" ve "isik" aynı terime eşlenir.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Metni küçük harfe çevirip aksan/işaretlerden arındırır. Boşluklar korunur.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT).replace('ı', 'i');
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Metni normalize edip harf/rakam dışı karakterlerden bölerek terimlere ayırır.
+     * Tek karakterlik harf terimleri (gürültü) atlanır; tek haneli sayılar korunur.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (token.length() > 1 || (token.length() == 1 && Character.isDigit(token.charAt(0)))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,232 @@
+package com.chimax.chimax_backend.catalog;
+
+import com.chimax.chimax_backend.event.OrderChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * "Şu an popüler" ürünler: son bir saat / son bir gündeki görüntülenme ve satın almalardan hesaplanır.
+ *
+ * Etkinlikler zaman dilimlerine (bucket, varsayılan 5 dk) ayrılmış bir halka tamponda tutulur; halka bir günü kapsar ve
+ * en eski dilim yeni dilim açıldığında üzerine yazılır. Her dilim sadece o dilimde etkinliği olan ürünleri içerir
+ * (seyrek), bu yüzden bellek kullanımı katalog boyutuna değil etkinliğe bağlıdır. Kayıt işlemi kilitsizdir (LongAdder).
+ *
+ * Puan, penceredeki her dilimin (görüntülenme + satın alma ağırlığı × satın alma) toplamının dilimin yaşına göre
+ * üstel olarak azaltılmasıyla hesaplanır; yeni etkinlik eskisinden daha değerlidir. Puanlar periyodik olarak
+ * hesaplanıp her pencere için ilk N ürün (min-heap ile) değişmez bir listeye yazılır; istekler bu listeyi okur.
+ */
+@Component
+public class TrendingTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingTracker.class);
+
+    private static final long DAY_MINUTES = 24 * 60;
+
+    /** Desteklenen pencereler. Anahtarlar "window" istek parametresinde kullanılır. */
+    public enum Window {
+        HOUR("hour", 60, 15),
+        DAY("day", DAY_MINUTES, 6 * 60);
+
+        private final String key;
+        private final long minutes;
+        private final double halfLifeMinutes; // Bu kadar eski etkinlik yarı ağırlıkla sayılır
+
+        Window(String key, long minutes, double halfLifeMinutes) {
+            this.key = key;
+            this.minutes = minutes;
+            this.halfLifeMinutes = halfLifeMinutes;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * İstek parametresini pencereye çevirir (büyük/küçük harf duyarsız).
+         * @throws IllegalArgumentException Desteklenmeyen pencerede.
+         */
+        public static Window fromKey(String key) {
+            String normalized = key == null ? "" : key.trim().toLowerCase(Locale.ROOT);
+            for (Window window : values()) {
+                if (window.key.equals(normalized)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Desteklenmeyen zaman penceresi: " + key + " (hour veya day olmalı).");
+        }
+    }
+
+    private final long bucketMillis;
+    private final int bucketMinutes;
+    private final int topN;
+    private final double purchaseWeight;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    private volatile Map<Window, List<Long>> topProducts = emptyTop();
+
+    public TrendingTracker(@Value("${app.catalog.trending.bucket-minutes:5}") int bucketMinutes,
+                           @Value("${app.catalog.trending.top-n:50}") int topN,
+                           @Value("${app.catalog.trending.purchase-weight:10}") double purchaseWeight) {
+        if (bucketMinutes <= 0 || 60 % bucketMinutes != 0) {
+            throw new IllegalArgumentException("app.catalog.trending.bucket-minutes 60'ı tam bölmelidir: " + bucketMinutes);
+        }
+        this.bucketMinutes = bucketMinutes;
+        this.bucketMillis = bucketMinutes * 60_000L;
+        this.topN = topN;
+        this.purchaseWeight = purchaseWeight;
+        this.ring = new AtomicReferenceArray<>((int) (DAY_MINUTES / bucketMinutes));
+    }
+
+    /** Ürün detayının bir kez görüntülendiğini kaydeder. */
+    public void recordView(Long productId) {
+        currentBucket().activityOf(productId).views.increment();
+    }
+
+    /** Ürünün bir siparişte satın alındığını kaydeder. */
+    public void recordPurchase(Long productId) {
+        currentBucket().activityOf(productId).purchases.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        // İptaller geri alınmaz: popülerlik, ilginin anlık göstergesidir.
+        if (event.getChangeType() == OrderChangedEvent.ChangeType.PLACED) {
+            event.getProductIds().forEach(this::recordPurchase);
+        }
+    }
+
+    /**
+     * Pencerenin son hesaplanan popüler ürün ID'lerini (çok → az) döndürür. Kilitsizdir.
+     */
+    public List<Long> getTopProducts(Window window) {
+        return topProducts.get(window);
+    }
+
+    public int getTopN() {
+        return topN;
+    }
+
+    /**
+     * Tüm pencerelerin puanlarını halka tampondan yeniden hesaplar ve ilk N listelerini değiştirir.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.trending.recompute-interval-ms:30000}")
+    public void recompute() {
+        long start = System.nanoTime();
+        long nowSlot = System.currentTimeMillis() / bucketMillis;
+        Map<Window, Map<Long, Double>> scores = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            scores.put(window, new HashMap<>());
+        }
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket == null || bucket.slot > nowSlot || nowSlot - bucket.slot >= ring.length()) {
+                continue; // Boş veya bir günden eski dilim
+            }
+            long ageMinutes = (nowSlot - bucket.slot) * bucketMinutes;
+            for (Window window : Window.values()) {
+                if (ageMinutes >= window.minutes) {
+                    continue;
+                }
+                double decay = Math.pow(0.5, ageMinutes / window.halfLifeMinutes);
+                Map<Long, Double> windowScores = scores.get(window);
+                bucket.activity.forEach((productId, activity) -> {
+                    double raw = activity.views.sum() + purchaseWeight * activity.purchases.sum();
+                    if (raw > 0) {
+                        windowScores.merge(productId, raw * decay, Double::sum);
+                    }
+                });
+            }
+        }
+        Map<Window, List<Long>> rebuilt = new EnumMap<>(Window.class);
+        scores.forEach((window, windowScores) -> rebuilt.put(window, top(windowScores)));
+        this.topProducts = rebuilt;
+        logger.debug("Popüler ürünler {} µs'de hesaplandı (saatlik: {}, günlük: {} ürün).", (System.nanoTime() - start) / 1000,
+                     scores.get(Window.HOUR).size(), scores.get(Window.DAY).size());
+    }
+
+    /**
+     * Puanı en yüksek ilk N ürünü, N boyutlu bir min-heap ile (tüm ürünleri sıralamadan) seçer.
+     * N sıfır veya negatifse (popüler liste kapatılmış) boş liste döner.
+     */
+    private List<Long> top(Map<Long, Double> scores) {
+        if (topN <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(topN + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < topN) {
+                heap.add(entry);
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Long> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().getKey());
+        }
+        Collections.reverse(result); // Min-heap küçükten büyüğe verir
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Şu anki zaman dilimini döndürür; halkadaki yer eski bir dilime aitse yeni dilimle değiştirilir.
+     */
+    private Bucket currentBucket() {
+        long slot = System.currentTimeMillis() / bucketMillis;
+        int index = (int) (slot % ring.length());
+        while (true) {
+            Bucket bucket = ring.get(index);
+            if (bucket != null && bucket.slot >= slot) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(slot);
+            if (ring.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+            // Başka bir thread aynı anda yeni dilimi açtı; onunkini kullan.
+        }
+    }
+
+    private static Map<Window, List<Long>> emptyTop() {
+        Map<Window, List<Long>> empty = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            empty.put(window, List.of());
+        }
+        return empty;
+    }
+
+    private static final class Bucket {
+        private final long slot; // Epoch'tan beri geçen dilim sayısı
+        private final Map<Long, Activity> activity = new ConcurrentHashMap<>();
+
+        private Bucket(long slot) {
+            this.slot = slot;
+        }
+
+        private Activity activityOf(Long productId) {
+            return activity.computeIfAbsent(productId, id -> new Activity());
+        }
+    }
+
+    private static final class Activity {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder purchases = new LongAdder();
+    }
+}
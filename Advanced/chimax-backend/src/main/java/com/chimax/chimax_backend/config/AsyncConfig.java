@@ -0,0 +1,63 @@
+package com.chimax.chimax_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Arka plan (asenkron) işler için executor tanımları.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Bellek içi katalog indekslerini güncelleyen tek thread'li executor.
+     * Tek thread kullanılması, ürün değişikliklerinin indekslere geliş sırasıyla uygulanmasını garanti eder.
+     */
+    @Bean(name = "catalogIndexExecutor")
+    public ThreadPoolTaskExecutor catalogIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("catalog-index-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Ürün detay sayfasını oluşturan bağımsız sorguları (ürün, puan özeti, yorumlar) paralel çalıştıran executor.
+     * Kuyruk dolarsa iş çağıran (istek) thread'inde çalışır; istek reddedilmez, sadece paralellik azalır.
+     */
+    @Bean(name = "productDetailExecutor")
+    public ThreadPoolTaskExecutor productDetailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("product-detail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Asenkron sipariş kuyruğunu boşaltan işçi thread'leri. Her thread AsyncCheckoutServiceImpl içinde sürekli
+     * çalışan bir döngüdür; bu yüzden havuz tam işçi sayısı kadardır ve kendi kuyruğu yoktur.
+     */
+    @Bean(name = "checkoutWorkerExecutor")
+    public ThreadPoolTaskExecutor checkoutWorkerExecutor(@Value("${app.checkout.async.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("checkout-worker-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -24,11 +24,13 @@ public class DataInitializer implements CommandLineRunner {
         String userRoleName = "ROLE_USER";
         String adminRoleName = "ROLE_ADMIN";
         String sellerRoleName = "ROLE_SELLER"; // Yeni satıcı rolü
+        String partnerRoleName = "ROLE_PARTNER"; // Katalog dışa aktarımını kullanan iş ortakları
 
         // Rolleri kontrol et ve eksikse ekle
         createRoleIfNotFound(userRoleName);
         createRoleIfNotFound(adminRoleName);
         createRoleIfNotFound(sellerRoleName); // Yeni satıcı rolünü ekle
+        createRoleIfNotFound(partnerRoleName);
 
         // İsteğe bağlı: Başlangıçta bir admin veya satıcı kullanıcısı oluşturulabilir
         // (UserRepository ve PasswordEncoder da enjekte edilmeli)
@@ -0,0 +1,25 @@
+package com.chimax.chimax_backend.config;
+
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uygulama genelindeki ObjectMapper ayarları.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * @JsonFilter ile işaretli DTO'lar "fields=" seçimi olmadan (ve katalog görüntüsü, dışa aktarım gibi
+     * controller dışı serileştirmelerde) tüm alanlarıyla yazılır.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.chimax.chimax_backend.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Periyodik arka plan işlerini (@Scheduled) etkinleştirir (örn. öneri ağacının yeniden kurulması).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Genel @Scheduled işleri için zamanlayıcı. Havuz boyutu spring.task.scheduling.pool.size ile ayarlanır;
+     * böylece uzun süren bir iş (örn. birlikte alınma indeksinin yeniden kurulması) diğerlerini bekletmez.
+     * Aşağıda ikinci bir zamanlayıcı tanımlandığı için Spring Boot'un varsayılanı yerine açıkça tanımlanır.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Sıcak ürün stok uzlaştırması için ayrı, tek thread'li zamanlayıcı. Veritabanındaki stoğun sayaçlardan
+     * geri kalma süresi diğer işlerin süresine bağlı olmaz.
+     */
+    @Bean(name = "hotSkuReconcileScheduler")
+    public ThreadPoolTaskScheduler hotSkuReconcileScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("hot-sku-reconcile-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
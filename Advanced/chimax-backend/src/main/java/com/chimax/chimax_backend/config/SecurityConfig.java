@@ -1,6 +1,7 @@
 package com.chimax.chimax_backend.config; // Paket adınızı kontrol edin
 
 import com.chimax.chimax_backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -51,7 +52,11 @@ public class SecurityConfig {
 
         // HTTP istekleri için yetkilendirme kuralları
         http.authorizeHttpRequests(auth -> auth
+                // SSE gibi asenkron yanıtların tamamlanması (asıl istek zaten yetkilendirildi; JWT filtresi tekrar çalışmaz)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll() // Kayıt ve Login herkese açık
+                // Tam katalog dışa aktarımı herkese açık değildir (iş ortakları); aşağıdaki genel kuraldan önce gelmeli
+                .requestMatchers(HttpMethod.GET, "/api/products/export").hasAnyRole("PARTNER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/products", "/api/products/**").permitAll() // Ürün okuma herkese açık
                 .requestMatchers(HttpMethod.GET, "/api/categories", "/api/categories/**").permitAll() // Kategori okuma herkese açık
                 
@@ -103,13 +108,13 @@ public class SecurityConfig {
         // İzin verilen origin (Angular uygulamanızın adresi)
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:4200"));
         // İzin verilen HTTP metotları
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "HEAD"));
         // İzin verilen HTTP başlıkları (Authorization başlığı JWT için önemlidir)
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "X-Requested-With"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "X-Requested-With", "Idempotency-Key"));
         // Tarayıcının kimlik bilgileriyle (cookie, Authorization header) istek göndermesine izin ver
         configuration.setAllowCredentials(true);
-        // İsteğe bağlı: Yanıtta istemciye gönderilmesine izin verilen başlıklar
-        // configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        // Yanıtta istemciye gönderilmesine izin verilen başlıklar (tekrar oynatılan idempotent yanıtlar işaretlenir)
+        configuration.setExposedHeaders(Arrays.asList("Idempotent-Replayed"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         // Bu CORS yapılandırmasını tüm yollar için uygula (örn: /api/**, /assets/**)
@@ -1,7 +1,9 @@
 package com.chimax.chimax_backend.controller; // Paket adını kontrol et
 
+import com.chimax.chimax_backend.cache.ProductCatalogCache;
 import com.chimax.chimax_backend.dto.*; // Tüm DTO'ları import et (ProductResponseDto dahil)
 import com.chimax.chimax_backend.entity.ContactMessage;
+import com.chimax.chimax_backend.inventory.HotSkuInventory;
 // Product entity'sini burada doğrudan kullanmamaya çalışacağız, servis DTO döndürecek
 import com.chimax.chimax_backend.service.*; // Tüm Servisleri import et
 import jakarta.validation.Valid;
@@ -32,18 +34,36 @@ public class AdminController {
     private final ProductService productService;
     private final DashboardService dashboardService;
     private final ContactService contactService;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final CategoryService categoryService;
+    private final ProductViewService productViewService;
+    private final HotSkuInventory hotSkuInventory;
+    private final AsyncCheckoutService asyncCheckoutService;
 
     // Constructor
     public AdminController(UserService userService,
                            OrderService orderService,
                            ProductService productService,
                            DashboardService dashboardService,
-                           ContactService contactService) {
+                           ContactService contactService,
+                           ProductCatalogCache productCatalogCache,
+                           ProductBulkUpdateService productBulkUpdateService,
+                           CategoryService categoryService,
+                           ProductViewService productViewService,
+                           HotSkuInventory hotSkuInventory,
+                           AsyncCheckoutService asyncCheckoutService) {
         this.userService = userService;
         this.orderService = orderService;
         this.productService = productService;
         this.dashboardService = dashboardService;
         this.contactService = contactService;
+        this.productCatalogCache = productCatalogCache;
+        this.productBulkUpdateService = productBulkUpdateService;
+        this.categoryService = categoryService;
+        this.productViewService = productViewService;
+        this.hotSkuInventory = hotSkuInventory;
+        this.asyncCheckoutService = asyncCheckoutService;
     }
 
     // === Kullanıcı Yönetimi Endpoint'leri ===
@@ -95,12 +115,18 @@ public class AdminController {
     /**
      * Tüm siparişleri listeler.
      * GET /api/admin/orders
+     * @param fields Alan seçimi (opsiyonel); seçilmeyen kalem ve kullanıcı bilgileri veritabanından okunmaz.
      */
     @GetMapping("/orders")
-    public ResponseEntity<List<OrderDto>> getAllOrders() {
+    public ResponseEntity<?> getAllOrders(@RequestParam(required = false) String fields) {
         logger.info("Admin: Tüm siparişler listeleniyor.");
-        List<OrderDto> orders = orderService.findAllOrders();
-        return ResponseEntity.ok(orders);
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, OrderDto.class);
+            List<OrderDto> orders = orderService.findAllOrders(selection);
+            return ResponseEntity.ok(SparseFields.wrap(orders, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
     }
 
     /**
@@ -126,22 +152,140 @@ public class AdminController {
     /**
      * Tüm ürünleri (aktif ve pasif) listeler.
      * GET /api/admin/products
-     * @return ProductResponseDto listesini içeren ResponseEntity.
+     * @param fields Alan seçimi (opsiyonel).
+     * @return ProductSummaryDto listesini içeren ResponseEntity veya alan seçimi geçersizse 400.
      */
     @GetMapping("/products")
-    public ResponseEntity<List<ProductResponseDto>> getAllProductsForAdmin() { // Dönüş tipi List<ProductResponseDto> olarak güncellendi
+    public ResponseEntity<?> getAllProductsForAdmin(@RequestParam(required = false) String fields) { // Liste görünümü için özet DTO'lar
         logger.info("Admin: Tüm ürünler listeleniyor.");
-        // ProductService.findAllActiveProducts() artık List<ProductResponseDto> döndürüyor.
+        // ProductService.findAllActiveProducts() artık List<ProductSummaryDto> döndürüyor.
         // Eğer admin için tüm ürünleri (aktif/pasif fark etmeksizin) getiren ayrı bir servis metodu varsa
         // (örneğin productService.findAllProductsAsDto()), onu kullanmak daha doğru olur.
         // Şimdilik, findAllActiveProducts'ın DTO döndürdüğünü varsayarak devam ediyoruz.
         // Eğer admin tüm ürünleri (aktif olmayanlar dahil) görmeliyse,
         // ProductService'te buna uygun bir metot (örneğin, findAllProductsAsAdmin() gibi)
         // oluşturup onun da List<ProductResponseDto> döndürmesini sağlamalısınız.
-        List<ProductResponseDto> productResponseDtos = productService.findAllActiveProducts(); // Bu metot List<ProductResponseDto> döndürmeli
-        return ResponseEntity.ok(productResponseDtos);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        List<ProductSummaryDto> productSummaryDtos = productService.findAllActiveProducts(); // Liste için özet DTO'lar (açıklama hariç)
+        return ResponseEntity.ok(SparseFields.wrap(productSummaryDtos, selection));
+    }
+
+    /**
+     * Tüm ürünleri (aktif ve pasif) imleç sayfalaması ile listeler.
+     * GET /api/admin/products/page?cursor=...&size=50
+     * @param fields Alan seçimi (opsiyonel). Kategori ve satıcı seçilmezse sorgu JOIN'siz çalışır.
+     * @return Sayfadaki ürünler ve sonraki sayfa imleci veya imleç/alan seçimi geçersizse 400.
+     */
+    @GetMapping("/products/page")
+    public ResponseEntity<?> getProductsPageForAdmin(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int size,
+                                                     @RequestParam(required = false) String fields) {
+        logger.info("Admin: Ürünler sayfalı listeleniyor. size={}", size);
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+            CursorPageDto<ProductSummaryDto> page = productService.findAllProductsPage(cursor, size, selection);
+            return ResponseEntity.ok(SparseFields.wrap(page, selection));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Admin: Geçersiz sayfa imleci: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+
+    /**
+     * Birden fazla ürünün fiyat, stok ve aktiflik durumunu tek istekte günceller (fiyatlandırma/stok senkronizasyonu).
+     * PATCH /api/admin/products/bulk
+     * Değişiklikler tek bir toplu UPDATE ile uygulanır; gönderilmeyen alanlar değişmez.
+     * @return İstekteki sırayla her ürünün sonucu (UPDATED, NOT_FOUND, SKIPPED).
+     */
+    @PatchMapping("/products/bulk")
+    public ResponseEntity<ProductBulkUpdateReportDto> bulkUpdateProducts(@Valid @RequestBody ProductBulkUpdateRequestDto request) {
+        logger.info("Admin: {} ürün için toplu güncelleme isteği.", request.getItems().size());
+        return ResponseEntity.ok(productBulkUpdateService.bulkUpdate(request.getItems()));
+    }
+
+    /**
+     * En çok görüntülenen ürünleri getirir (henüz veritabanına yazılmamış görüntülenmeler dahil).
+     * GET /api/admin/products/views?limit=50
+     * @param limit En fazla ürün sayısı (en fazla 200).
+     */
+    @GetMapping("/products/views")
+    public ResponseEntity<List<ProductViewStatsDto>> getMostViewedProducts(@RequestParam(defaultValue = "50") int limit) {
+        logger.info("Admin: En çok görüntülenen {} ürün isteniyor.", limit);
+        return ResponseEntity.ok(productViewService.getMostViewed(limit));
+    }
+
+    // === Sıcak Ürün (Hot SKU) Stok Modu ===
+
+    /**
+     * Sıcak ürün modundaki ürünleri ve bellek içi stok sayaçlarının durumunu listeler.
+     * GET /api/admin/inventory/hot-skus
+     */
+    @GetMapping("/inventory/hot-skus")
+    public ResponseEntity<List<HotSkuStatusDto>> getHotSkus() {
+        return ResponseEntity.ok(hotSkuInventory.getStatuses());
+    }
+
+    /**
+     * Ürünü sıcak moda alır: stoğu bellekte parçalı bir sayaca bölünür, siparişler products satırını kilitlemez.
+     * PUT /api/admin/inventory/hot-skus/{productId}
+     */
+    @PutMapping("/inventory/hot-skus/{productId}")
+    public ResponseEntity<?> enableHotSku(@PathVariable Long productId) {
+        logger.info("Admin: Ürün ID {} sıcak ürün moduna alınıyor.", productId);
+        try {
+            return ResponseEntity.ok(hotSkuInventory.enable(productId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Sıcak modu kapatır; kalan stok veritabanına yazılır.
+     * DELETE /api/admin/inventory/hot-skus/{productId}
+     */
+    @DeleteMapping("/inventory/hot-skus/{productId}")
+    public ResponseEntity<Void> disableHotSku(@PathVariable Long productId) {
+        logger.info("Admin: Ürün ID {} sıcak ürün modundan çıkarılıyor.", productId);
+        return hotSkuInventory.disable(productId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Asenkron sipariş kuyruğunun derinliğini, işçi gecikmelerini ve sayaçlarını getirir.
+     * GET /api/admin/checkout/stats
+     */
+    @GetMapping("/checkout/stats")
+    public ResponseEntity<CheckoutQueueStatsDto> getCheckoutStats() {
+        return ResponseEntity.ok(asyncCheckoutService.getStats());
+    }
+
+    /**
+     * Ürün katalog önbelleğinin isabet/ıska/tahliye istatistiklerini getirir.
+     * GET /api/admin/cache/products/stats
+     */
+    @GetMapping("/cache/products/stats")
+    public ResponseEntity<List<CacheStatsDto>> getProductCacheStats() {
+        logger.info("Admin: Ürün önbelleği istatistikleri isteniyor.");
+        return ResponseEntity.ok(productCatalogCache.getStats());
     }
 
+    /**
+     * Ürün katalog önbelleğini tamamen temizler, önceden serileştirilmiş katalog görüntüsünü yeniden kurdurur
+     * ve kategori listesini veritabanından yeniden okur.
+     * DELETE /api/admin/cache/products
+     */
+    @DeleteMapping("/cache/products")
+    public ResponseEntity<Void> clearProductCache() {
+        logger.info("Admin: Ürün önbelleği temizleniyor.");
+        productCatalogCache.evictAll(); // Liste sürümü artar; katalog görüntüsü sonraki kurulumda yenilenir
+        categoryService.reloadCategories();
+        return ResponseEntity.noContent().build();
+    }
 
     // === DASHBOARD ENDPOINT'İ ===
     /**
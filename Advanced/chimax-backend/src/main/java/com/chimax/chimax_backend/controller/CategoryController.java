@@ -1,13 +1,15 @@
     package com.chimax.chimax_backend.controller; // Paket adınızı kontrol edin
 
-    import com.chimax.chimax_backend.entity.Category;
-    // Veya doğrudan CategoryRepository kullanabilirsiniz basit listeleme için
-    import com.chimax.chimax_backend.repository.CategoryRepository;
+    import com.chimax.chimax_backend.catalog.CategoryCatalog; // Kategori görüntüsü ve sürümü
+    import com.chimax.chimax_backend.dto.CategoryDto;
+    import com.chimax.chimax_backend.service.CategoryService;
     import org.springframework.beans.factory.annotation.Autowired;
+    import org.springframework.http.CacheControl;
     import org.springframework.http.ResponseEntity;
     import org.springframework.web.bind.annotation.GetMapping;
     import org.springframework.web.bind.annotation.RequestMapping;
     import org.springframework.web.bind.annotation.RestController;
+    import org.springframework.web.context.request.WebRequest;
 
     import java.util.List;
 
@@ -15,22 +17,28 @@
     @RequestMapping("/api/categories") // Kategoriler için base path
     public class CategoryController {
 
-        // Basitlik adına doğrudan Repository kullanıyoruz, idealde bir CategoryService olurdu.
-        private final CategoryRepository categoryRepository;
+        private final CategoryService categoryService;
 
         @Autowired
-        public CategoryController(CategoryRepository categoryRepository) {
-            this.categoryRepository = categoryRepository;
+        public CategoryController(CategoryService categoryService) {
+            this.categoryService = categoryService;
         }
 
+        /**
+         * Tüm kategorileri aktif ürün sayılarıyla birlikte ada göre sıralı listeler. (Herkese Açık)
+         * GET /api/categories
+         * Liste bellek içi görüntüden döner; ETag görüntünün sürümüdür ve yalnızca kategori listesi veya
+         * sayımlar değiştiğinde değişir (fiyat/stok güncellemeleri etkilemez).
+         * @return CategoryDto listesi veya liste değişmediyse 304.
+         */
         @GetMapping
-        public ResponseEntity<List<Category>> getAllCategories() {
-            // İdealde CategoryResponseDto gibi bir DTO döndürmek daha iyi olabilir
-            // ama şimdilik direkt Category entity'lerini döndürelim.
-            // Jackson'ın Category entity'sini serileştirebildiğinden emin olun
-            // (eğer içinde lazy-loaded ilişkiler yoksa sorun olmaz).
-            List<Category> categories = categoryRepository.findAll();
-            return ResponseEntity.ok(categories);
+        public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest webRequest) {
+            CategoryCatalog.Snapshot snapshot = categoryService.getCategorySnapshot();
+            // ETag ve gövde aynı görüntüden üretilir; arada gelen bir güncelleme ikisini ayrıştıramaz.
+            String etag = "categories-" + snapshot.getVersion();
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(snapshot.getCategories());
         }
     }
-    
\ No newline at end of file
@@ -1,15 +1,23 @@
 package com.chimax.chimax_backend.controller; // Paket adını kontrol et
 
+import com.chimax.chimax_backend.dto.CheckoutTicketDto;
 import com.chimax.chimax_backend.dto.CreateOrderRequestDto;
 import com.chimax.chimax_backend.dto.OrderDto;
 import com.chimax.chimax_backend.dto.UpdateOrderStatusDto; // Admin için durum güncelleme DTO'su
 import com.chimax.chimax_backend.entity.User; // User entity importu
+import com.chimax.chimax_backend.exception.CheckoutQueueFullException;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import com.chimax.chimax_backend.service.AsyncCheckoutService;
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.chimax.chimax_backend.service.IdempotencyService;
 import com.chimax.chimax_backend.service.OrderService;
 import com.chimax.chimax_backend.service.UserService; // UserService importu
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired; // @Autowired için
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException; // YENİ IMPORT
@@ -19,11 +27,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException; // Kendi exception'ınızla değiştirebilirsiniz
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException; // HTTP durum kodları için
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Siparişlerle ilgili API endpoint'lerini yöneten Controller.
@@ -37,11 +49,19 @@ public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
     private final OrderService orderService;
     private final UserService userService; // UserService enjekte edildi
+    private final IdempotencyService idempotencyService;
+    private final AsyncCheckoutService asyncCheckoutService;
+    private final long sseTimeoutMs;
 
     @Autowired // Constructor injection
-    public OrderController(OrderService orderService, UserService userService) {
+    public OrderController(OrderService orderService, UserService userService, IdempotencyService idempotencyService,
+                           AsyncCheckoutService asyncCheckoutService,
+                           @Value("${app.checkout.async.sse-timeout-ms:60000}") long sseTimeoutMs) {
         this.orderService = orderService;
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
+        this.asyncCheckoutService = asyncCheckoutService;
+        this.sseTimeoutMs = sseTimeoutMs;
     }
 
     // === MÜŞTERİ SİPARİŞ ENDPOINT'LERİ ===
@@ -49,10 +69,13 @@ public class OrderController {
     /**
      * Yeni bir sipariş oluşturur. (Sadece Giriş Yapmış Kullanıcılar)
      * POST /api/orders
+     * @param idempotencyKey Opsiyonel Idempotency-Key başlığı; aynı anahtarla tekrarlanan istek yeni sipariş
+     *                       oluşturmaz, ilk yanıtı alır.
      */
     @PostMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> createOrder(@Valid @RequestBody CreateOrderRequestDto orderRequest) {
+    public ResponseEntity<?> createOrder(@Valid @RequestBody CreateOrderRequestDto orderRequest,
+                                         @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
             logger.warn("Yetkisiz sipariş oluşturma denemesi.");
@@ -60,10 +83,22 @@ public class OrderController {
         }
         String userEmail = authentication.getName();
         logger.info("Kullanıcı '{}' için sipariş oluşturma isteği alındı.", userEmail);
+        return idempotencyService.execute("orders", userEmail, idempotencyKey, orderRequest,
+                                          scopedKey -> placeOrder(orderRequest, userEmail));
+    }
+
+    private ResponseEntity<?> placeOrder(CreateOrderRequestDto orderRequest, String userEmail) {
         try {
             OrderDto createdOrder = orderService.createOrder(orderRequest, userEmail);
             logger.info("Sipariş başarıyla oluşturuldu: ID {}", createdOrder.getId());
             return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+        } catch (OrderValidationException e) {
+            // Sepetteki tüm hatalı kalemler birlikte döner; istemci hepsini tek seferde gösterebilir.
+            logger.warn("Sipariş sepeti doğrulanamadı ({}): {}", userEmail, e.getErrors());
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", e.getMessage());
+            body.put("errors", e.getErrors());
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } catch (RuntimeException e) {
             logger.warn("Sipariş oluşturma hatası ({}): {}", userEmail, e.getMessage());
             return new ResponseEntity<>(Collections.singletonMap("error", e.getMessage()), HttpStatus.BAD_REQUEST);
@@ -73,19 +108,104 @@ public class OrderController {
         }
     }
 
+    /**
+     * Siparişi asenkron olarak verir: istek doğrulanıp kuyruğa alınır ve hemen 202 ile bir bilet döner.
+     * Sepet (ürün, satış durumu, stok) kuyruğa almadan önce kontrol edilir; hatalı sepet 400 ile döner.
+     * Sonuç GET /api/orders/async/{ticketId} ile sorgulanabilir veya .../events ile SSE üzerinden izlenebilir.
+     * Kuyruk doluysa 503 döner. (Sadece Giriş Yapmış Kullanıcılar)
+     * POST /api/orders/async
+     * @param idempotencyKey Opsiyonel Idempotency-Key başlığı; aynı anahtarla tekrarlanan istek aynı bileti alır.
+     */
+    @PostMapping("/async")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> createOrderAsync(@Valid @RequestBody CreateOrderRequestDto orderRequest,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        return idempotencyService.execute("orders-async", userEmail, idempotencyKey, orderRequest, scopedKey -> {
+            try {
+                CheckoutTicketDto ticket = asyncCheckoutService.submit(orderRequest, userEmail);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/orders/async/" + ticket.getTicketId())
+                        .body(ticket);
+            } catch (CheckoutQueueFullException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "2")
+                        .body(Collections.singletonMap("error", e.getMessage()));
+            } catch (OrderValidationException e) {
+                logger.warn("Asenkron sipariş sepeti doğrulanamadı ({}): {}", userEmail, e.getErrors());
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("error", e.getMessage());
+                body.put("errors", e.getErrors());
+                return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+            } catch (RuntimeException e) {
+                logger.warn("Asenkron sipariş isteği reddedildi ({}): {}", userEmail, e.getMessage());
+                return new ResponseEntity<>(Collections.singletonMap("error", e.getMessage()), HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    /**
+     * Asenkron sipariş biletinin güncel durumunu getirir (sorgulama).
+     * GET /api/orders/async/{ticketId}
+     */
+    @GetMapping("/async/{ticketId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getCheckoutTicket(@PathVariable String ticketId) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        Optional<CheckoutTicketDto> ticket = asyncCheckoutService.findTicket(ticketId, userEmail);
+        if (ticket.isPresent()) {
+            return ResponseEntity.ok(ticket.get());
+        }
+        return new ResponseEntity<>(Collections.singletonMap("error", "Sipariş bileti bulunamadı veya süresi doldu."), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Asenkron sipariş biletinin durum değişikliklerini Server-Sent Events ile yayınlar. Her değişiklik "status"
+     * olayı olarak gönderilir; bilet COMPLETED veya FAILED olduğunda akış kapanır. Bağlantı zaman aşımı, hata veya
+     * istemci kapanışıyla biterse dinleyici biletten kaldırılır.
+     * GET /api/orders/async/{ticketId}/events
+     */
+    @GetMapping("/async/{ticketId}/events")
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamCheckoutTicket(@PathVariable String ticketId) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Consumer<CheckoutTicketDto> listener = ticket -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(ticket));
+                if ("COMPLETED".equals(ticket.getStatus()) || "FAILED".equals(ticket.getStatus())) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // İstemci bağlantıyı kapattı veya akış zaman aşımına uğradı; sonuç sorgulama ucundan alınabilir.
+                emitter.completeWithError(e);
+            }
+        };
+        emitter.onCompletion(() -> asyncCheckoutService.unsubscribe(ticketId, listener));
+        emitter.onTimeout(() -> asyncCheckoutService.unsubscribe(ticketId, listener));
+        emitter.onError(e -> asyncCheckoutService.unsubscribe(ticketId, listener));
+        boolean found = asyncCheckoutService.subscribe(ticketId, userEmail, listener);
+        if (!found) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sipariş bileti bulunamadı veya süresi doldu.");
+        }
+        return emitter;
+    }
+
     /**
      * Giriş yapmış kullanıcının kendi sipariş geçmişini listeler.
-     * GET /api/orders/my-orders
+     * GET /api/orders/my-orders?fields=id,orderDate,status,totalAmount
+     * @param fields Alan seçimi (opsiyonel); seçilmeyen kalem ve kullanıcı bilgileri veritabanından okunmaz.
      */
     @GetMapping("/my-orders")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getCurrentUserOrders() {
+    public ResponseEntity<?> getCurrentUserOrders(@RequestParam(required = false) String fields) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userEmail = authentication.getName();
         logger.info("Kullanıcı '{}' için sipariş geçmişi isteniyor.", userEmail);
         try {
-            List<OrderDto> orders = orderService.findOrdersByUser(userEmail);
-            return ResponseEntity.ok(orders);
+            FieldSelection selection = FieldSelection.parse(fields, OrderDto.class);
+            List<OrderDto> orders = orderService.findOrdersByUser(userEmail, selection);
+            return ResponseEntity.ok(SparseFields.wrap(orders, selection));
         } catch (RuntimeException e) {
             logger.warn("Siparişler getirilirken hata ({}): {}", userEmail, e.getMessage());
             return new ResponseEntity<>(Collections.singletonMap("error", e.getMessage()), HttpStatus.BAD_REQUEST);
@@ -130,13 +250,19 @@ public class OrderController {
     /**
      * Tüm siparişleri listeler (Sadece Admin).
      * GET /api/orders/admin/all
+     * @param fields Alan seçimi (opsiyonel); seçilmeyen kalem ve kullanıcı bilgileri veritabanından okunmaz.
      */
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderDto>> getAllOrdersForAdmin() {
+    public ResponseEntity<?> getAllOrdersForAdmin(@RequestParam(required = false) String fields) {
         logger.info("Admin tüm siparişleri listeleme isteği aldı.");
-        List<OrderDto> orders = orderService.findAllOrders();
-        return ResponseEntity.ok(orders);
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, OrderDto.class);
+            List<OrderDto> orders = orderService.findAllOrders(selection);
+            return ResponseEntity.ok(SparseFields.wrap(orders, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
     }
 
     /**
@@ -187,16 +313,23 @@ public class OrderController {
     /**
      * Kimliği doğrulanmış ve SELLER rolüne sahip bir satıcının kendi ürünlerini içeren siparişleri listelemesini sağlar.
      * GET /api/orders/seller/my-orders
+     * @param fields Alan seçimi (opsiyonel); seçilmeyen kalem ve kullanıcı bilgileri veritabanından okunmaz.
      */
     @GetMapping("/seller/my-orders")
     @PreAuthorize("hasRole('SELLER')")
-    public ResponseEntity<List<OrderDto>> getMyOrdersAsSeller(
+    public ResponseEntity<?> getMyOrdersAsSeller(
             @RequestParam(required = false) String statusFilter,
+            @RequestParam(required = false) String fields,
             Authentication authentication) {
         User seller = getCurrentSeller(authentication);
         logger.info("Satıcı '{}' (ID: {}) kendi siparişlerini istiyor. Durum filtresi: {}", seller.getEmail(), seller.getId(), statusFilter);
-        List<OrderDto> orders = orderService.getOrdersForSeller(seller, statusFilter);
-        return ResponseEntity.ok(orders);
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, OrderDto.class);
+            List<OrderDto> orders = orderService.getOrdersForSeller(seller, statusFilter, selection);
+            return ResponseEntity.ok(SparseFields.wrap(orders, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
     }
 
     /**
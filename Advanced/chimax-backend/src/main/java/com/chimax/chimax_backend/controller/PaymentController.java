@@ -2,7 +2,13 @@ package com.chimax.chimax_backend.controller; // Paket adını kontrol et
 
 import com.chimax.chimax_backend.dto.CreatePaymentIntentRequestDto;
 import com.chimax.chimax_backend.dto.CreatePaymentIntentResponseDto;
+import com.chimax.chimax_backend.dto.StockReservationDto;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import com.chimax.chimax_backend.service.IdempotencyService;
+import com.chimax.chimax_backend.service.StockReservationService;
 import com.chimax.chimax_backend.service.StripeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import jakarta.validation.Valid;
@@ -16,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder; // Secur
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -27,17 +34,29 @@ public class PaymentController {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
     private final StripeService stripeService;
+    private final StockReservationService stockReservationService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public PaymentController(StripeService stripeService) {
+    public PaymentController(StripeService stripeService, StockReservationService stockReservationService,
+                             IdempotencyService idempotencyService, ObjectMapper objectMapper) {
         this.stripeService = stripeService;
+        this.stockReservationService = stockReservationService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Yeni bir Stripe Payment Intent oluşturur. (Sadece Giriş Yapmış Kullanıcılar)
+     * İstekte sepet kalemleri (items) varsa, ödeme süresince bu ürünlerin stoğu kullanıcı adına tutulur;
+     * stok yetersizse ödeme başlatılmaz ve tüm hatalı kalemler 409 ile döner.
+     * Idempotency-Key başlığı gönderilirse tekrarlanan istek ilk yanıtı alır; anahtar Stripe'a da iletilir.
+     * clientSecret idempotency kaydında saklanmaz; tekrar oynatmada Payment Intent kimliğiyle Stripe'tan yeniden alınır.
      */
     @PostMapping("/create-intent")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> createPaymentIntent(@Valid @RequestBody CreatePaymentIntentRequestDto paymentIntentRequest) {
+    public ResponseEntity<?> createPaymentIntent(@Valid @RequestBody CreatePaymentIntentRequestDto paymentIntentRequest,
+                                                 @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
         // === DEBUG LOGLARI EKLENDİ ===
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -50,6 +69,47 @@ public class PaymentController {
         }
         // ============================
 
+        ResponseEntity<?> response = idempotencyService.execute("payment-intents",
+                authentication != null ? authentication.getName() : null, idempotencyKey, paymentIntentRequest,
+                stripeKey -> startPayment(paymentIntentRequest, authentication, stripeKey),
+                PaymentController::withoutClientSecret);
+        return restoreClientSecret(response);
+    }
+
+    // Saklanan gövde: clientSecret çıkarılmış kopya (istemciye dönen orijinal nesne değiştirilmez).
+    private static Object withoutClientSecret(Object body) {
+        if (body instanceof CreatePaymentIntentResponseDto dto) {
+            return new CreatePaymentIntentResponseDto(null, dto.getReservationId(), dto.getReservationExpiresAt(),
+                                                      dto.getPaymentIntentId());
+        }
+        return body;
+    }
+
+    // Tekrar oynatılan başarılı yanıtta clientSecret'ı Payment Intent kimliğiyle Stripe'tan yeniden alır.
+    private ResponseEntity<?> restoreClientSecret(ResponseEntity<?> response) {
+        if (!"true".equals(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER))
+                || !response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof String json)) {
+            return response;
+        }
+        try {
+            CreatePaymentIntentResponseDto dto = objectMapper.readValue(json, CreatePaymentIntentResponseDto.class);
+            if (dto.getPaymentIntentId() != null) {
+                dto.setClientSecret(stripeService.retrievePaymentIntent(dto.getPaymentIntentId()).getClientSecret());
+            }
+            return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(dto);
+        } catch (JsonProcessingException e) {
+            logger.error("PaymentController: Saklanan ödeme yanıtı okunamadı.", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "Önceki ödeme yanıtı okunamadı."));
+        } catch (StripeException | IllegalStateException e) {
+            logger.error("PaymentController: Tekrar oynatılan Payment Intent Stripe'tan alınamadı: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "Ödeme bilgisi alınamadı: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> startPayment(CreatePaymentIntentRequestDto paymentIntentRequest,
+                                           Authentication authentication, String stripeIdempotencyKey) {
         try {
             logger.debug("PaymentController: İstek gövdesi: Tutar={}, Para Birimi={}",
                         paymentIntentRequest.getAmount(), paymentIntentRequest.getCurrency());
@@ -63,15 +123,40 @@ public class PaymentController {
                  return ResponseEntity.badRequest().body(Collections.singletonMap("error", "Para birimi belirtilmelidir."));
             }
 
-            PaymentIntent paymentIntent = stripeService.createPaymentIntent(
-                paymentIntentRequest.getAmount(),
-                paymentIntentRequest.getCurrency()
-            );
+            StockReservationDto reservation = null;
+            if (paymentIntentRequest.getItems() != null && !paymentIntentRequest.getItems().isEmpty()) {
+                reservation = stockReservationService.reserve(authentication.getName(), paymentIntentRequest.getItems());
+            }
+
+            PaymentIntent paymentIntent;
+            try {
+                paymentIntent = stripeService.createPaymentIntent(
+                    paymentIntentRequest.getAmount(),
+                    paymentIntentRequest.getCurrency(),
+                    stripeIdempotencyKey
+                );
+            } catch (Exception e) {
+                if (reservation != null) {
+                    stockReservationService.release(authentication.getName()); // Ödeme başlamadıysa stok bekletilmez
+                }
+                throw e;
+            }
 
-            CreatePaymentIntentResponseDto response = new CreatePaymentIntentResponseDto(paymentIntent.getClientSecret());
+            CreatePaymentIntentResponseDto response = new CreatePaymentIntentResponseDto(paymentIntent.getClientSecret(),
+                    reservation != null ? reservation.getReservationId() : null,
+                    reservation != null ? reservation.getExpiresAt() : null,
+                    paymentIntent.getId());
             logger.info("PaymentController: Payment Intent başarıyla oluşturuldu. ID: {}", paymentIntent.getId());
             return ResponseEntity.ok(response);
 
+        } catch (OrderValidationException e) {
+            logger.info("PaymentController: Sepet için stok tutulamadı: {}", e.getErrors());
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", e.getMessage());
+            body.put("errors", e.getErrors());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (StripeException e) {
             logger.error("PaymentController: Stripe Payment Intent oluşturulurken hata: {}", e.getMessage(), e); // Hatanın tamamını logla
             Map<String, String> errorBody = Collections.singletonMap("error", "Ödeme başlatılamadı: " + e.getMessage());
@@ -1,57 +1,444 @@
 package com.chimax.chimax_backend.controller;
 
+import com.chimax.chimax_backend.cache.CatalogSnapshot; // Önceden serileştirilmiş katalog
+import com.chimax.chimax_backend.cache.CatalogVersion; // ETag için katalog sürümü
+import com.chimax.chimax_backend.cache.ProductCatalogCache; // Katalog okumaları için önbellek
+import com.chimax.chimax_backend.dto.CursorPageDto; // İmleç tabanlı sayfalama yanıtı
+import com.chimax.chimax_backend.dto.ProductDetailDto; // Ürün detay sayfası birleşik yanıtı
 import com.chimax.chimax_backend.dto.ProductDto; // İstekler için kullanılan DTO
+import com.chimax.chimax_backend.dto.ProductFacetResultDto; // Filtre sonuçları ve sayımlar
 import com.chimax.chimax_backend.dto.ProductResponseDto; // Yanıtlar için yeni DTO'muz
+import com.chimax.chimax_backend.dto.ProductSearchResultDto; // Arama sonuçları
+import com.chimax.chimax_backend.dto.ProductSummaryDto; // Liste görünümleri için hafif DTO
+import com.chimax.chimax_backend.dto.SuggestionDto; // Otomatik tamamlama önerileri
 // Product entity'sini burada doğrudan kullanmamaya çalışacağız, servis DTO döndürecek
+import com.chimax.chimax_backend.service.CatalogFileFormat;
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.chimax.chimax_backend.service.ProductDetailService;
+import com.chimax.chimax_backend.service.ProductExportService;
+import com.chimax.chimax_backend.service.ProductFacetService;
+import com.chimax.chimax_backend.service.ProductRecommendationService;
+import com.chimax.chimax_backend.service.ProductSearchService;
 import com.chimax.chimax_backend.service.ProductService;
+import com.chimax.chimax_backend.service.ProductSortService;
+import com.chimax.chimax_backend.service.ProductSuggestionService;
+import com.chimax.chimax_backend.service.ProductTrendingService;
+import com.chimax.chimax_backend.service.ProductViewService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 // import java.util.stream.Collectors; // Servis katmanında yapıldığı için burada gerekmeyebilir
 
 /**
  * Ürünlerle ilgili API endpoint'lerini yöneten Controller.
+ * Herkese açık GET endpoint'leri katalog sürümünden üretilen ETag ile koşullu istekleri (If-None-Match) destekler;
+ * katalog değişmediyse gövde üretilmeden 304 döner.
+ * Liste endpoint'leri ve ürün detayı "fields=id,name,price,imageUrl" gibi bir alan seçimi kabul eder; yanıtta
+ * sadece seçilen ürün alanları yer alır ("id" her zaman dahildir). Bilinmeyen alan adı 400 döner.
  */
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetService productFacetService;
+    private final CatalogVersion catalogVersion;
+    private final ProductExportService productExportService;
+    private final ProductSuggestionService productSuggestionService;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ProductSortService productSortService;
+    private final ProductDetailService productDetailService;
+    private final ProductRecommendationService productRecommendationService;
+    private final ProductViewService productViewService;
+    private final ProductTrendingService productTrendingService;
+    /** Aynı anda açık olabilecek dışa aktarım akışları (her biri bir veritabanı imleci tutar). */
+    private final Semaphore exportPermits;
+    private final long exportTimeoutMs;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductCatalogCache productCatalogCache,
+                             ProductSearchService productSearchService,
+                             ProductFacetService productFacetService,
+                             CatalogVersion catalogVersion,
+                             ProductExportService productExportService,
+                             ProductSuggestionService productSuggestionService,
+                             CatalogSnapshot catalogSnapshot,
+                             ProductSortService productSortService,
+                             ProductDetailService productDetailService,
+                             ProductRecommendationService productRecommendationService,
+                             ProductViewService productViewService,
+                             ProductTrendingService productTrendingService,
+                             @Value("${app.catalog.export.max-concurrent:2}") int exportMaxConcurrent,
+                             @Value("${app.catalog.export.timeout-ms:600000}") long exportTimeoutMs) {
         this.productService = productService;
+        this.productCatalogCache = productCatalogCache;
+        this.productSearchService = productSearchService;
+        this.productFacetService = productFacetService;
+        this.catalogVersion = catalogVersion;
+        this.productExportService = productExportService;
+        this.productSuggestionService = productSuggestionService;
+        this.catalogSnapshot = catalogSnapshot;
+        this.productSortService = productSortService;
+        this.productDetailService = productDetailService;
+        this.productRecommendationService = productRecommendationService;
+        this.productViewService = productViewService;
+        this.productTrendingService = productTrendingService;
+        this.exportPermits = new Semaphore(exportMaxConcurrent);
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     /**
      * Tüm aktif ürünleri listeler. (Herkese Açık)
      * GET /api/products
-     * @return ProductResponseDto listesini içeren ResponseEntity.
+     * Açıklama içermeyen özet DTO'lar döner; ürün açıklaması için GET /api/products/{id} kullanılır.
+     * Güncel bir katalog görüntüsü varsa önceden serileştirilmiş JSON (istemci destekliyorsa gzip) byte'ları
+     * doğrudan yanıta yazılır; gzip gövdesinin ETag'i "-gzip" ekiyle ayrılır. Görüntü yeniden kurulurken
+     * normal (önbellekli) yoldan yanıt verilir.
+     * Alan seçimi (fields) verilirse görüntü kullanılmaz, önbellekteki liste seçilen alanlarla yazılır.
+     * @return ProductSummaryDto listesini (JSON) içeren ResponseEntity, katalog değişmediyse 304 veya alan seçimi geçersizse 400.
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponseDto>> getAllActiveProducts() {
-        // ProductService.findAllActiveProducts() artık List<ProductResponseDto> döndürüyor.
-        List<ProductResponseDto> productResponseDtos = productService.findAllActiveProducts();
-        return ResponseEntity.ok(productResponseDtos);
+    public ResponseEntity<?> getAllActiveProducts(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                  @RequestParam(required = false) String fields,
+                                                  WebRequest webRequest) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        String etag = catalogVersion.etag("products");
+        Optional<CatalogSnapshot.Snapshot> snapshot = selection.isAll() ? catalogSnapshot.getIfFresh() : Optional.empty();
+        boolean gzip = snapshot.isPresent() && acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        if (gzip) {
+            etag = etag + "-gzip"; // Sıkıştırılmış gövde ayrı bir temsildir; güçlü ETag'i sıkıştırılmamışla paylaşamaz
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified yanıtı Spring tarafından yazıldı
+        }
+        if (snapshot.isPresent()) {
+            ResponseEntity.BodyBuilder response = conditionalOk(etag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.get().getGzip());
+            }
+            return response.body(snapshot.get().getJson());
+        }
+        // Önbellekte yoksa ProductService.findAllActiveProducts() ile yüklenir.
+        List<ProductSummaryDto> productSummaryDtos = productCatalogCache.getActiveProducts(productService::findAllActiveProducts);
+        return conditionalOk(etag).body(SparseFields.wrap(productSummaryDtos, selection));
+    }
+
+    /**
+     * Aktif ürünleri imleç (keyset) sayfalaması ile listeler. (Herkese Açık)
+     * GET /api/products/page?cursor=...&size=24&sort=price_asc
+     * Katalog büyüdükçe gecikme sabit kalır; tüm katalog tek seferde yüklenmez.
+     * Sıralama verilmezse ID sırasıyla veritabanından okunur; verilirse önceden sıralanmış bellek içi indeksten.
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size Sayfa boyutu (en fazla 100).
+     * @param sort Sıralama (opsiyonel): "price_asc", "price_desc", "newest" veya "rating".
+     * @param fields Alan seçimi (opsiyonel). Kategori ve satıcı seçilmezse veritabanı sorgusu JOIN'siz çalışır.
+     * @return Sayfadaki ürünler ve sonraki sayfa imleci, katalog değişmediyse 304 veya imleç/sıralama/alan seçimi geçersizse 400.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getActiveProductsPage(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "24") int size,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String fields,
+                                                   WebRequest webRequest) {
+        String etag = catalogVersion.etag("products");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+            CursorPageDto<ProductSummaryDto> page = sort != null && !sort.isBlank()
+                    ? productSortService.findSortedPage(sort, cursor, size) // Bellek içi; önbelleğe almaya gerek yok
+                    : productCatalogCache.getList("page:" + cursor + ":" + size + ":" + selection.getFields(),
+                            () -> productService.findActiveProductsPage(cursor, size, selection));
+            return conditionalOk(etag).body(SparseFields.wrap(page, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Aktif ürünlerde tam metin araması yapar. (Herkese Açık)
+     * GET /api/products/search?q=kablosuz kulaklık&page=0&size=24
+     * Ad, tip, kategori ve açıklama üzerinde bellek içi indeksle çalışır; sonuçlar alaka puanına göre sıralıdır.
+     * @param q Arama metni.
+     * @param page Sayfa numarası (0'dan başlar).
+     * @param size Sayfa boyutu (en fazla 100).
+     * @param fields Alan seçimi (opsiyonel).
+     * @return Arama sonuçları, katalog değişmediyse 304 veya sorgu/alan seçimi geçersizse 400.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(@RequestParam(required = false) String q,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "24") int size,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest webRequest) {
+        String etag = catalogVersion.etag("products");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+            ProductSearchResultDto result = productSearchService.search(q, page, size);
+            return conditionalOk(etag).body(SparseFields.wrap(result, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Arama kutusu için otomatik tamamlama önerileri döndürür. (Herkese Açık)
+     * GET /api/products/suggest?prefix=kulak&limit=8
+     * Ürün adları, ürün tipleri ve kategori adları arasından, kelime başlarına göre eşleşen öneriler
+     * popülerlik sırasıyla döner. Her tuş vuruşunda çağrılabilir; veritabanına gidilmez.
+     * @param prefix Kullanıcının yazdığı metin.
+     * @param limit En fazla öneri sayısı (en fazla 10).
+     * @return Öneri listesi (önek boşsa boş liste).
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestProducts(@RequestParam(required = false) String prefix,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSuggestionService.suggest(prefix, limit));
+    }
+
+    /**
+     * "Şu an popüler" ürünleri döndürür. (Herkese Açık)
+     * GET /api/products/trending?window=hour&limit=12
+     * Son bir saat/gündeki görüntülenme ve satın almalardan, yeni etkinliğe daha fazla ağırlık verilerek hesaplanır.
+     * Liste periyodik olarak önceden hesaplanır; istekte veritabanına gidilmez.
+     * @param window Zaman penceresi: "hour" (varsayılan) veya "day".
+     * @param limit En fazla ürün sayısı (en fazla 50).
+     * @param fields Alan seçimi (opsiyonel).
+     * @return Popüler ürünlerin özet listesi veya pencere/alan seçimi geçersizse 400.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingProducts(@RequestParam(defaultValue = "hour") String window,
+                                                 @RequestParam(defaultValue = "12") int limit,
+                                                 @RequestParam(required = false) String fields) {
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+            return ResponseEntity.ok(SparseFields.wrap(productTrendingService.findTrending(window, limit), selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Aktif ürünleri filtreler ve tüm filtre değerlerinin ürün sayılarını döndürür. (Herkese Açık)
+     * GET /api/products/facets?category=Laptop&category=Tablet&price=1000-2500&page=0&size=24
+     * Aynı parametre birden fazla verilirse VEYA, farklı parametreler VE ile birleştirilir.
+     * @param category Kategori adları.
+     * @param type Ürün tipleri.
+     * @param price Fiyat aralıkları ("0-250", "250-500", "500-1000", "1000-2500", "2500-5000", "5000+").
+     * @param seller Satıcı ID'leri.
+     * @param page Sayfa numarası (0'dan başlar).
+     * @param size Sayfa boyutu (en fazla 100).
+     * @param fields Ürünler için alan seçimi (opsiyonel); facet sayımları her zaman döner.
+     * @return Filtrelenmiş ürünler ve facet sayımları, katalog değişmediyse 304 veya parametre geçersizse 400.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> filterProducts(@RequestParam(required = false) List<String> category,
+                                            @RequestParam(required = false) List<String> type,
+                                            @RequestParam(required = false) List<String> price,
+                                            @RequestParam(required = false) List<String> seller,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "24") int size,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest webRequest) {
+        String etag = catalogVersion.etag("products");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+            ProductFacetResultDto result = productFacetService.filter(category, type, price, seller, page, size);
+            return conditionalOk(etag).body(SparseFields.wrap(result, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Tüm aktif ürünleri fiyat karşılaştırma siteleri ve iş ortakları için dışa aktarır. (Sadece PARTNER ve ADMIN)
+     * GET /api/products/export?format=ndjson|csv
+     * Ürünler veritabanından okundukça yanıta yazılır (liste oluşturulmaz); bellek kullanımı katalog boyutundan bağımsızdır.
+     * İstemci Accept-Encoding: gzip gönderirse çıktı sıkıştırılır.
+     * Her akış bir veritabanı imleci tuttuğu için aynı anda en fazla app.catalog.export.max-concurrent dışa aktarım
+     * çalışır (fazlası 429 alır); uzun zaman aşımı (app.catalog.export.timeout-ms) yalnızca bu uca uygulanır.
+     * @param format Çıktı biçimi: "ndjson" (varsayılan) veya "csv".
+     * @param acceptEncoding İstemcinin desteklediği sıkıştırma biçimleri.
+     * @return Gövdeyi ayrı thread'de yazan WebAsyncTask; biçim geçersizse 400, sınır doluysa 429 (ResponseEntity).
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('PARTNER', 'ADMIN')")
+    public Object exportProducts(@RequestParam(required = false) String format,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                 HttpServletResponse response) {
+        CatalogFileFormat exportFormat;
+        try {
+            exportFormat = CatalogFileFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        if (!exportPermits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .body(Collections.singletonMap("error", "Şu an başka dışa aktarımlar sürüyor; lütfen biraz sonra tekrar deneyin."));
+        }
+        // İzin tam olarak bir kez geri verilir: gövde yazımı bittiğinde, zaman aşımında, hatada veya görev
+        // Spring'e teslim edilmeden önce bir istisna oluşursa.
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                exportPermits.release();
+            }
+        };
+        boolean handedOff = false;
+        try {
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+            response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("products." + exportFormat.getFileExtension()).build().toString());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+
+            // Gövde, controller döndükten sonra ayrı bir thread'de yazılır; transaction servis metodu içinde açılır.
+            // Veritabanı imleci gövde yazılınca kapandığı için izin de o anda bırakılır (async tamamlanması beklenmez).
+            WebAsyncTask<Object> task = new WebAsyncTask<>(exportTimeoutMs, () -> {
+                try {
+                    if (gzip) {
+                        GZIPOutputStream gzipOut = new GZIPOutputStream(response.getOutputStream(), 8192);
+                        productExportService.exportActiveProducts(gzipOut, exportFormat);
+                        gzipOut.finish();
+                    } else {
+                        productExportService.exportActiveProducts(response.getOutputStream(), exportFormat);
+                    }
+                    response.flushBuffer();
+                    return null;
+                } finally {
+                    releasePermit.run();
+                }
+            });
+            // RESULT_NONE: yanıt Spring'in varsayılan zaman aşımı/hata işlemesine bırakılır.
+            task.onTimeout(() -> {
+                releasePermit.run();
+                return CallableProcessingInterceptor.RESULT_NONE;
+            });
+            task.onError(() -> {
+                releasePermit.run();
+                return CallableProcessingInterceptor.RESULT_NONE;
+            });
+            task.onCompletion(releasePermit);
+            handedOff = true;
+            return task;
+        } finally {
+            if (!handedOff) {
+                releasePermit.run();
+            }
+        }
     }
 
     /**
      * Belirli bir ID'ye sahip ürünü getirir. (Herkese Açık)
      * GET /api/products/{id}
      * @param id Getirilecek ürünün ID'si.
-     * @return ProductResponseDto içeren ResponseEntity veya bulunamazsa 404.
+     * Her istek (304 dahil) görüntülenme olarak sayılır; sayaç bellekte artırılır, veritabanına toplu yazılır.
+     * @param fields Alan seçimi (opsiyonel, örn. "name,price,stockQuantity").
+     * @return ProductResponseDto içeren ResponseEntity, ürün değişmediyse 304, bulunamazsa 404 veya alan seçimi geçersizse 400.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDto> getProductById(@PathVariable Long id) {
-        // ProductService.findProductById(id) artık Optional<ProductResponseDto> döndürüyor.
-        return productService.findProductById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getProductById(@PathVariable Long id,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest webRequest) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, ProductResponseDto.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        productViewService.recordView(id);
+        String etag = catalogVersion.productEtag("product", id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // Önbellekte yoksa ProductService.findProductById(id) ile yüklenir.
+        return productCatalogCache.getProduct(id, productService::findProductById)
+                .<ResponseEntity<?>>map(dto -> conditionalOk(etag).body(SparseFields.wrap(dto, selection)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Ürün detay sayfası için ürünü (satıcı bilgisiyle), puan özetini ve yorumların ilk sayfasını tek yanıtta getirir. (Herkese Açık)
+     * GET /api/products/{id}/detail
+     * Yeni yorumlar ürün değişikliği olayı yayınladığından ürünün ETag'i bu yanıt için de geçerlidir.
+     * GET /api/products/{id} gibi görüntülenme olarak sayılır.
+     * @param id Ürünün ID'si.
+     * @return ProductDetailDto içeren ResponseEntity, ürün değişmediyse 304 veya bulunamazsa 404.
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ProductDetailDto> getProductDetail(@PathVariable Long id, WebRequest webRequest) {
+        productViewService.recordView(id);
+        String etag = catalogVersion.productEtag("product-detail", id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // Önbellekte yoksa ProductDetailService.getProductDetail(id) ile (üç sorgu paralel) yüklenir.
+        return productCatalogCache.getProductDetail(id, productDetailService::getProductDetail)
+                .map(dto -> conditionalOk(etag).body(dto))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * "Birlikte sık satın alınanlar": ürünle aynı siparişlerde en sık bulunan aktif ürünleri döndürür. (Herkese Açık)
+     * GET /api/products/{id}/related?limit=8
+     * Bellek içi birlikte satın alma matrisinden okunur; siparişler oluşturuldukça/iptal edildikçe güncellenir.
+     * @param id Ürünün ID'si.
+     * @param limit En fazla ürün sayısı (en fazla 20).
+     * @param fields Alan seçimi (opsiyonel).
+     * @return Önerilen ürünlerin özet listesi (sipariş geçmişi yoksa boş liste) veya alan seçimi geçersizse 400.
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> getRelatedProducts(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "8") int limit,
+                                                @RequestParam(required = false) String fields) {
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+            return ResponseEntity.ok(SparseFields.wrap(productRecommendationService.findFrequentlyBoughtTogether(id, limit), selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
     /**
      * Yeni bir ürün ekler. (Sadece Admin Erişebilir)
      * POST /api/products
@@ -103,4 +490,12 @@ public class ProductController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * ETag'li 200 yanıtı başlatır. no-cache: istemci yanıtı saklayabilir ama her kullanımda ETag ile doğrulatmalıdır.
+     * (Cache-Control açıkça verilmezse Spring Security no-store ekler ve tarayıcı ETag'i hiç kullanmaz.)
+     */
+    private ResponseEntity.BodyBuilder conditionalOk(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+    }
 }
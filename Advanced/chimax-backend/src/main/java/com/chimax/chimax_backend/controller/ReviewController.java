@@ -1,6 +1,7 @@
 package com.chimax.chimax_backend.controller; // Paket adını kontrol et
 
 import com.chimax.chimax_backend.dto.CreateReviewDto; // Yeni DTO import edildi
+import com.chimax.chimax_backend.dto.CursorPageDto;
 import com.chimax.chimax_backend.dto.ReviewDto;
 import com.chimax.chimax_backend.service.ReviewService;
 import jakarta.validation.Valid;
@@ -46,6 +47,25 @@ public class ReviewController {
         }
     }
 
+    /**
+     * Belirli bir ürünün yorumlarını en yeniden eskiye sayfa sayfa getirir. (Herkese Açık)
+     * GET /api/products/{productId}/reviews/page?cursor=...&size=10
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size Sayfa boyutu (en fazla 50).
+     * @return Yorum sayfası veya imleç geçersizse 400.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getReviewPage(@PathVariable Long productId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPageDto<ReviewDto> page = reviewService.getReviewPage(productId, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
     /**
      * Belirli bir ürüne yeni bir yorum ekler. (Sadece Giriş Yapmış Kullanıcılar)
      * @param productId Yorum yapılacak ürünün ID'si (URL'den alınır).
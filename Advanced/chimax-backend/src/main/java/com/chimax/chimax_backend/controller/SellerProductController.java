@@ -1,15 +1,27 @@
 package com.chimax.chimax_backend.controller; // Paket adınızı kendi projenize göre güncelleyin
 
+import com.chimax.chimax_backend.dto.ProductBulkUpdateReportDto; // Toplu güncelleme raporu
+import com.chimax.chimax_backend.dto.ProductBulkUpdateRequestDto; // Toplu fiyat/stok güncelleme isteği
 import com.chimax.chimax_backend.dto.ProductDto; // İstek için kullanılan DTO
+import com.chimax.chimax_backend.dto.ProductImportReportDto; // Toplu içe aktarım raporu
 import com.chimax.chimax_backend.dto.ProductResponseDto; // Yanıt için yeni DTO'muz
+import com.chimax.chimax_backend.dto.ProductSummaryDto; // Liste yanıtı için hafif DTO
+import com.chimax.chimax_backend.dto.ProductViewStatsDto; // Ürün görüntülenme sayıları
 // Product entity'sini burada doğrudan kullanmamaya çalışacağız, servis DTO döndürecek
 import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.service.CatalogFileFormat;
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.chimax.chimax_backend.service.ProductBulkUpdateService;
+import com.chimax.chimax_backend.service.ProductImportService;
 import com.chimax.chimax_backend.service.ProductService;
+import com.chimax.chimax_backend.service.ProductViewService;
 import com.chimax.chimax_backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,11 +44,19 @@ public class SellerProductController {
     private static final Logger logger = LoggerFactory.getLogger(SellerProductController.class);
     private final ProductService productService;
     private final UserService userService;
+    private final ProductImportService productImportService;
+    private final ProductBulkUpdateService productBulkUpdateService;
+    private final ProductViewService productViewService;
 
     @Autowired
-    public SellerProductController(ProductService productService, UserService userService) {
+    public SellerProductController(ProductService productService, UserService userService,
+                                   ProductImportService productImportService, ProductBulkUpdateService productBulkUpdateService,
+                                   ProductViewService productViewService) {
         this.productService = productService;
         this.userService = userService;
+        this.productImportService = productImportService;
+        this.productBulkUpdateService = productBulkUpdateService;
+        this.productViewService = productViewService;
     }
 
     /**
@@ -68,19 +90,86 @@ public class SellerProductController {
         }
     }
 
+    /**
+     * Satıcının ürünlerini bir CSV veya NDJSON dosyasından toplu olarak oluşturur.
+     * POST /api/seller/products/import
+     * Dosya multipart olarak değil, doğrudan istek gövdesi olarak gönderilir (Content-Type: text/csv veya
+     * application/x-ndjson); gövde belleğe alınmadan okunur ve satırlar parçalar halinde eklenir.
+     * Hatalı satırlar diğerlerini engellemez; her satırın sonucu raporda döner.
+     * @param request Gövdesi okunacak HTTP isteği.
+     * @param contentType Dosya biçimini belirleyen içerik türü.
+     * @return Satır bazlı içe aktarım raporu veya biçim/başlık geçersizse 400.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<?> importProducts(HttpServletRequest request,
+                                            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            Authentication authentication) {
+        User seller = getCurrentSeller(authentication);
+        try {
+            CatalogFileFormat format = CatalogFileFormat.fromContentType(contentType);
+            logger.info("Satıcı (ID: {}) toplu ürün içe aktarımı başlattı. Biçim: {}", seller.getId(), format);
+            ProductImportReportDto report = productImportService.importProducts(request.getInputStream(), format, seller);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Satıcı (ID: {}) toplu içe aktarımı reddedildi: {}", seller.getId(), e.getMessage());
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IOException e) {
+            logger.error("Satıcı (ID: {}) toplu içe aktarımında dosya okunamadı: {}", seller.getId(), e.getMessage(), e);
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", "Dosya okunamadı: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Satıcının kendi ürünlerinin fiyat, stok ve aktiflik durumunu tek istekte günceller.
+     * PATCH /api/seller/products/bulk
+     * Sahiplik her satır için UPDATE ifadesinin içinde kontrol edilir; başka satıcıya ait ürünler NOT_FOUND döner.
+     * @return İstekteki sırayla her ürünün sonucu (UPDATED, NOT_FOUND, SKIPPED).
+     */
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<ProductBulkUpdateReportDto> bulkUpdateMyProducts(@Valid @RequestBody ProductBulkUpdateRequestDto request,
+                                                                           Authentication authentication) {
+        User seller = getCurrentSeller(authentication);
+        logger.info("Satıcı (ID: {}) {} ürün için toplu güncelleme isteği.", seller.getId(), request.getItems().size());
+        return ResponseEntity.ok(productBulkUpdateService.bulkUpdateForSeller(request.getItems(), seller));
+    }
+
     /**
      * Kimliği doğrulanmış ve SELLER rolüne sahip bir satıcının kendi ürünlerini listelemesini sağlar.
      * GET /api/seller/products
-     * @return Satıcının ürünlerinin ProductResponseDto listesini içeren ResponseEntity.
+     * @param fields Alan seçimi (opsiyonel, örn. "name,price,stockQuantity").
+     * @return Satıcının ürünlerinin ProductSummaryDto listesini içeren ResponseEntity (detay için /{productId})
+     *         veya alan seçimi geçersizse 400.
      */
     @GetMapping
     @PreAuthorize("hasRole('SELLER')")
-    public ResponseEntity<List<ProductResponseDto>> getMyProducts(Authentication authentication) { // Dönüş tipi List<ProductResponseDto> olarak güncellendi
+    public ResponseEntity<?> getMyProducts(@RequestParam(required = false) String fields,
+                                           Authentication authentication) { // Liste görünümü için özet DTO'lar
         User seller = getCurrentSeller(authentication);
         logger.debug("Satıcı (ID: {}) kendi ürünlerini listeliyor.", seller.getId());
-        // ProductService.getProductsBySeller artık List<ProductResponseDto> döndürüyor
-        List<ProductResponseDto> productResponseDtos = productService.getProductsBySeller(seller);
-        return ResponseEntity.ok(productResponseDtos);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, ProductSummaryDto.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        // ProductService.getProductsBySeller açıklama içermeyen özet DTO'lar döndürüyor
+        List<ProductSummaryDto> productSummaryDtos = productService.getProductsBySeller(seller);
+        return ResponseEntity.ok(SparseFields.wrap(productSummaryDtos, selection));
+    }
+
+    /**
+     * Satıcının ürünlerinin görüntülenme sayılarını çoktan aza listeler.
+     * GET /api/seller/products/views
+     * @return Ürün başına görüntülenme sayıları (henüz veritabanına yazılmamış görüntülenmeler dahil).
+     */
+    @GetMapping("/views")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<List<ProductViewStatsDto>> getMyProductViews(Authentication authentication) {
+        User seller = getCurrentSeller(authentication);
+        logger.debug("Satıcı (ID: {}) ürün görüntülenme sayılarını istiyor.", seller.getId());
+        return ResponseEntity.ok(productViewService.getViewStatsForSeller(seller));
     }
 
     /**
@@ -0,0 +1,27 @@
+package com.chimax.chimax_backend.controller;
+
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Yanıt gövdesini "fields=" seçimine göre serileştirilecek şekilde sarar.
+ * Filtre, @JsonFilter(FieldSelection.FILTER_ID) taşıyan DTO'lara gövdenin neresinde olurlarsa olsunlar
+ * (örn. CursorPageDto.items içinde) uygulanır; diğer nesneler olduğu gibi yazılır.
+ */
+final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    static Object wrap(Object body, FieldSelection selection) {
+        if (selection.isAll()) {
+            return body;
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(selection.getFields())));
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package com.chimax.chimax_backend.dto; // Paket adını kontrol et
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Bir önbelleğin isabet/ıska/tahliye istatistiklerini admin paneline taşıyan DTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+
+    private String name;          // Önbellek adı (örn: "products", "product-lists")
+    private long size;            // Yaklaşık mevcut kayıt sayısı
+    private long hitCount;        // Önbellekten karşılanan istek sayısı
+    private long missCount;       // Veritabanına gidilen istek sayısı
+    private double hitRate;       // hitCount / (hitCount + missCount)
+    private long evictionCount;   // Boyut veya TTL nedeniyle atılan kayıt sayısı
+}
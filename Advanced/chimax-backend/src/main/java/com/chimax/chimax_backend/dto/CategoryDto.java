@@ -23,6 +23,11 @@ public class CategoryDto {
      */
     private String name;
 
+    /**
+     * Kategorideki aktif ürün sayısı (menüde "Laptop (42)" gibi gösterim için).
+     */
+    private int activeProductCount;
+
     /**
      * İsteğe bağlı: Kategori için bir açıklama.
      * Eğer Category entity'nizde description alanı varsa ve bunu DTO'da da göstermek isterseniz
@@ -0,0 +1,27 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Asenkron sipariş kuyruğunun ve işçilerinin anlık durumu ile açılıştan bu yana biriken sayaçlar (admin).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutQueueStatsDto {
+
+    private int queueDepth; // Kuyrukta bekleyen istek sayısı
+    private int queueCapacity; // Kuyruğun kapasitesi; dolunca yeni istekler 503 alır
+    private int workerCount; // Kuyruğu boşaltan işçi sayısı
+    private int processingCount; // Şu an işlenmekte olan istek sayısı
+    private long submittedCount; // Kuyruğa alınan toplam istek
+    private long rejectedCount; // Kuyruk dolu olduğu için reddedilen toplam istek
+    private long completedCount; // Siparişe dönüşen toplam istek
+    private long failedCount; // Başarısız olan toplam istek (sepet hataları dahil)
+    private double averageBatchSize; // Bir işçinin kuyruktan tek seferde aldığı ortalama istek sayısı
+    private double averageQueueWaitMs; // Kuyrukta ortalama bekleme süresi
+    private double averageProcessingMs; // Sipariş başına ortalama işleme süresi (işçi gecikmesi)
+    private double maxProcessingMs; // Görülen en uzun işleme süresi
+}
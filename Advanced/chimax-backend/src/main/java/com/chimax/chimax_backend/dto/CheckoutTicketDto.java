@@ -0,0 +1,27 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Asenkron sipariş isteğinin (bilet) durumu. Kuyruğa alındığında 202 ile, sonrasında sorgulama ve SSE
+ * uçlarından döner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutTicketDto {
+
+    private String ticketId; // Bilet kimliği (UUID)
+    private String status; // QUEUED, PROCESSING, COMPLETED veya FAILED
+    private LocalDateTime queuedAt; // Kuyruğa alınma zamanı
+    private LocalDateTime completedAt; // Sonuçlanma zamanı (sonuçlanmadıysa null)
+    private OrderDto order; // Oluşturulan sipariş (yalnızca COMPLETED; bilet özetlendikten sonra null)
+    private Long orderId; // Oluşturulan siparişin ID'si (yalnızca COMPLETED; özetlenen bilette de döner)
+    private String error; // Hata mesajı (yalnızca FAILED)
+    private List<String> errors; // Kalem bazlı sepet hataları (yalnızca FAILED, varsa)
+}
@@ -1,5 +1,6 @@
 package com.chimax.chimax_backend.dto; // Paket adını kontrol et
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -7,7 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
-// import java.util.List; // İsteğe bağlı: Sepet ürünleri
+import java.util.List;
 
 /**
  * Frontend'den Stripe Payment Intent oluşturma isteği için gelen verileri taşıyan DTO.
@@ -31,8 +32,12 @@ public class CreatePaymentIntentRequestDto {
     @NotEmpty(message = "Para birimi boş olamaz")
     private String currency = "try"; // Varsayılan olarak TRY
 
-    // İsteğe bağlı: Ödeme açıklaması veya sipariş özeti için ürün ID'leri eklenebilir
-    // private List<Long> itemIds;
+    /**
+     * Sepet kalemleri (opsiyonel). Gönderilirse ödeme süresince bu ürünlerin stoğu kullanıcı adına tutulur.
+     */
+    @Valid
+    private List<OrderItemDto> items;
+
     // private String description;
 
 }
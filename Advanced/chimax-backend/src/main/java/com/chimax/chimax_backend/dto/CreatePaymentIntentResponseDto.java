@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * Backend'den frontend'e Stripe Payment Intent'in clientSecret'ını döndürmek için kullanılan DTO.
  */
@@ -17,4 +19,8 @@ public class CreatePaymentIntentResponseDto {
      */
     private String clientSecret;
 
+    private String reservationId; // Sepet gönderildiyse alınan stok tutmasının kimliği, aksi halde null
+    private LocalDateTime reservationExpiresAt; // Tutmanın bitiş zamanı; bu ana kadar sipariş verilmelidir
+    private String paymentIntentId; // Stripe Payment Intent kimliği; idempotent tekrarda clientSecret bununla yeniden alınır
+
 }
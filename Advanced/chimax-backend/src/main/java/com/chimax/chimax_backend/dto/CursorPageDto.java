@@ -0,0 +1,22 @@
+package com.chimax.chimax_backend.dto; // Paket adını kontrol et
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * İmleç (cursor/keyset) tabanlı sayfalanmış liste yanıtlarını taşıyan DTO.
+ * nextCursor istemci için opak bir değerdir; bir sonraki sayfa için aynen geri gönderilmelidir.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;      // Bu sayfadaki kayıtlar
+    private String nextCursor;  // Sonraki sayfanın imleci (son sayfada null)
+    private boolean hasNext;    // Başka sayfa olup olmadığı
+    private int size;           // Uygulanan sayfa boyutu
+}
@@ -0,0 +1,19 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Bir filtre (facet) değeri ve mevcut diğer filtrelerle birlikte seçilirse kaç ürün döneceği.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValueCountDto {
+
+    private String value;     // Filtrede gönderilecek değer (satıcı için satıcı ID'si)
+    private String label;     // Arayüzde gösterilecek ad
+    private long count;       // Bu değer seçilirse eşleşecek ürün sayısı
+    private boolean selected; // Bu değer istekte seçili mi
+}
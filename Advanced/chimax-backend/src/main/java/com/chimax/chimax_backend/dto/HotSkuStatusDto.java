@@ -0,0 +1,19 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * "Sıcak ürün" modundaki bir ürünün bellek içi stok sayacının durumu (admin).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotSkuStatusDto {
+
+    private Long productId; // Ürün ID'si
+    private int shardCount; // Stoğun bölündüğü parça sayısı
+    private int availableStock; // Parçalardaki güncel toplam stok
+    private int persistedStock; // Veritabanına son yazılan stok (en fazla bir uzlaştırma aralığı geride)
+}
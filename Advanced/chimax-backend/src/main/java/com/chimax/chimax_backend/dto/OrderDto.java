@@ -1,5 +1,7 @@
 package com.chimax.chimax_backend.dto; // Paket adını kontrol et
 
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -12,6 +14,7 @@ import java.util.List;
  * Frontend'e sipariş bilgilerini döndürmek için kullanılan DTO.
  * Hassas bilgiler (örn: User entity'nin tamamı) yerine sadece gerekli alanları içerir.
  */
+@JsonFilter(FieldSelection.FILTER_ID) // "fields=" parametresiyle seçilen alanlar yazılır
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
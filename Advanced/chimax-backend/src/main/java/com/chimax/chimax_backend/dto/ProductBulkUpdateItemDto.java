@@ -0,0 +1,32 @@
+package com.chimax.chimax_backend.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Toplu güncellemede tek bir ürüne uygulanacak değişiklik. Gönderilmeyen (null) alanlar değiştirilmez.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateItemDto {
+
+    @NotNull(message = "Ürün ID'si boş olamaz")
+    private Long productId; // Güncellenecek ürün
+
+    @DecimalMin(value = "0.01", inclusive = true, message = "Fiyat 0'dan büyük olmalıdır")
+    @Digits(integer = 8, fraction = 2, message = "Fiyat formatı geçersiz (örn: 12345678.99)")
+    private BigDecimal price; // Yeni fiyat (opsiyonel)
+
+    @Min(value = 0, message = "Stok miktarı negatif olamaz")
+    private Integer stockQuantity; // Yeni stok miktarı (opsiyonel)
+
+    private Boolean active; // Yeni aktiflik durumu (opsiyonel)
+}
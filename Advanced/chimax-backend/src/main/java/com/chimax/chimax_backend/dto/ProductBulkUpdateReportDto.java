@@ -0,0 +1,19 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu fiyat/stok/aktiflik güncellemesinin ürün bazlı raporu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateReportDto {
+    private int requestedCount; // İstekteki kalem sayısı
+    private int updatedCount; // Güncellenen ürün sayısı
+    private List<ProductBulkUpdateResultDto> results; // İstekteki sırayla her kalemin sonucu
+}
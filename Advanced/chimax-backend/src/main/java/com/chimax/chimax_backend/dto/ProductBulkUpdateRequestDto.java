@@ -0,0 +1,26 @@
+package com.chimax.chimax_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu fiyat/stok/aktiflik güncelleme isteği.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateRequestDto {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty(message = "En az bir ürün güncellemesi gönderilmelidir")
+    @Size(max = MAX_ITEMS, message = "Tek istekte en fazla " + MAX_ITEMS + " ürün güncellenebilir")
+    @Valid
+    private List<ProductBulkUpdateItemDto> items; // Uygulanacak değişiklikler
+}
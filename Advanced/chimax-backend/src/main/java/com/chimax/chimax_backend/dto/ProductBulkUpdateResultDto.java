@@ -0,0 +1,22 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Toplu güncellemede tek bir ürünün sonucu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateResultDto {
+
+    public static final String STATUS_UPDATED = "UPDATED";
+    public static final String STATUS_NOT_FOUND = "NOT_FOUND"; // Ürün yok veya çağıranın değil
+    public static final String STATUS_SKIPPED = "SKIPPED"; // Değiştirilecek alan yok veya ID istekte tekrarlanmış
+
+    private Long productId; // İstekteki ürün ID'si
+    private String status; // UPDATED, NOT_FOUND veya SKIPPED
+    private String message; // Başarısız/atlanan satırlar için açıklama
+}
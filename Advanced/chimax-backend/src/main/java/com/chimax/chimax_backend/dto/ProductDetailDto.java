@@ -0,0 +1,18 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ürün detay sayfası için tek istekte dönen birleşik yanıt: ürün (satıcı bilgisiyle), puan özeti
+ * ve yorumların ilk sayfası. Sonraki yorum sayfaları GET /api/products/{id}/reviews/page ile alınır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDetailDto {
+    private ProductResponseDto product; // Ürün ve satıcı bilgisi
+    private RatingSummaryDto ratingSummary; // Ortalama puan ve yıldız dağılımı
+    private CursorPageDto<ReviewDto> reviews; // En yeni yorumların ilk sayfası
+}
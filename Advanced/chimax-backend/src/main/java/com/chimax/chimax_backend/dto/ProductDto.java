@@ -20,7 +20,7 @@ public class ProductDto {
     // Bu DTO hem oluşturma hem güncelleme için kullanılacaksa ID opsiyonel olabilir.
     // private Long id; // Eğer Product entity'nizde id varsa ve DTO'da da gerekiyorsa eklenebilir.
 
-    @NotEmpty(message = "Ürün adı boş olamaz")
+    @NotBlank(message = "Ürün adı boş olamaz") // Yalnızca boşluktan oluşan adlar da reddedilir
     @Size(max = 200, message = "Ürün adı en fazla 200 karakter olabilir")
     private String name;
 
@@ -0,0 +1,23 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtrelenmiş ürün listesi ile birlikte tüm filtrelerin (kategori, tip, fiyat aralığı, satıcı) değer sayımlarını taşıyan DTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetResultDto {
+
+    private long totalHits;                              // Filtrelere uyan toplam ürün sayısı
+    private int page;                                    // Sayfa numarası (0'dan başlar)
+    private int size;                                    // Uygulanan sayfa boyutu
+    private List<ProductSummaryDto> items;              // Bu sayfadaki ürünler (ID sırasıyla)
+    private Map<String, List<FacetValueCountDto>> facets; // Facet adı ("category", "type", "price", "seller") → değer sayımları
+}
@@ -0,0 +1,21 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu ürün içe aktarımının satır bazlı raporu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReportDto {
+    private int totalRows; // Okunan veri satırı sayısı
+    private int createdCount; // Oluşturulan ürün sayısı
+    private int failedCount; // Hatalı satır sayısı
+    private boolean truncated; // Dosya satır sınırını aştıysa true; sınırdan sonraki satırlar okunmadı
+    private List<ProductImportRowResultDto> rows; // Her satırın sonucu, dosyadaki sırayla
+}
@@ -0,0 +1,25 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Toplu içe aktarımda tek bir satırın sonucu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRowResultDto {
+
+    public static final String STATUS_CREATED = "CREATED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private int rowNumber; // Dosyadaki veri satırı numarası (1'den başlar, CSV başlık satırı sayılmaz)
+    private String status; // CREATED veya FAILED
+    private Long productId; // Oluşturulan ürünün ID'si (başarısızsa null)
+    private List<String> errors = new ArrayList<>(); // Doğrulama veya veritabanı hataları
+}
@@ -1,10 +1,15 @@
 package com.chimax.chimax_backend.dto; // Paket adınızı kendi projenize göre güncelleyin
 
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 // SellerInfoResponseDto'nun aynı pakette olduğunu veya doğru şekilde import edildiğini varsayıyoruz.
 // Eğer farklı bir paketteyse: import com.chimax.chimax_backend.dto.SellerInfoResponseDto;
 
+@JsonFilter(FieldSelection.FILTER_ID) // "fields=" parametresiyle seçilen alanlar yazılır
 public class ProductResponseDto {
     private Long id;
     private String name;
@@ -16,6 +21,9 @@ public class ProductResponseDto {
     private Boolean active; 
     private int stockQuantity; // EKLENDİ: Stok miktarı
     private SellerInfoResponseDto seller;
+    private double averageRating; // Ortalama yorum puanı (yorum yoksa 0)
+    private int reviewCount; // Yorum sayısı
+    private LocalDateTime createdAt; // Ürünün eklendiği tarih
 
     // Constructors
     public ProductResponseDto() {
@@ -115,4 +123,28 @@ public class ProductResponseDto {
     public void setSeller(SellerInfoResponseDto seller) {
         this.seller = seller;
     }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
 }
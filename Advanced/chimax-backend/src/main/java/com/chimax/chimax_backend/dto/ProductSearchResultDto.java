@@ -0,0 +1,22 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ürün arama sonuçlarını taşıyan DTO. Sonuçlar alaka puanına göre sıralıdır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResultDto {
+
+    private String query;                   // Aranan metin
+    private long totalHits;                 // Sorguyla eşleşen toplam ürün sayısı
+    private int page;                       // Sayfa numarası (0'dan başlar)
+    private int size;                       // Uygulanan sayfa boyutu
+    private List<ProductSummaryDto> items; // Bu sayfadaki ürünler
+}
@@ -0,0 +1,65 @@
+package com.chimax.chimax_backend.dto;
+
+import com.chimax.chimax_backend.service.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Liste görünümleri (katalog, sayfalama, arama, filtre, satıcı/admin listeleri) için hafif ürün DTO'su.
+ * Uzun açıklama (TEXT) alanını içermez; tam detay GET /api/products/{id} ile alınır.
+ * ProductRepository'deki JPQL constructor projeksiyonları bu sınıfı doğrudan oluşturur,
+ * böylece entity yüklenmez ve satıcı için ek SELECT atılmaz.
+ */
+@JsonFilter(FieldSelection.FILTER_ID) // "fields=" parametresiyle seçilen alanlar yazılır
+@Data
+@NoArgsConstructor
+public class ProductSummaryDto {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private String imageUrl;
+    private String category; // Kategori adı
+    private String type;
+    private Boolean active;
+    private int stockQuantity;
+    private SellerInfoResponseDto seller;
+    private double averageRating; // Ortalama yorum puanı (yorum yoksa 0)
+    private int reviewCount;
+    private LocalDateTime createdAt;
+
+    /**
+     * JPQL "SELECT new ..." projeksiyonu için düz alanlı constructor. Satıcı yoksa seller null kalır.
+     */
+    public ProductSummaryDto(Long id, String name, BigDecimal price, String imageUrl, String category, String type,
+                             Boolean active, int stockQuantity, Long sellerId, String sellerFirstName, String sellerLastName,
+                             double averageRating, int reviewCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.imageUrl = imageUrl;
+        this.category = category;
+        this.type = type;
+        this.active = active;
+        this.stockQuantity = stockQuantity;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.createdAt = createdAt;
+        if (sellerId != null) {
+            this.seller = new SellerInfoResponseDto(sellerId, sellerFirstName, sellerLastName);
+        }
+    }
+
+    /**
+     * Kategori ve satıcı JOIN'i olmadan okunan hafif projeksiyon için constructor ("fields=" ile bu alanlar
+     * istenmediğinde). category ve seller null kalır.
+     */
+    public ProductSummaryDto(Long id, String name, BigDecimal price, String imageUrl, String type, Boolean active,
+                             int stockQuantity, double averageRating, int reviewCount, LocalDateTime createdAt) {
+        this(id, name, price, imageUrl, null, type, active, stockQuantity, null, null, null, averageRating, reviewCount, createdAt);
+    }
+}
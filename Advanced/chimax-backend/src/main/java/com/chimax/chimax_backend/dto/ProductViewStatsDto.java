@@ -0,0 +1,18 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bir ürünün görüntülenme sayısı (admin ve satıcı panelleri için).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewStatsDto {
+    private Long productId; // Ürün ID'si
+    private String name; // Ürün adı
+    private boolean active; // Ürün satışta mı
+    private long viewCount; // Toplam görüntülenme (henüz veritabanına yazılmamış sayılar dahil)
+}
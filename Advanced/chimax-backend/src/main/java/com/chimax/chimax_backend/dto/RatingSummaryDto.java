@@ -0,0 +1,19 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Bir ürünün yorum puanı özeti: ortalama, toplam yorum sayısı ve 1-5 yıldız dağılımı.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryDto {
+    private double averageRating; // Ortalama puan (yorum yoksa 0)
+    private long reviewCount; // Toplam yorum sayısı
+    private Map<Integer, Long> histogram; // Puan (1-5) → yorum sayısı; her puan için bir kayıt bulunur
+}
@@ -0,0 +1,19 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ödeme başlatılırken sepet için alınan stok tutmasının özeti.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDto {
+
+    private String reservationId; // Tutmanın kimliği
+    private LocalDateTime expiresAt; // Bu ana kadar sipariş verilmezse ürünler tekrar satışa açılır
+}
@@ -0,0 +1,17 @@
+package com.chimax.chimax_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Arama kutusu için tek bir otomatik tamamlama önerisi.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+
+    private String text; // Gösterilecek metin (örn. "Bluetooth Kulaklık")
+    private String kind; // Önerinin türü: "product", "type" veya "category"
+}
@@ -0,0 +1,38 @@
+package com.chimax.chimax_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sıcak moddaki (hot SKU) bir ürün için sipariş transaction'ında yazılan stok düşümü. Sayaç bellekte olduğu için
+ * düşümün kalıcı kaydı budur: satır siparişle birlikte commit edilir veya geri alınır. HotSkuInventory'nin
+ * uzlaştırıcısı satırları products.stock_quantity'ye katlayıp siler; yeniden başlatmada katlanmamış satırlar
+ * sayaçlar kurulmadan önce uygulanır. Yalnızca JDBC ile yazılır ve okunur; entity tablo tanımı içindir.
+ */
+@Entity
+@Table(name = "hot_stock_ledger",
+       indexes = {
+           @Index(name = "idx_hot_stock_ledger_product", columnList = "product_id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId; // Stoğu düşülen sıcak ürün
+
+    @Column(nullable = false)
+    private int quantity; // Düşülen adet
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt; // Sipariş transaction'ının yazdığı an
+}
@@ -0,0 +1,40 @@
+package com.chimax.chimax_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key başlığıyla gelen bir yazma isteğinin kaydedilmiş yanıtı.
+ * Anahtar, kapsam (örn. "orders") + kullanıcı + istemci anahtarının SHA-256 özetidir; istemcinin gönderdiği
+ * ham anahtar saklanmaz ve farklı kullanıcıların aynı anahtarı birbirini etkilemez.
+ * Süresi dolan kayıtlar IdempotencyService süpürücüsü tarafından silinir.
+ */
+@Entity
+@Table(name = "idempotency_records",
+       indexes = @Index(name = "idx_idempotency_records_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash; // Kapsam + kullanıcı + Idempotency-Key özeti (hex)
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash; // İstek gövdesinin özeti; aynı anahtarla farklı istek gönderilmesini yakalar
+
+    @Column(name = "status_code", nullable = false)
+    private int statusCode; // Orijinal yanıtın HTTP durum kodu
+
+    @Lob
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody; // Orijinal yanıt gövdesi (JSON)
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // Bu andan sonra anahtar yeniden kullanılabilir
+}
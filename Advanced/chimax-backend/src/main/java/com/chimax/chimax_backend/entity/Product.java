@@ -4,19 +4,39 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal; // Parasal değerler için double/float yerine BigDecimal önerilir
+import java.time.LocalDateTime;
 
 /**
  * Satışa sunulan ürünleri temsil eden veritabanı varlığı (entity).
  */
 @Entity
-@Table(name = "products")
+// Liste döndüren sorgularda kategori, satıcı ve satıcının rolleri tek SELECT'te yüklenir (N+1 yerine).
+// ProductRepository'de @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER) ile kullanılır.
+@NamedEntityGraph(name = Product.GRAPH_WITH_CATEGORY_AND_SELLER,
+                  attributeNodes = {
+                      @NamedAttributeNode("category"),
+                      @NamedAttributeNode(value = "seller", subgraph = "seller")
+                  },
+                  subgraphs = @NamedSubgraph(name = "seller", attributeNodes = @NamedAttributeNode("roles")))
+@Table(name = "products",
+       indexes = {
+           // Aktif ürünlerin ID sırasına göre keyset (imleç) sayfalaması için: WHERE active = true AND id > ? ORDER BY id
+           @Index(name = "idx_products_active_id", columnList = "active, id")
+       })
+// UPDATE yalnızca değişen sütunları yazar; ürün düzenlemesi, arada JDBC ile düşülen stoğu eski değerle ezmez.
+@DynamicUpdate
 @Data // Getter, Setter, toString, equals, hashCode ve gerekli constructor'ları oluşturur
 @NoArgsConstructor // Argümansız constructor
 @AllArgsConstructor // Tüm alanları içeren constructor
 public class Product {
 
+    public static final String GRAPH_WITH_CATEGORY_AND_SELLER = "Product.withCategoryAndSeller";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -76,6 +96,40 @@ public class Product {
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT true")
     private boolean active = true;
 
+    /**
+     * Ürün yorumlarının ortalama puanı (1-5). Yorum yokken 0.
+     * Her yorumda ReviewServiceImpl tarafından yeniden hesaplanır; "en yüksek puanlı" sıralaması bunu kullanır.
+     */
+    @Column(nullable = false, columnDefinition = "DOUBLE DEFAULT 0")
+    private double averageRating = 0;
+
+    /**
+     * Ürüne yapılmış yorum sayısı. Ortalama puanı eşit ürünlerde daha çok yorumlu olan önce gelir.
+     */
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int reviewCount = 0;
+
+    /**
+     * Ürün detay sayfasının görüntülenme sayısı. Sayılar bellekte biriktirilip ProductViewService tarafından
+     * periyodik olarak JDBC ile eklenir; entity kaydedilirken eski değerle ezilmemesi için JPA bu sütuna yazmaz.
+     */
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long viewCount = 0;
+
+    /**
+     * Ürünün oluşturulduğu tarih ve saat ("en yeni" sıralaması için).
+     * Bu sütundan önce eklenmiş eski kayıtlarda null olabilir; bu ürünler en eski kabul edilir.
+     */
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Ürünün son güncellendiği tarih ve saat. JDBC ile yapılan toplu yazmalar bu alanı kendisi ayarlar.
+     */
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     /**
      * Bu ürünü ekleyen/sahip olan satıcı (User).
      * Birçok ürün bir satıcıya ait olabilir (@ManyToOne ilişki).
@@ -0,0 +1,48 @@
+package com.chimax.chimax_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ödeme aşamasındaki bir kullanıcı için süreli stok tutma kaydı (bir ürün satırı).
+ * Aynı ödeme başlatmasına ait satırlar reservationId ile gruplanır. Kullanılabilir stok hesabı bellekteki
+ * StockReservationLedger üzerinden yapılır; sipariş stoğu düşülürken ise tutmalar bu tablodan, koşullu UPDATE
+ * içinde uygulanır (bkz. OrderServiceImpl.reserveStock). Yeniden başlatmada defter de bu tablodan yüklenir.
+ * İlişkiler yerine ID'ler tutulur; kayıtlar hiçbir zaman ürün/kullanıcı entity'leriyle birlikte okunmaz.
+ */
+@Entity
+@Table(name = "stock_reservations",
+       indexes = {
+           @Index(name = "idx_stock_reservations_user", columnList = "user_id"),
+           @Index(name = "idx_stock_reservations_expires", columnList = "expires_at"),
+           // Stok düşümündeki ürün başına tutma toplamı (product_id = ? AND expires_at > ?) için
+           @Index(name = "idx_stock_reservations_product", columnList = "product_id, expires_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reservation_id", nullable = false, length = 36)
+    private String reservationId; // Ödeme başlatmasında istemciye dönen kimlik (UUID)
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // Tutmanın sahibi
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId; // Tutulan ürün
+
+    @Column(nullable = false)
+    private int quantity; // Tutulan adet
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // Bu andan sonra süpürücü tutmayı bırakır
+}
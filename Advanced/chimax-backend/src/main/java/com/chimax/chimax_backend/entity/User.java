@@ -4,6 +4,7 @@ import jakarta.persistence.*; // JPA (Java Persistence API) anotasyonları
 import lombok.Data; // Lombok: Getter, Setter, ToString, EqualsAndHashCode
 import lombok.NoArgsConstructor; // Lombok: Parametresiz constructor
 import lombok.AllArgsConstructor; // Lombok: Tüm alanları içeren constructor
+import org.hibernate.annotations.BatchSize; // LAZY proxy'lerin ve koleksiyonların toplu yüklenmesi için
 
 import java.util.HashSet;
 import java.util.Set;
@@ -20,6 +21,7 @@ import java.util.Set;
 @Data // Lombok: Otomatik olarak getter, setter, toString, equals, hashCode vb. oluşturur.
 @NoArgsConstructor // Lombok: JPA için gerekli olan boş constructor'ı oluşturur.
 @AllArgsConstructor // Lombok: Tüm alanları içeren constructor'ı oluşturur.
+@BatchSize(size = 50) // Örn. ürün listesinde satıcı proxy'leri tek tek değil, 50'lik IN (...) sorgularıyla yüklenir.
 public class User {
 
     /**
@@ -67,7 +69,9 @@ public class User {
      * eğer User'a yeni bir Role eklenmişse ve bu Role veritabanında yoksa,
      * Role de kaydedilir/güncellenir. (Dikkatli kullanılmalıdır, genellikle roller önceden tanımlanır)
      * @JoinTable: ManyToMany ilişkisini yöneten ara tabloyu (user_roles) tanımlar.
+     * @BatchSize: Birden fazla kullanıcı yüklendiğinde roller kullanıcı başına ayrı sorgu yerine toplu çekilir.
      */
+    @BatchSize(size = 50)
     @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(name = "user_roles", // Ara tablonun adı
                joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"), // Bu entity'nin (User) ara tablodaki FK sütunu
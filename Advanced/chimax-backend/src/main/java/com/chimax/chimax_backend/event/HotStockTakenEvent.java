@@ -0,0 +1,36 @@
+package com.chimax.chimax_backend.event;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bir sipariş transaction'ı içinde "sıcak ürün" (hot SKU) bellek içi sayaçlarından stok düşüldüğünde yayınlanır.
+ * Sayaçlar transaction'a bağlı olmadığı için, transaction geri alınırsa düşülen birimler bu olay üzerinden
+ * sayaçlara iade edilir; commit'te ise düşümün tamamlandığı (defter satırlarının kalıcı olduğu) bildirilir.
+ */
+public class HotStockTakenEvent {
+
+    private final Map<Long, Integer> quantities;
+    private final int shardHint;
+
+    public HotStockTakenEvent(Map<Long, Integer> quantities, int shardHint) {
+        this.quantities = Collections.unmodifiableMap(new LinkedHashMap<>(quantities));
+        this.shardHint = shardHint;
+    }
+
+    /** Ürün ID → düşülen adet. */
+    public Map<Long, Integer> getQuantities() {
+        return quantities;
+    }
+
+    /** Düşümde kullanılan parça ipucu; iade aynı parçaya yapılır. */
+    public int getShardHint() {
+        return shardHint;
+    }
+
+    @Override
+    public String toString() {
+        return "HotStockTakenEvent{quantities=" + quantities + ", shardHint=" + shardHint + "}";
+    }
+}
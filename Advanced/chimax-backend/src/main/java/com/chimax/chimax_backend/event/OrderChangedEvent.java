@@ -0,0 +1,50 @@
+package com.chimax.chimax_backend.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Bir sipariş oluşturulduğunda veya iptal edildiğinde yayınlanan uygulama olayı.
+ * Sipariş geçmişinden beslenen bellek içi yapılar (örn. birlikte satın alınan ürünler) bu olayı
+ * transaction commit edildikten sonra dinleyerek artımlı olarak güncellenir.
+ */
+public class OrderChangedEvent {
+
+    /**
+     * Değişikliğin türü.
+     */
+    public enum ChangeType {
+        PLACED,    // Yeni sipariş oluşturuldu
+        CANCELLED  // Sipariş iptal edildi
+    }
+
+    private final Long orderId;
+    private final Set<Long> productIds;
+    private final ChangeType changeType;
+
+    public OrderChangedEvent(Long orderId, Collection<Long> productIds, ChangeType changeType) {
+        this.orderId = orderId;
+        this.productIds = Collections.unmodifiableSet(new LinkedHashSet<>(productIds));
+        this.changeType = changeType;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    /** Siparişteki farklı ürünlerin ID'leri (aynı ürün birden fazla kalemde olsa da bir kez). */
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderChangedEvent{orderId=" + orderId + ", productIds=" + productIds + ", changeType=" + changeType + "}";
+    }
+}
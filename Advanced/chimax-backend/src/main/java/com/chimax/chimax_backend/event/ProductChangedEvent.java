@@ -0,0 +1,49 @@
+package com.chimax.chimax_backend.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Bir veya daha fazla üründe kalıcı bir değişiklik olduğunda yayınlanan uygulama olayı.
+ * Önbellekler ve bellek içi indeksler bu olayı transaction commit edildikten sonra dinleyerek
+ * yalnızca etkilenen ürünleri günceller.
+ */
+public class ProductChangedEvent {
+
+    /**
+     * Değişikliğin türü. Dinleyiciler gerekirse buna göre farklı davranabilir.
+     */
+    public enum ChangeType {
+        CREATED,       // Yeni ürün eklendi
+        UPDATED,       // Ürün bilgileri güncellendi
+        DEACTIVATED,   // Ürün pasif yapıldı (soft delete)
+        STOCK_CHANGED  // Sadece stok miktarı değişti (sipariş / iptal)
+    }
+
+    private final Set<Long> productIds;
+    private final ChangeType changeType;
+
+    public ProductChangedEvent(Collection<Long> productIds, ChangeType changeType) {
+        this.productIds = Collections.unmodifiableSet(new LinkedHashSet<>(productIds));
+        this.changeType = changeType;
+    }
+
+    public static ProductChangedEvent of(Long productId, ChangeType changeType) {
+        return new ProductChangedEvent(Collections.singleton(productId), changeType);
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangedEvent{productIds=" + productIds + ", changeType=" + changeType + "}";
+    }
+}
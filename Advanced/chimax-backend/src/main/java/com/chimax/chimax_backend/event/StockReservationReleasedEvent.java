@@ -0,0 +1,29 @@
+package com.chimax.chimax_backend.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Stok tutmaları veritabanından silindiğinde (sipariş verildi veya yeni ödeme başlatması eskisinin yerine geçti)
+ * yayınlanan olay. Bellekteki defter tutmaları commit'ten SONRA bırakır; böylece stok düşümü commit edilene kadar
+ * tutma da sayılmaya devam eder ve kullanılabilir stok hiçbir an olduğundan fazla görünmez.
+ */
+public class StockReservationReleasedEvent {
+
+    private final Set<String> reservationIds;
+
+    public StockReservationReleasedEvent(Collection<String> reservationIds) {
+        this.reservationIds = Collections.unmodifiableSet(new LinkedHashSet<>(reservationIds));
+    }
+
+    public Set<String> getReservationIds() {
+        return reservationIds;
+    }
+
+    @Override
+    public String toString() {
+        return "StockReservationReleasedEvent{reservationIds=" + reservationIds + "}";
+    }
+}
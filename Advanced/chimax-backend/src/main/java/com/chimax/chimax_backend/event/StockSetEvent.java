@@ -0,0 +1,29 @@
+package com.chimax.chimax_backend.event;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bir transaction içinde ürün stoğu mutlak bir değere yazıldığında (admin/satıcı ürün düzenlemesi, toplu
+ * güncelleme) yayınlanır. Sıcak moddaki ürünlerde bellek içi sayaç bu değere commit'ten sonra ayarlanır;
+ * böylece uzlaştırıcı mutlak yazımı dış bir fark olarak sayaca eklemez.
+ */
+public class StockSetEvent {
+
+    private final Map<Long, Integer> quantities;
+
+    public StockSetEvent(Map<Long, Integer> quantities) {
+        this.quantities = Collections.unmodifiableMap(new LinkedHashMap<>(quantities));
+    }
+
+    /** Ürün ID → yazılan stok. */
+    public Map<Long, Integer> getQuantities() {
+        return quantities;
+    }
+
+    @Override
+    public String toString() {
+        return "StockSetEvent{quantities=" + quantities + "}";
+    }
+}
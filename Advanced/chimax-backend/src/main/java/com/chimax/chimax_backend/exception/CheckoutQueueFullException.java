@@ -0,0 +1,12 @@
+package com.chimax.chimax_backend.exception;
+
+/**
+ * Asenkron sipariş kuyruğu dolu olduğu için yeni bir sipariş isteği kabul edilemediğinde fırlatılır.
+ * İstemci kısa bir süre sonra tekrar denemelidir (HTTP 503).
+ */
+public class CheckoutQueueFullException extends RuntimeException {
+
+    public CheckoutQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.chimax.chimax_backend.exception;
+
+import java.util.List;
+
+/**
+ * Sipariş sepeti doğrulanamadığında fırlatılır. İlk hatada durmak yerine sepetteki tüm hatalı kalemler
+ * (bulunamayan, aktif olmayan, stoğu yetersiz ürünler) tek seferde raporlanır.
+ */
+public class OrderValidationException extends RuntimeException {
+
+    private final List<String> errors;
+
+    /**
+     * @param errors Kalem bazlı hata mesajları (en az bir tane).
+     */
+    public OrderValidationException(List<String> errors) {
+        super(String.join(" ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
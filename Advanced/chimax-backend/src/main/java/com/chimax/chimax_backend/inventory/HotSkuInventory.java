@@ -0,0 +1,439 @@
+package com.chimax.chimax_backend.inventory;
+
+import com.chimax.chimax_backend.dto.HotSkuStatusDto;
+import com.chimax.chimax_backend.event.HotStockTakenEvent;
+import com.chimax.chimax_backend.event.StockSetEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Kampanya dönemlerinde dakikada binlerce sipariş alan ürünler için "sıcak ürün" (hot SKU) stok modu.
+ * İşaretlenen bir ürünün stoğu bellekte N parçalı bir sayaca (ShardedStock) alınır; siparişler products
+ * satırını kilitlemek yerine bu sayaçtan düşer ve düşümü sipariş transaction'ı içinde hot_stock_ledger'a
+ * bir satır olarak ekler (recordTaken). Satır ekleme ortak bir satırı kilitlemez; düşüm siparişle birlikte
+ * kalıcı olur, sunucu çökse bile kaybolmaz. Periyodik uzlaştırıcı defter satırlarını products.stock_quantity'ye
+ * katlayıp siler (katlama ve silme tek transaction'dır). Gerçek stok her an stock_quantity eksi katlanmamış
+ * defter satırlarıdır; açılışta sayaçlar kurulmadan önce defter katlanır.
+ *
+ * Veritabanında uygulama dışından (veya sipariş iptalinde) yapılan değişiklikler, katlamalardan sonra beklenen
+ * değerle karşılaştırılarak fark olarak sayaca eklenir. Mod kapatılırken sayaç kapatılır, düşümü süren
+ * siparişlerin bitmesi beklenir ve defter katlanır; sonraki siparişler doğrudan stock_quantity'den düşer.
+ * Ürün düzenlemesi veya toplu güncellemeyle yazılan mutlak stok ise fark değildir: StockSetEvent ile bildirilir,
+ * commit sürerken uzlaştırıcı o ürünü atlar ve commit'ten sonra sayaç veritabanındaki değere ayarlanır.
+ *
+ * Uzlaştırma yalnızca stok sayısını değiştirdiği için ProductChangedEvent yayınlamaz; katalogdaki sıcak ürün
+ * stoğu önbellek süresi kadar geride kalabilir, sipariş doğrulaması ise her zaman sayacı kullanır.
+ * Tek uygulama örneği varsayılır (diğer bellek içi katalog yapıları gibi).
+ */
+@Component
+public class HotSkuInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotSkuInventory.class);
+
+    private static final String SELECT_STOCK_SQL = "SELECT stock_quantity FROM products WHERE id = ?";
+    private static final String INSERT_LEDGER_SQL =
+            "INSERT INTO hot_stock_ledger (product_id, quantity, created_at) VALUES (?, ?, ?)";
+    private static final String SELECT_LEDGER_SQL = "SELECT id, product_id, quantity FROM hot_stock_ledger ORDER BY id LIMIT ?";
+    private static final String FOLD_STOCK_SQL =
+            "UPDATE products SET stock_quantity = GREATEST(0, stock_quantity - ?), updated_at = ? WHERE id = ?";
+    private static final String DELETE_LEDGER_SQL = "DELETE FROM hot_stock_ledger WHERE id = ?";
+    private static final int FOLD_BATCH_SIZE = 1000;
+    private static final long DRAIN_TIMEOUT_MS = 5000;
+
+    private final Map<Long, ShardedStock> stocks = new ConcurrentHashMap<>();
+    /** Sayaçtan düşülmüş ama transaction'ı henüz bitmemiş adetler (ürün başına); kapatma ve ayarlama bunu hesaba katar. */
+    private final Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    /** Commit aşamasındaki mutlak stok yazımları; içerdikleri ürünler uzlaştırmada atlanır. */
+    private final Set<StockSetEvent> pendingStockSets = ConcurrentHashMap.newKeySet();
+    /** Açma, kapatma ve uzlaştırmayı birbirine karşı sıralar. Sipariş yolunda alınmaz. */
+    private final Object reconcileLock = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    /** Katlama her zaman kendi transaction'ındadır (commit sonrası dinleyicilerden de çağrılır). */
+    private final TransactionTemplate foldTransaction;
+    private final int shardCount;
+    private final String initialProductIds;
+
+    public HotSkuInventory(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.inventory.hot-sku.shards:8}") int shardCount,
+                           @Value("${app.inventory.hot-sku.product-ids:}") String initialProductIds) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("app.inventory.hot-sku.shards pozitif olmalıdır.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.foldTransaction = new TransactionTemplate(transactionManager);
+        this.foldTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardCount = shardCount;
+        this.initialProductIds = initialProductIds;
+    }
+
+    /**
+     * Açılışta önceki çalışmadan kalan (katlanmamış) defter satırlarını stoğa uygular ve yapılandırmada
+     * listelenen ürünleri sıcak moda alır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void enableConfiguredProducts() {
+        synchronized (reconcileLock) {
+            Map<Long, Integer> folded = foldLedger();
+            if (!folded.isEmpty()) {
+                logger.info("Açılışta katlanmamış sıcak ürün stok düşümleri uygulandı: {}", folded);
+            }
+        }
+        for (String id : initialProductIds.split(",")) {
+            if (!id.isBlank()) {
+                try {
+                    enable(Long.parseLong(id.trim()));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Sıcak ürün modu açılamadı ({}): {}", id.trim(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ürünü sıcak moda alır; defter katlandıktan sonra veritabanındaki güncel stok parçalara bölünür.
+     * Zaten açıksa bir şey yapmaz.
+     * @throws IllegalArgumentException Ürün bulunamazsa.
+     */
+    public HotSkuStatusDto enable(Long productId) {
+        synchronized (reconcileLock) {
+            ShardedStock stock = stocks.get(productId);
+            if (stock == null) {
+                foldLedger();
+                Integer persisted = selectStock(productId);
+                if (persisted == null) {
+                    throw new IllegalArgumentException("Ürün bulunamadı: ID " + productId);
+                }
+                stock = new ShardedStock(shardCount, persisted);
+                // Önceki moddan transaction'ı süren düşümler henüz deftere yazılmadı; sayaçta verilmemeli.
+                stock.adjust(-inFlight(productId).get());
+                stocks.put(productId, stock);
+                logger.info("Sıcak ürün modu açıldı: Ürün ID {}, stok {}, parça {}", productId, persisted, shardCount);
+            }
+            return toStatus(productId, stock);
+        }
+    }
+
+    /**
+     * Sıcak modu kapatır: sayaç kapatılır, düşümü süren siparişlerin transaction'larının bitmesi beklenir ve
+     * defter katlanır. Sonraki siparişler doğrudan veritabanı stoğundan düşer.
+     * @return Mod açık değilse false.
+     */
+    public boolean disable(Long productId) {
+        synchronized (reconcileLock) {
+            ShardedStock stock = stocks.remove(productId);
+            if (stock == null) {
+                return false;
+            }
+            int remaining = stock.close();
+            if (!awaitInFlight(productId)) {
+                // Geç commit edilen satırlar sonraki uzlaştırmada katlanır; arada veritabanı stoğu bu kadar yüksek görünür.
+                logger.warn("Sıcak ürün kapatılırken {} adetlik düşüm {} ms içinde bitmedi: Ürün ID {}",
+                            inFlight(productId).get(), DRAIN_TIMEOUT_MS, productId);
+            }
+            foldLedger();
+            logger.info("Sıcak ürün modu kapatıldı: Ürün ID {}, kalan stok {}", productId, remaining);
+            return true;
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return stocks.containsKey(productId);
+    }
+
+    /**
+     * Sıcak üründe sayaçtaki güncel stoğu, değilse verilen veritabanı stoğunu döndürür.
+     */
+    public int effectiveStock(Long productId, int persistedStock) {
+        ShardedStock stock = stocks.get(productId);
+        return stock != null ? stock.available() : persistedStock;
+    }
+
+    /**
+     * Sıcak ürünlerin tamamından birlikte düşer: ya hepsi alınır ya hiçbiri (alınanlar geri verilir).
+     * Başka müşterilerin tuttuğu adetler sayaçta bırakılır; tutulan birimler başkasına satılamaz.
+     * Çağıran taraf bir transaction içinde olmalı; başarılı düşümden sonra HotStockTakenEvent yayınlamalı
+     * (geri alınmada iade, bitişte düşümün tamamlandığı bildirilir) ve düşümü recordTaken ile deftere yazmalıdır.
+     * @param quantities Ürün ID → adet (yalnızca sıcak ürünler).
+     * @param heldByOthers Ürün ID → başka müşterilerin tuttuğu adet; düşümden sonra en az bu kadar kalmalıdır.
+     * @param shardHint Parça seçimi için ipucu (bkz. shardHint(Long)).
+     * @return Stoğu yetmeyen (veya bu arada moddan çıkmış) ürünlerin ID'leri; boşsa tümü düşülmüştür.
+     */
+    public List<Long> tryTakeAll(Map<Long, Integer> quantities, Map<Long, Integer> heldByOthers, int shardHint) {
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+        List<Long> failed = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            ShardedStock stock = stocks.get(productId);
+            // Sayaç kapatılırken bu düşüm görülsün diye alımdan önce sayılır.
+            AtomicInteger pending = inFlight(productId);
+            pending.addAndGet(quantity);
+            if (stock != null && stock.tryTake(quantity, shardHint, heldByOthers.getOrDefault(productId, 0))) {
+                taken.put(productId, quantity);
+            } else {
+                pending.addAndGet(-quantity);
+                failed.add(productId);
+            }
+        });
+        if (!failed.isEmpty()) {
+            giveBack(taken, shardHint);
+            finish(taken);
+        }
+        return failed;
+    }
+
+    /**
+     * tryTakeAll ile düşülen adetleri, çağıranın transaction'ı içinde hot_stock_ledger'a yazar (tek JDBC batch).
+     * Satırlar siparişle birlikte commit edilir veya geri alınır.
+     */
+    public void recordTaken(Map<Long, Integer> quantities) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, quantities.entrySet().stream()
+                .map(entry -> new Object[] {entry.getKey(), entry.getValue(), now})
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Sipariş commit edildi: defter satırları kalıcıdır, düşüm artık sürmüyor.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCommitted(HotStockTakenEvent event) {
+        finish(event.getQuantities());
+    }
+
+    /**
+     * Sipariş transaction'ı geri alındıysa sayaçtan düşülen birimleri iade eder. Defter satırları da geri
+     * alındığı için veritabanına bir şey yazılmaz.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onOrderRolledBack(HotStockTakenEvent event) {
+        giveBack(event.getQuantities(), event.getShardHint());
+        finish(event.getQuantities());
+    }
+
+    /**
+     * Mutlak stok yazan transaction commit edilmek üzere: commit tamamlanana kadar uzlaştırıcı bu ürünleri atlar
+     * (aksi halde commit edilen değer dış bir fark sanılıp sayaca eklenirdi).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onStockSetCommitting(StockSetEvent event) {
+        pendingStockSets.add(event);
+    }
+
+    /**
+     * Mutlak stok yazımı commit edildi: defter katlanır ve sıcak moddaki ürünlerin sayaçları veritabanındaki
+     * değere (transaction'ı süren düşümler çıkarılarak) ayarlanır.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockSetCommitted(StockSetEvent event) {
+        try {
+            synchronized (reconcileLock) {
+                foldLedger();
+                event.getQuantities().keySet().forEach(productId -> {
+                    ShardedStock stock = stocks.get(productId);
+                    Integer persisted = stock != null ? selectStock(productId) : null;
+                    if (persisted != null && stock.reset(persisted - inFlight(productId).get())) {
+                        stock.setPersistedStock(persisted);
+                        logger.info("Sıcak ürün stoğu mutlak değere ayarlandı: Ürün ID {}, stok {}", productId, persisted);
+                    }
+                });
+            }
+        } finally {
+            pendingStockSets.remove(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onStockSetRolledBack(StockSetEvent event) {
+        pendingStockSets.remove(event);
+    }
+
+    /**
+     * Defter satırlarını products.stock_quantity'ye katlar ve veritabanındaki dış değişiklikleri sayaçlara ekler.
+     * Diğer periyodik işlerden etkilenmemesi için kendi zamanlayıcısında çalışır (bkz. SchedulingConfig).
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.hot-sku.reconcile-interval-ms:1000}", scheduler = "hotSkuReconcileScheduler")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            try {
+                foldLedger();
+            } catch (RuntimeException e) {
+                // Satırlar silinmedi; sonraki turda yeniden katlanır.
+                logger.error("Sıcak ürün stok defteri katlanamadı", e);
+            }
+            stocks.forEach((productId, stock) -> {
+                if (isStockSetPending(productId)) {
+                    return; // Commit sonrası sayaç doğrudan ayarlanacak
+                }
+                try {
+                    applyExternalChanges(productId, stock);
+                } catch (RuntimeException e) {
+                    logger.error("Sıcak ürün stoğu uzlaştırılamadı: Ürün ID {}", productId, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Sıcak moddaki ürünlerin sayaç durumları (admin).
+     */
+    public List<HotSkuStatusDto> getStatuses() {
+        List<HotSkuStatusDto> statuses = new ArrayList<>(stocks.size());
+        synchronized (reconcileLock) {
+            stocks.forEach((productId, stock) -> statuses.add(toStatus(productId, stock)));
+        }
+        statuses.sort(Comparator.comparing(HotSkuStatusDto::getProductId));
+        return statuses;
+    }
+
+    /**
+     * Kullanıcı ID'sini parça ipucuna çevirir; ardışık ID'ler farklı parçalara dağılır.
+     */
+    public static int shardHint(Long userId) {
+        long mixed = (userId != null ? userId : Thread.currentThread().getId()) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    // --- Yardımcı metotlar ---
+
+    /**
+     * Defter satırlarını partiler halinde stoğa katlar; her parti tek transaction'da ürün başına bir UPDATE ve
+     * okunan satırların silinmesidir. Satırlar ID ile silinir: okumadan sonra commit edilen (daha küçük ID'li
+     * olsa bile) bir satır silinmez, sonraki katlamada uygulanır. reconcileLock altında çağrılır.
+     * @return Ürün ID → katlanan adet.
+     */
+    private Map<Long, Integer> foldLedger() {
+        Map<Long, Integer> folded = new TreeMap<>();
+        List<long[]> rows;
+        do {
+            rows = foldTransaction.execute(status -> foldBatch());
+            for (long[] row : rows) {
+                folded.merge(row[1], (int) row[2], Integer::sum);
+            }
+        } while (rows.size() == FOLD_BATCH_SIZE);
+        // Katlanan düşümler sayaçta zaten vardı; veritabanında beklenen değer de o kadar azalır.
+        folded.forEach((productId, quantity) -> {
+            ShardedStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.setPersistedStock(stock.getPersistedStock() - quantity);
+            }
+        });
+        return folded;
+    }
+
+    private List<long[]> foldBatch() {
+        List<long[]> rows = jdbcTemplate.query(SELECT_LEDGER_SQL,
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getInt(3)}, FOLD_BATCH_SIZE);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        // Ürün ID sırasıyla güncellenir; eşzamanlı katlamalar ve toplu stok düşümleriyle kilit sırası tutarlı kalır.
+        Map<Long, Integer> quantities = new TreeMap<>();
+        rows.forEach(row -> quantities.merge(row[1], (int) row[2], Integer::sum));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(FOLD_STOCK_SQL, quantities.entrySet().stream()
+                .map(entry -> new Object[] {entry.getValue(), now, entry.getKey()})
+                .collect(Collectors.toList()));
+        jdbcTemplate.batchUpdate(DELETE_LEDGER_SQL, rows.stream()
+                .map(row -> new Object[] {row[0]})
+                .collect(Collectors.toList()));
+        return rows;
+    }
+
+    // reconcileLock altında, katlamadan sonra çağrılır. Beklenen değerden farkı sayaca uygular.
+    private void applyExternalChanges(Long productId, ShardedStock stock) {
+        Integer persisted = selectStock(productId);
+        if (persisted == null) {
+            stocks.remove(productId);
+            stock.close();
+            logger.warn("Sıcak moddaki ürün veritabanında bulunamadı, moddan çıkarıldı: Ürün ID {}", productId);
+            return;
+        }
+        if (persisted != stock.getPersistedStock()) {
+            int external = persisted - stock.getPersistedStock();
+            int clamped = stock.adjust(external);
+            stock.setPersistedStock(persisted);
+            logger.info("Sıcak ürün stoğunda dış değişiklik uygulandı: Ürün ID {}, fark {}", productId, external);
+            if (clamped > 0) {
+                logger.warn("Sıcak ürün stoğu dış değişiklik sonrası negatife düşecekti; {} adet yok sayıldı: Ürün ID {}", clamped, productId);
+            }
+        }
+    }
+
+    // Düşümü süren adetler sıfırlanana kadar (en fazla DRAIN_TIMEOUT_MS) bekler.
+    private boolean awaitInFlight(Long productId) {
+        AtomicInteger pending = inFlight(productId);
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (pending.get() > 0) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicInteger inFlight(Long productId) {
+        return inFlight.computeIfAbsent(productId, id -> new AtomicInteger());
+    }
+
+    private void finish(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> inFlight(productId).addAndGet(-quantity));
+    }
+
+    private boolean isStockSetPending(Long productId) {
+        for (StockSetEvent event : pendingStockSets) {
+            if (event.getQuantities().containsKey(productId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Mod bu arada kapatıldıysa iade edilecek bir şey yoktur: geri alınan düşüm deftere hiç yazılmadı.
+    private void giveBack(Map<Long, Integer> quantities, int shardHint) {
+        quantities.forEach((productId, quantity) -> {
+            ShardedStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.giveBack(quantity, shardHint);
+            }
+        });
+    }
+
+    private Integer selectStock(Long productId) {
+        return jdbcTemplate.query(SELECT_STOCK_SQL, rs -> rs.next() ? rs.getInt(1) : null, productId);
+    }
+
+    private static HotSkuStatusDto toStatus(Long productId, ShardedStock stock) {
+        return new HotSkuStatusDto(productId, stock.shardCount(), stock.available(), stock.getPersistedStock());
+    }
+}
@@ -0,0 +1,153 @@
+package com.chimax.chimax_backend.inventory;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Tek bir ürünün stoğunun N parçaya (shard) bölünmüş bellek içi sayacı. Alıcılar ipucuna (kullanıcı ID'si)
+ * göre seçilen parçadan CAS ile düşer; ortak bir kilit veya tek bir sıcak bellek hücresi yoktur.
+ * Seçilen parça boşalınca sıradaki parçalar denenir; hiçbir parça tek başına yetmiyorsa tüm parçalar kilit
+ * altında boşaltılıp kalan stok parçalara yeniden dağıtılır (rebalance).
+ *
+ * Birimler parçalar arasında yalnızca getAndSet/addAndGet ile taşınır; bu yüzden eşzamanlı düşümler ve
+ * yeniden dağıtım aynı birimi iki kez veremez. Kapatıldıktan (close) sonra hiçbir birim verilmez.
+ */
+final class ShardedStock {
+
+    private final AtomicIntegerArray shards;
+    private volatile boolean closed;
+    /** Son katlamadan sonra veritabanında beklenen stok değeri. Yalnızca HotSkuInventory'nin kilidi altında erişilir. */
+    private int persistedStock;
+
+    ShardedStock(int shardCount, int initialStock) {
+        this.shards = new AtomicIntegerArray(shardCount);
+        this.persistedStock = initialStock;
+        spread(Math.max(0, initialStock));
+    }
+
+    /**
+     * Stoktan quantity kadar düşmeyi dener. Hızlı yol kilitsizdir.
+     * @param hint Parça seçimi için ipucu (örn. kullanıcı ID'sinin hash'i).
+     * @return Birimler alındıysa true; toplam stok yetersizse veya sayaç kapatıldıysa false.
+     */
+    boolean tryTake(int quantity, int hint) {
+        int count = shards.length();
+        int start = Math.floorMod(hint, count);
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            int current;
+            while ((current = shards.get(index)) >= quantity) {
+                if (shards.compareAndSet(index, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+        return takeRebalancing(quantity, 0);
+    }
+
+    /**
+     * tryTake ile aynıdır; ancak alımdan sonra en az floor birim kalmalıdır (örn. başka müşterilerin ödeme
+     * aşamasında tuttuğu adetler). floor > 0 ise toplam kilit altında, tüm parçalar boşaltılarak kesin olarak
+     * kontrol edilir; kilitsiz alıcılar bu sırada boş parça görüp kilidi bekler.
+     */
+    boolean tryTake(int quantity, int hint, int floor) {
+        return floor <= 0 ? tryTake(quantity, hint) : takeRebalancing(quantity, floor);
+    }
+
+    /**
+     * Birimleri geri ekler (örn. sipariş transaction'ı geri alındı).
+     * @return Sayaç kapatıldıysa false; birimler çağıran tarafça başka yere (veritabanına) iade edilmelidir.
+     */
+    synchronized boolean giveBack(int quantity, int hint) {
+        if (closed) {
+            return false;
+        }
+        shards.addAndGet(Math.floorMod(hint, shards.length()), quantity);
+        return true;
+    }
+
+    /**
+     * Dışarıdan (veritabanında) yapılan bir stok değişikliğini parçalara uygular.
+     * @return Negatif değişiklik mevcut stoğu aştıysa sıfırın altına düşmemek için yok sayılan adet.
+     */
+    synchronized int adjust(int delta) {
+        int total = drain() + delta;
+        int clamped = total < 0 ? -total : 0;
+        spread(Math.max(0, total));
+        return clamped;
+    }
+
+    /**
+     * Stoğu mutlak bir değere ayarlar: tüm parçalar boşaltılıp yeni değer dağıtılır.
+     * @return Sayaç kapatıldıysa false.
+     */
+    synchronized boolean reset(int stock) {
+        if (closed) {
+            return false;
+        }
+        drain();
+        spread(Math.max(0, stock));
+        return true;
+    }
+
+    /**
+     * Sayacı kapatır ve kalan tüm birimleri boşaltır. Bu andan sonra tryTake ve giveBack false döner.
+     * @return Kapatıldığı andaki toplam stok.
+     */
+    synchronized int close() {
+        closed = true;
+        return drain();
+    }
+
+    /** Parçaların toplamı. Eşzamanlı düşümler sırasında anlık bir yaklaşık değerdir. */
+    int available() {
+        int total = 0;
+        for (int i = 0; i < shards.length(); i++) {
+            total += shards.get(i);
+        }
+        return total;
+    }
+
+    int shardCount() {
+        return shards.length();
+    }
+
+    int getPersistedStock() {
+        return persistedStock;
+    }
+
+    void setPersistedStock(int persistedStock) {
+        this.persistedStock = persistedStock;
+    }
+
+    // Hiçbir parça tek başına yetmediğinde (veya alt sınır verildiğinde): tüm stok toplanır, istek karşılanabiliyorsa
+    // düşülür, kalan yeniden dağıtılır.
+    private synchronized boolean takeRebalancing(int quantity, int floor) {
+        if (closed) {
+            return false;
+        }
+        int total = drain();
+        boolean taken = total - quantity >= floor;
+        spread(taken ? total - quantity : total);
+        return taken;
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private int drain() {
+        int total = 0;
+        for (int i = 0; i < shards.length(); i++) {
+            total += shards.getAndSet(i, 0);
+        }
+        return total;
+    }
+
+    // addAndGet kullanılır; boşaltma ile dağıtım arasında yapılan iadeler kaybolmaz.
+    private void spread(int total) {
+        int count = shards.length();
+        int base = total / count;
+        int remainder = total % count;
+        for (int i = 0; i < count; i++) {
+            shards.addAndGet(i, base + (i < remainder ? 1 : 0));
+        }
+    }
+}
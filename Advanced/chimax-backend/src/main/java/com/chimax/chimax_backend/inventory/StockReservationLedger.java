@@ -0,0 +1,211 @@
+package com.chimax.chimax_backend.inventory;
+
+import com.chimax.chimax_backend.event.StockReservationReleasedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ödeme aşamasındaki stok tutmalarının bellek içi defteri. Ürün başına tutulan toplam adet burada
+ * artımlı olarak tutulur; kullanılabilir stok (stok - aktif tutmalar) istek başına toplama sorgusu
+ * çalıştırılmadan hesaplanır. Kalıcı kopya stock_reservations tablosundadır.
+ *
+ * Her kullanıcının en fazla bir aktif tutması olur; yeni bir ödeme başlatması eskisinin yerine geçer.
+ * Tüm erişimler this üzerinde senkronizedir; kontrol-ve-ekle işlemi tek kilit altında yapıldığı için
+ * eşzamanlı iki tutma aynı son birimleri alamaz. Süresi dolan tutmalar süpürücü bırakana kadar (en fazla
+ * bir süpürme aralığı) sayılmaya devam eder; hata her zaman stoğu olduğundan az gösterme yönündedir.
+ */
+@Component
+public class StockReservationLedger {
+
+    private final Map<String, Hold> holds = new HashMap<>();
+    private final Map<Long, String> holdByUser = new HashMap<>();
+    private final Map<Long, Integer> heldByProduct = new HashMap<>();
+    private final TreeSet<Hold> byExpiry = new TreeSet<>(
+            Comparator.comparing(Hold::getExpiresAt).thenComparing(Hold::getReservationId));
+
+    /**
+     * Stok yeterliyse tutmayı ekler; kullanıcının önceki tutması varsa onun yerine geçer (önceki tutmanın
+     * adetleri bu kontrolde kullanılabilir sayılır).
+     * @param hold Eklenecek tutma.
+     * @param stockByProduct Ürünlerin güncel stok miktarları (tutmadaki her ürün için).
+     * @return Yetersiz kalan ürünlerin ID'leri; boşsa tutma eklenmiştir.
+     */
+    public synchronized List<Long> tryHold(Hold hold, Map<Long, Integer> stockByProduct) {
+        Hold previous = currentHoldOf(hold.userId);
+        List<Long> shortProducts = new ArrayList<>();
+        hold.quantities.forEach((productId, quantity) -> {
+            int stock = stockByProduct.getOrDefault(productId, 0);
+            int heldByOthers = heldByProduct.getOrDefault(productId, 0)
+                    - (previous != null ? previous.quantities.getOrDefault(productId, 0) : 0);
+            if (stock - heldByOthers < quantity) {
+                shortProducts.add(productId);
+            }
+        });
+        if (shortProducts.isEmpty()) {
+            if (previous != null) {
+                remove(previous);
+            }
+            add(hold);
+        }
+        return shortProducts;
+    }
+
+    /**
+     * Verilen ürünlerde, belirtilen kullanıcı dışındaki müşterilerin aktif tutmalarını döndürür.
+     * Sipariş doğrulamasında "stok - başkalarının tutmaları" olarak kullanılır.
+     * @return Ürün ID → başkalarının tuttuğu adet (tutma yoksa 0).
+     */
+    public synchronized Map<Long, Integer> heldByOthers(Collection<Long> productIds, Long userId) {
+        Hold own = currentHoldOf(userId);
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            int held = heldByProduct.getOrDefault(productId, 0)
+                    - (own != null ? own.quantities.getOrDefault(productId, 0) : 0);
+            result.put(productId, held);
+        }
+        return result;
+    }
+
+    /**
+     * Kullanıcının aktif tutması (yoksa null). Süresi dolmuş ama henüz süpürülmemiş tutmalar da döner.
+     */
+    public synchronized Hold currentHoldOf(Long userId) {
+        String reservationId = holdByUser.get(userId);
+        return reservationId != null ? holds.get(reservationId) : null;
+    }
+
+    /**
+     * Süresi dolmuş tutmaları, en eskisinden başlayarak en fazla limit kadar döndürür (defterden çıkarmaz).
+     */
+    public synchronized List<String> expired(LocalDateTime now, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, byExpiry.size()));
+        Iterator<Hold> iterator = byExpiry.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            Hold hold = iterator.next();
+            if (hold.expiresAt.isAfter(now)) {
+                break;
+            }
+            result.add(hold.reservationId);
+        }
+        return result;
+    }
+
+    /**
+     * Tutmaları defterden çıkarır. Defterde olmayan kimlikler yok sayılır.
+     */
+    public synchronized void release(Collection<String> reservationIds) {
+        for (String reservationId : reservationIds) {
+            Hold hold = holds.get(reservationId);
+            if (hold != null) {
+                remove(hold);
+            }
+        }
+    }
+
+    /**
+     * Kaydı geri alınan bir tryHold'u geri çevirir: eklenen tutmayı çıkarır ve yerine geçtiği önceki tutmayı
+     * (kayıtları da geri alındığı için tabloda hâlâ duruyor) kullanıcının başka bir tutması yoksa geri koyar.
+     * @param hold tryHold ile eklenen tutma.
+     * @param previous Kullanıcının tryHold öncesindeki tutması (yoksa null).
+     */
+    public synchronized void revert(Hold hold, Hold previous) {
+        if (holds.get(hold.reservationId) == hold) {
+            remove(hold);
+        }
+        if (previous != null && currentHoldOf(previous.userId) == null) {
+            add(previous);
+        }
+    }
+
+    /**
+     * Tutmalar veritabanından silinip transaction commit edildikten sonra defterden çıkarılır.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationReleased(StockReservationReleasedEvent event) {
+        release(event.getReservationIds());
+    }
+
+    /**
+     * Defteri verilen tutmalarla baştan kurar (uygulama açılışında tablodan yükleme).
+     */
+    public synchronized void load(Collection<Hold> loaded) {
+        holds.clear();
+        holdByUser.clear();
+        heldByProduct.clear();
+        byExpiry.clear();
+        for (Hold hold : loaded) {
+            Hold previous = currentHoldOf(hold.userId);
+            if (previous != null) {
+                remove(previous); // Tablo tutarsızsa (aynı kullanıcıya iki tutma) sonuncusu geçerlidir
+            }
+            add(hold);
+        }
+    }
+
+    public synchronized int size() {
+        return holds.size();
+    }
+
+    // --- Yardımcı metotlar (çağıran taraf kilidi tutar) ---
+
+    private void add(Hold hold) {
+        holds.put(hold.reservationId, hold);
+        holdByUser.put(hold.userId, hold.reservationId);
+        byExpiry.add(hold);
+        hold.quantities.forEach((productId, quantity) -> heldByProduct.merge(productId, quantity, Integer::sum));
+    }
+
+    private void remove(Hold hold) {
+        holds.remove(hold.reservationId);
+        holdByUser.remove(hold.userId, hold.reservationId);
+        byExpiry.remove(hold);
+        hold.quantities.forEach((productId, quantity) ->
+                heldByProduct.computeIfPresent(productId, (id, held) -> held - quantity > 0 ? held - quantity : null));
+    }
+
+    /**
+     * Bir kullanıcının tek bir ödeme başlatmasına ait, değişmez tutma.
+     */
+    public static final class Hold {
+        private final String reservationId;
+        private final Long userId;
+        private final Map<Long, Integer> quantities;
+        private final LocalDateTime expiresAt;
+
+        public Hold(String reservationId, Long userId, Map<Long, Integer> quantities, LocalDateTime expiresAt) {
+            this.reservationId = reservationId;
+            this.userId = userId;
+            this.quantities = Collections.unmodifiableMap(new LinkedHashMap<>(quantities));
+            this.expiresAt = expiresAt;
+        }
+
+        public String getReservationId() {
+            return reservationId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        /** Ürün ID → tutulan adet. */
+        public Map<Long, Integer> getQuantities() {
+            return quantities;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.chimax.chimax_backend.repository; // Paket adını kontrol et
 
+import com.chimax.chimax_backend.dto.ProductSummaryDto; // Liste görünümleri için projeksiyon
+import com.chimax.chimax_backend.dto.ProductViewStatsDto; // Görüntülenme istatistikleri için projeksiyon
 import com.chimax.chimax_backend.entity.Product; // Product entity'sini import et
 import com.chimax.chimax_backend.entity.User; // User entity'sini import et (seller alanı için gerekli)
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable; // Keyset sayfalamada LIMIT için
+import org.springframework.data.jpa.repository.EntityGraph; // İlişkileri tek sorguda yüklemek için
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying; // Yorum puanı özetinin yerinde güncellenmesi için
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints; // Akış (streaming) sorgusunda fetch size için
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository; // @Repository anotasyonu eklendi (isteğe bağlı ama iyi pratik)
 
 // import org.springframework.data.domain.Page; // Sayfalama için (ileride gerekirse)
-// import org.springframework.data.domain.Pageable; // Sayfalama için (ileride gerekirse)
 import java.util.List; // Liste döndürmek için
 import java.util.Optional; // Optional döndürmek için (ileride gerekirse)
+import java.util.stream.Stream; // Katalog dışa aktarımında satır satır okuma için
 
 /**
  * Product entity'si için veritabanı işlemlerini yöneten repository arayüzü.
@@ -25,6 +35,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> { // Ent
      * @param seller Ürünleri listelenecek satıcı (User entity'si).
      * @return Belirtilen satıcıya ait ürünlerin listesi.
      */
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
     List<Product> findBySeller(User seller);
 
     /**
@@ -33,6 +44,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> { // Ent
      * @param seller Ürünleri listelenecek satıcı.
      * @return Belirtilen satıcıya ait aktif ürünlerin listesi.
      */
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
     List<Product> findBySellerAndActiveTrue(User seller);
 
     /**
@@ -42,9 +54,166 @@ public interface ProductRepository extends JpaRepository<Product, Long> { // Ent
      * @param seller Ürünün sahibi olması beklenen satıcı.
      * @return Eşleşen ürünü içeren Optional, bulunamazsa boş Optional.
      */
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
     Optional<Product> findByIdAndSeller(Long id, User seller);
 
 
+    // --- Liste Görünümleri İçin Projeksiyonlar (description ve entity yüklemesi olmadan) ---
+
+    /**
+     * Ortak SELECT kısmı: açıklama (TEXT) hariç liste alanları, kategori ve satıcı tek JOIN ile.
+     * Sonuç doğrudan ProductSummaryDto olarak oluşturulur; entity, persistence context ve LAZY proxy oluşmaz.
+     */
+    String SUMMARY_SELECT = "SELECT new com.chimax.chimax_backend.dto.ProductSummaryDto(" +
+            "p.id, p.name, p.price, p.imageUrl, c.name, p.type, p.active, p.stockQuantity, s.id, s.firstName, s.lastName, " +
+            "p.averageRating, p.reviewCount, p.createdAt) " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.seller s ";
+
+    /**
+     * Kategori ve satıcı gerekmediğinde (sparse fieldset) kullanılan, JOIN içermeyen özet projeksiyonu.
+     */
+    String LEAN_SUMMARY_SELECT = "SELECT new com.chimax.chimax_backend.dto.ProductSummaryDto(" +
+            "p.id, p.name, p.price, p.imageUrl, p.type, p.active, p.stockQuantity, p.averageRating, p.reviewCount, p.createdAt) " +
+            "FROM Product p ";
+
+    /**
+     * Tüm aktif ürünlerin özetlerini ID sırasıyla getirir.
+     * @return Aktif ürün özetleri.
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.active = true ORDER BY p.id ASC")
+    List<ProductSummaryDto> findActiveSummaries();
+
+    /**
+     * Verilen ID'den sonra gelen aktif ürün özetlerini ID sırasına göre getirir (keyset sayfalama).
+     * OFFSET kullanılmadığı için sayfa derinliğinden bağımsız olarak idx_products_active_id indeksi üzerinden
+     * sabit maliyetle çalışır.
+     * @param afterId Önceki sayfanın son ürün ID'si (ilk sayfa için 0).
+     * @param pageable Sadece LIMIT için kullanılır.
+     * @return ID'ye göre artan sırada aktif ürün özetleri.
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.active = true AND p.id > :afterId ORDER BY p.id ASC")
+    List<ProductSummaryDto> findActiveSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * findActiveSummariesAfterId ile aynı; kategori ve satıcı okunmaz (JOIN yok).
+     */
+    @Query(LEAN_SUMMARY_SELECT + "WHERE p.active = true AND p.id > :afterId ORDER BY p.id ASC")
+    List<ProductSummaryDto> findActiveLeanSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Verilen ID'den sonra gelen tüm ürünlerin (aktif ve pasif) özetlerini ID sırasına göre getirir (Admin listesi için).
+     * @param afterId Önceki sayfanın son ürün ID'si (ilk sayfa için 0).
+     * @param pageable Sadece LIMIT için kullanılır.
+     * @return ID'ye göre artan sırada ürün özetleri.
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<ProductSummaryDto> findSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * findSummariesAfterId ile aynı; kategori ve satıcı okunmaz (JOIN yok).
+     */
+    @Query(LEAN_SUMMARY_SELECT + "WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<ProductSummaryDto> findLeanSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Belirtilen satıcının tüm ürünlerinin (aktif veya pasif) özetlerini getirir.
+     * @param sellerId Satıcının kullanıcı ID'si.
+     * @return Satıcının ürün özetleri.
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.id = :sellerId ORDER BY p.id ASC")
+    List<ProductSummaryDto> findSummariesBySellerId(@Param("sellerId") Long sellerId);
+
+
+    // --- Bellek İçi Katalog İndeksleri İçin ---
+
+    /**
+     * Tüm aktif ürünleri kategori ve satıcı bilgileriyle birlikte tek sorguda getirir.
+     * Uygulama açılışında bellek içi indekslerin (arama, filtre vb.) tam kurulumu için kullanılır.
+     * @return Tüm aktif ürünler.
+     */
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
+    @Query("SELECT p FROM Product p WHERE p.active = true")
+    List<Product> findAllActiveForIndexing();
+
+    /**
+     * Verilen ID'lere sahip ürünleri kategori ve satıcı bilgileriyle birlikte tek sorguda getirir.
+     * JpaRepository'deki varsayılan hali, DTO dönüşümünde ürün başına satıcı SELECT'ine yol açıyordu.
+     * @param ids Ürün ID'leri.
+     * @return Bulunan ürünler (sıra garanti edilmez, bulunamayan ID'ler atlanır).
+     */
+    @Override
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
+    List<Product> findAllById(Iterable<Long> ids);
+
+    /**
+     * Ürünü kategori ve satıcı bilgileriyle birlikte tek sorguda getirir (detay ve güncelleme akışları için).
+     * @param id Ürün ID'si.
+     * @return Ürünü içeren Optional veya bulunamazsa boş Optional.
+     */
+    @Override
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
+    Optional<Product> findById(Long id);
+
+    /**
+     * Tüm ürünleri kategori ve satıcı bilgileriyle birlikte tek sorguda getirir.
+     * @return Tüm ürünler.
+     */
+    @Override
+    @EntityGraph(Product.GRAPH_WITH_CATEGORY_AND_SELLER)
+    List<Product> findAll();
+
+
+    // --- Katalog Dışa Aktarımı (Streaming) ---
+
+    /**
+     * Tüm aktif ürünleri ID sırasıyla, tamamını belleğe almadan satır satır okur.
+     * Fetch size ipucu ile JDBC sürücüsü sonuçları parça parça getirir (MySQL için bağlantı URL'sinde
+     * useCursorFetch=true gerekir). Stream açık bir transaction içinde tüketilmeli ve kapatılmalıdır;
+     * çağıran taraf işlenen her ürünü persistence context'ten ayırmalıdır (detach), aksi halde bellek yine büyür.
+     * @return Aktif ürünlerin akışı.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.seller WHERE p.active = true ORDER BY p.id ASC")
+    Stream<Product> streamAllActive();
+
+
+
+    // --- Yorum Puanı Özeti ---
+
+    /**
+     * Ürünün ortalama puanını ve yorum sayısını reviews tablosundan tek UPDATE ifadesiyle yeniden hesaplar.
+     * Değerler veritabanında hesaplandığı için eşzamanlı iki yorum birbirinin sonucunu ezmez.
+     * @param productId Ürün ID'si.
+     * @return Güncellenen satır sayısı (ürün yoksa 0).
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET " +
+            "average_rating = COALESCE((SELECT AVG(r.rating) FROM reviews r WHERE r.product_id = :productId), 0), " +
+            "review_count = (SELECT COUNT(*) FROM reviews r WHERE r.product_id = :productId) " +
+            "WHERE id = :productId", nativeQuery = true)
+    int refreshRatingSummary(@Param("productId") Long productId);
+
+    // --- Görüntülenme Sayıları ---
+
+    /**
+     * En çok görüntülenen ürünleri (kalıcı sayılarla) döndürür.
+     * @param pageable Sadece LIMIT için kullanılır.
+     */
+    @Query("SELECT new com.chimax.chimax_backend.dto.ProductViewStatsDto(p.id, p.name, p.active, p.viewCount) " +
+           "FROM Product p ORDER BY p.viewCount DESC, p.id ASC")
+    List<ProductViewStatsDto> findViewStats(Pageable pageable);
+
+    /**
+     * Bir satıcının tüm ürünlerinin (kalıcı) görüntülenme sayılarını çoktan aza döndürür.
+     * @param sellerId Satıcı ID'si.
+     */
+    @Query("SELECT new com.chimax.chimax_backend.dto.ProductViewStatsDto(p.id, p.name, p.active, p.viewCount) " +
+           "FROM Product p WHERE p.seller.id = :sellerId ORDER BY p.viewCount DESC, p.id ASC")
+    List<ProductViewStatsDto> findViewStatsBySellerId(@Param("sellerId") Long sellerId);
+
     // --- İleride Eklenebilecek Diğer Örnek Metotlar ---
     // List<Product> findByCategoryAndActiveTrue(String category);
     // Page<Product> findByNameContainingIgnoreCaseAndActiveTrue(String name, Pageable pageable);
@@ -1,9 +1,13 @@
 package com.chimax.chimax_backend.repository; // Paket adını kontrol et
 
+import com.chimax.chimax_backend.dto.ReviewDto; // Sayfalı yorum listesi için projeksiyon
 import com.chimax.chimax_backend.entity.Review;
 import com.chimax.chimax_backend.entity.User; // User import et
 import com.chimax.chimax_backend.entity.Product; // Product import et
+import org.springframework.data.domain.Pageable; // Keyset sayfalamada LIMIT için
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 /**
@@ -27,4 +31,26 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     boolean existsByUserAndProduct(User user, Product product); // Veya existsByUserIdAndProductId(Long userId, Long productId);
 
+    /**
+     * Ürünün yorumlarını en yeniden eskiye, verilen ID'den küçük olanlardan başlayarak getirir (keyset sayfalama).
+     * Sonuç doğrudan ReviewDto olarak oluşturulur; yorum yapan kullanıcı (ve EAGER rolleri) entity olarak yüklenmez.
+     * Kullanıcı adı "Ad S." biçimindedir.
+     * @param productId Ürün ID'si.
+     * @param beforeId Önceki sayfanın son yorum ID'si (ilk sayfa için Long.MAX_VALUE).
+     * @param pageable Sadece LIMIT için kullanılır.
+     * @return Yorum ID'sine göre azalan sırada (en yeni önce) yorumlar.
+     */
+    @Query("SELECT new com.chimax.chimax_backend.dto.ReviewDto(r.id, r.product.id, " +
+           "CONCAT(u.firstName, ' ', SUBSTRING(u.lastName, 1, 1), '.'), r.rating, r.comment, r.reviewDate) " +
+           "FROM Review r JOIN r.user u WHERE r.product.id = :productId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<ReviewDto> findReviewPage(@Param("productId") Long productId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * Ürünün yorumlarını puana göre gruplayıp sayar (puan dağılımı için tek sorgu).
+     * @param productId Ürün ID'si.
+     * @return [puan (Integer), adet (Long)] çiftleri; hiç yorum almamış puanlar listede yer almaz.
+     */
+    @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.product.id = :productId GROUP BY r.rating")
+    List<Object[]> countByRatingForProduct(@Param("productId") Long productId);
+
 }
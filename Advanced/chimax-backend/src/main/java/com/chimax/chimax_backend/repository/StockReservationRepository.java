@@ -0,0 +1,52 @@
+package com.chimax.chimax_backend.repository;
+
+import com.chimax.chimax_backend.entity.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stok tutma kayıtları için repository. Silmeler tek ifadeyle yapılır (satır başına DELETE yok).
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * Süresi dolmamış tüm tutmalar (uygulama açılışında bellekteki deftere yüklemek için).
+     */
+    List<StockReservation> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Kullanıcının tüm tutmalarını siler (yeni ödeme başlatması eskisinin yerine geçer veya sipariş verildi).
+     * @return Silinen satır sayısı.
+     */
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Verilen tutmalara ait tüm satırları tek ifadeyle siler (süpürücünün bir partisi).
+     * Süpürücü transaction dışında çağırır; her parti kendi transaction'ında commit edilir.
+     * @return Silinen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.reservationId IN :reservationIds")
+    int deleteByReservationIdIn(@Param("reservationIds") Collection<String> reservationIds);
+
+    /**
+     * Süresi dolmuş tüm satırları siler (bellekte karşılığı olmayan artıklar için).
+     * @return Silinen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,56 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.CheckoutQueueStatsDto;
+import com.chimax.chimax_backend.dto.CheckoutTicketDto;
+import com.chimax.chimax_backend.dto.CreateOrderRequestDto;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Asenkron sipariş verme: istekler sınırlı bir bellek içi kuyruğa alınır ve işçi thread'leri tarafından
+ * küçük partiler halinde siparişe dönüştürülür. İstek thread'i sipariş transaction'ını beklemez.
+ */
+public interface AsyncCheckoutService {
+
+    /**
+     * Sepeti OrderService.validateOrder ile kontrol edip sipariş isteğini kuyruğa alır.
+     * @param orderRequest Doğrulanmış sipariş isteği.
+     * @param userEmail Siparişi veren kullanıcının e-postası.
+     * @return QUEUED durumundaki bilet.
+     * @throws com.chimax.chimax_backend.exception.OrderValidationException Sepette hatalı kalem varsa.
+     * @throws com.chimax.chimax_backend.exception.CheckoutQueueFullException Kuyruk doluysa veya servis kapanıyorsa.
+     */
+    CheckoutTicketDto submit(CreateOrderRequestDto orderRequest, String userEmail);
+
+    /**
+     * Kullanıcının biletinin güncel durumunu getirir.
+     * @return Bilet bulunamazsa, süresi dolduysa veya başka kullanıcıya aitse boş Optional.
+     */
+    Optional<CheckoutTicketDto> findTicket(String ticketId, String userEmail);
+
+    /**
+     * Biletin durum değişikliklerine abone olur. Dinleyici hemen güncel durumla, ardından her durum
+     * değişikliğinde çağrılır; son çağrı COMPLETED veya FAILED durumundadır.
+     * @return Bilet bulunamazsa veya başka kullanıcıya aitse false (dinleyici çağrılmaz).
+     */
+    boolean subscribe(String ticketId, String userEmail, Consumer<CheckoutTicketDto> listener);
+
+    /**
+     * Dinleyiciyi biletten kaldırır (örn. SSE bağlantısı kapandığında). Bilet yoksa veya dinleyici
+     * zaten kaldırıldıysa bir şey yapmaz.
+     */
+    void unsubscribe(String ticketId, Consumer<CheckoutTicketDto> listener);
+
+    /**
+     * Kuyruk derinliği, işçi gecikmesi ve sayaçlar (admin).
+     */
+    CheckoutQueueStatsDto getStats();
+
+    /**
+     * Sonuçlanıp ticket-ttl-seconds süresi dolan biletleri özetler (sipariş ayrıntısı bırakılır, durum ve sipariş
+     * ID'si kalır); ticket-result-ttl-seconds süresi dolanları siler.
+     * @return Silinen bilet sayısı.
+     */
+    int sweepExpiredTickets();
+}
@@ -0,0 +1,432 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.CheckoutQueueStatsDto;
+import com.chimax.chimax_backend.dto.CheckoutTicketDto;
+import com.chimax.chimax_backend.dto.CreateOrderRequestDto;
+import com.chimax.chimax_backend.dto.OrderDto;
+import com.chimax.chimax_backend.exception.CheckoutQueueFullException;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Asenkron sipariş kuyruğu. İstekler sınırlı bir ArrayBlockingQueue'ya alınır; "checkoutWorkerExecutor"
+ * üzerinde çalışan işçiler kuyruktan bir seferde en fazla batch-size istek çeker ve her birini
+ * OrderService.createOrder ile (kendi transaction'ında) siparişe dönüştürür. Partiler işçi başına uyanma ve
+ * kuyruk kilidi maliyetini azaltır; bir siparişin hatası partideki diğerlerini etkilemez.
+ *
+ * Biletler bellekte tutulur ve sonuçlandıktan sonra ticket-ttl-seconds boyunca sipariş ayrıntısıyla sorgulanabilir.
+ * Ardından yalnızca durum ve sipariş ID'si kalacak şekilde özetlenir ve ticket-result-ttl-seconds dolana kadar
+ * tutulur. Bu süre Idempotency-Key saklama süresinden kısa olmamalıdır; aksi halde tekrar oynatılan 202 yanıtı
+ * artık bulunamayan bir bilete işaret eder. Tek uygulama örneği varsayılır; yeniden başlatmada kuyrukta bekleyen
+ * istekler FAILED olarak sonuçlandırılır.
+ */
+@Service
+public class AsyncCheckoutServiceImpl implements AsyncCheckoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCheckoutServiceImpl.class);
+
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final BlockingQueue<Ticket> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private final OrderService orderService;
+    private final TaskExecutor workerExecutor;
+    private final int queueCapacity;
+    private final int workerCount;
+    private final int batchSize;
+    private final long ticketTtlSeconds;
+    private final long ticketResultTtlSeconds;
+
+    private volatile boolean running;
+    private CountDownLatch workersStopped = new CountDownLatch(0);
+
+    // --- Metrikler ---
+    private final AtomicInteger processing = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedTickets = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalProcessingNanos = new LongAdder();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    public AsyncCheckoutServiceImpl(OrderService orderService,
+                                    @Qualifier("checkoutWorkerExecutor") TaskExecutor workerExecutor,
+                                    @Value("${app.checkout.async.queue-capacity:1000}") int queueCapacity,
+                                    @Value("${app.checkout.async.workers:4}") int workerCount,
+                                    @Value("${app.checkout.async.batch-size:16}") int batchSize,
+                                    @Value("${app.checkout.async.ticket-ttl-seconds:900}") long ticketTtlSeconds,
+                                    @Value("${app.checkout.async.ticket-result-ttl-seconds:86400}") long ticketResultTtlSeconds) {
+        if (queueCapacity <= 0 || workerCount <= 0 || batchSize <= 0 || ticketTtlSeconds <= 0) {
+            throw new IllegalArgumentException("app.checkout.async.queue-capacity, workers, batch-size ve ticket-ttl-seconds pozitif olmalıdır.");
+        }
+        if (ticketResultTtlSeconds < ticketTtlSeconds) {
+            throw new IllegalArgumentException("app.checkout.async.ticket-result-ttl-seconds, ticket-ttl-seconds değerinden küçük olamaz.");
+        }
+        this.orderService = orderService;
+        this.workerExecutor = workerExecutor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.ticketTtlSeconds = ticketTtlSeconds;
+        this.ticketResultTtlSeconds = ticketResultTtlSeconds;
+    }
+
+    /**
+     * Uygulama hazır olduğunda işçileri başlatır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startWorkers() {
+        if (running) {
+            return;
+        }
+        running = true;
+        workersStopped = new CountDownLatch(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workerExecutor.execute(this::drainLoop);
+        }
+        logger.info("Asenkron sipariş işçileri başlatıldı. İşçi: {}, kuyruk kapasitesi: {}, parti boyutu: {}",
+                    workerCount, queueCapacity, batchSize);
+    }
+
+    /**
+     * İşçilerin ellerindeki partiyi bitirmesini bekler; kuyrukta kalan istekleri FAILED olarak sonuçlandırır.
+     */
+    @PreDestroy
+    public synchronized void stopWorkers() {
+        running = false;
+        try {
+            if (!workersStopped.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Asenkron sipariş işçileri {} saniyede durmadı.", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Ticket> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(ticket -> {
+            ticket.fail("Sunucu yeniden başlatılıyor; sipariş oluşturulmadı. Lütfen tekrar deneyin.", List.of());
+            failed.increment();
+        });
+        if (!abandoned.isEmpty()) {
+            logger.warn("Kapanışta kuyrukta kalan {} sipariş isteği işlenmeden sonlandırıldı.", abandoned.size());
+        }
+    }
+
+    @Override
+    public CheckoutTicketDto submit(CreateOrderRequestDto orderRequest, String userEmail) {
+        // Kullanıcı, ürün ve stok hataları 202'den önce bildirilir; geçersiz sepet kuyrukta yer tutmaz.
+        orderService.validateOrder(orderRequest, userEmail);
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), userEmail, orderRequest);
+        tickets.put(ticket.id, ticket);
+        if (!running || !queue.offer(ticket)) {
+            tickets.remove(ticket.id);
+            rejected.increment();
+            logger.warn("Sipariş kuyruğu dolu, istek reddedildi ({}). Derinlik: {}", userEmail, queue.size());
+            throw new CheckoutQueueFullException("Şu an çok sayıda sipariş işleniyor; lütfen birkaç saniye sonra tekrar deneyin.");
+        }
+        // stopWorkers, yukarıdaki kontrol ile offer arasında kuyruğu boşaltmış olabilir; bilet kuyrukta kalırsa
+        // hiçbir işçi onu almaz. Hâlâ kuyruktaysa geri alınıp reddedilir; değilse bir işçi veya kapanış onu sonuçlandırdı.
+        if (!running && queue.remove(ticket)) {
+            tickets.remove(ticket.id);
+            rejected.increment();
+            logger.warn("Sipariş isteği kapanış sırasında geldi, reddedildi ({}).", userEmail);
+            throw new CheckoutQueueFullException("Sunucu yeniden başlatılıyor; sipariş oluşturulmadı. Lütfen tekrar deneyin.");
+        }
+        submitted.increment();
+        logger.info("Sipariş isteği kuyruğa alındı: Bilet {}, Kullanıcı {}, Derinlik {}", ticket.id, userEmail, queue.size());
+        return ticket.toDto();
+    }
+
+    @Override
+    public Optional<CheckoutTicketDto> findTicket(String ticketId, String userEmail) {
+        Ticket ticket = tickets.get(ticketId);
+        return ticket != null && ticket.userEmail.equals(userEmail) ? Optional.of(ticket.toDto()) : Optional.empty();
+    }
+
+    @Override
+    public boolean subscribe(String ticketId, String userEmail, Consumer<CheckoutTicketDto> listener) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.userEmail.equals(userEmail)) {
+            return false;
+        }
+        ticket.addListener(listener);
+        return true;
+    }
+
+    @Override
+    public void unsubscribe(String ticketId, Consumer<CheckoutTicketDto> listener) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket != null) {
+            ticket.removeListener(listener);
+        }
+    }
+
+    @Override
+    public CheckoutQueueStatsDto getStats() {
+        long batchCount = batches.sum();
+        long dequeued = batchedTickets.sum();
+        return new CheckoutQueueStatsDto(
+                queue.size(), queueCapacity, workerCount, processing.get(),
+                submitted.sum(), rejected.sum(), completed.sum(), failed.sum(),
+                batchCount > 0 ? (double) dequeued / batchCount : 0,
+                dequeued > 0 ? nanosToMillis(totalWaitNanos.sum()) / dequeued : 0,
+                dequeued > 0 ? nanosToMillis(totalProcessingNanos.sum()) / dequeued : 0,
+                nanosToMillis(maxProcessingNanos.get()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.checkout.async.ticket-sweep-interval-ms:60000}")
+    public int sweepExpiredTickets() {
+        return sweepExpiredTickets(LocalDateTime.now());
+    }
+
+    int sweepExpiredTickets(LocalDateTime now) {
+        LocalDateTime compactBefore = now.minusSeconds(ticketTtlSeconds);
+        LocalDateTime removeBefore = now.minusSeconds(ticketResultTtlSeconds);
+        int removed = 0;
+        int compacted = 0;
+        for (Iterator<Ticket> it = tickets.values().iterator(); it.hasNext(); ) {
+            Ticket ticket = it.next();
+            LocalDateTime completedAt = ticket.completedAt;
+            if (completedAt == null) {
+                continue;
+            }
+            if (completedAt.isBefore(removeBefore)) {
+                it.remove();
+                removed++;
+            } else if (completedAt.isBefore(compactBefore) && ticket.compact()) {
+                compacted++;
+            }
+        }
+        if (removed > 0 || compacted > 0) {
+            logger.debug("Sipariş biletleri temizlendi. Özetlenen: {}, silinen: {}, kalan: {}", compacted, removed, tickets.size());
+        }
+        return removed;
+    }
+
+    // --- Yardımcı metotlar ---
+
+    private void drainLoop() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                Ticket first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batches.increment();
+                batchedTickets.add(batch.size());
+                for (Ticket ticket : batch) {
+                    place(ticket);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workersStopped.countDown();
+        }
+    }
+
+    private void place(Ticket ticket) {
+        long startedAt = System.nanoTime();
+        totalWaitNanos.add(startedAt - ticket.queuedAtNanos);
+        processing.incrementAndGet();
+        ticket.markProcessing();
+        try {
+            OrderDto order = orderService.createOrder(ticket.request, ticket.userEmail);
+            ticket.complete(order);
+            completed.increment();
+            logger.info("Asenkron sipariş oluşturuldu: Bilet {}, Sipariş ID {}", ticket.id, order.getId());
+        } catch (OrderValidationException e) {
+            ticket.fail(e.getMessage(), e.getErrors());
+            failed.increment();
+            logger.warn("Asenkron sipariş sepeti doğrulanamadı: Bilet {}: {}", ticket.id, e.getErrors());
+        } catch (RuntimeException e) {
+            ticket.fail(e.getMessage(), List.of());
+            failed.increment();
+            logger.warn("Asenkron sipariş oluşturulamadı: Bilet {}: {}", ticket.id, e.getMessage());
+        } finally {
+            processing.decrementAndGet();
+            long took = System.nanoTime() - startedAt;
+            totalProcessingNanos.add(took);
+            maxProcessingNanos.accumulateAndGet(took, Math::max);
+        }
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private enum Status { QUEUED, PROCESSING, COMPLETED, FAILED }
+
+    /**
+     * Bir sipariş isteği ve sonucu. Durum geçişleri ve dinleyici listesi this üzerinde senkronizedir; bildirimler
+     * kilit dışında yapılır ki yavaş bir dinleyici (örn. SSE gönderimi) bileti sorgulayanları ve işçiyi kilitte
+     * bekletmesin. Her geçiş artan bir sıra numarası taşır; Subscription eski sıradaki bir bildirimi atlar, böylece
+     * dinleyici durumları sırasıyla alır ve kaldırıldıktan sonra çağrılmaz.
+     */
+    private static final class Ticket {
+        final String id;
+        final String userEmail;
+        volatile CreateOrderRequestDto request;
+        final long queuedAtNanos = System.nanoTime();
+        final LocalDateTime queuedAt = LocalDateTime.now();
+
+        private Status status = Status.QUEUED;
+        private OrderDto order;
+        private Long orderId;
+        private String error;
+        private List<String> errors;
+        volatile LocalDateTime completedAt;
+        private long sequence;
+        private final List<Subscription> subscriptions = new ArrayList<>(1);
+
+        Ticket(String id, String userEmail, CreateOrderRequestDto request) {
+            this.id = id;
+            this.userEmail = userEmail;
+            this.request = request;
+        }
+
+        void markProcessing() {
+            transition(Status.PROCESSING, null, null, null);
+        }
+
+        void complete(OrderDto order) {
+            transition(Status.COMPLETED, order, null, null);
+        }
+
+        void fail(String error, List<String> errors) {
+            transition(Status.FAILED, null, error, errors);
+        }
+
+        void addListener(Consumer<CheckoutTicketDto> listener) {
+            Subscription subscription = new Subscription(listener);
+            long current;
+            CheckoutTicketDto snapshot;
+            synchronized (this) {
+                current = sequence;
+                snapshot = toDto();
+                if (!isDone()) {
+                    subscriptions.add(subscription);
+                }
+            }
+            subscription.deliver(current, snapshot);
+        }
+
+        void removeListener(Consumer<CheckoutTicketDto> listener) {
+            List<Subscription> removed = new ArrayList<>(1);
+            synchronized (this) {
+                subscriptions.removeIf(subscription -> subscription.listener == listener && removed.add(subscription));
+            }
+            removed.forEach(Subscription::cancel);
+        }
+
+        // Sonuçlanmış biletin ayrıntılarını bırakır; durum, sipariş ID'si ve hata mesajı kalır.
+        synchronized boolean compact() {
+            if (!isDone() || (order == null && errors == null && request == null)) {
+                return false;
+            }
+            order = null;
+            errors = null;
+            request = null;
+            return true;
+        }
+
+        synchronized CheckoutTicketDto toDto() {
+            return new CheckoutTicketDto(id, status.name(), queuedAt, completedAt, order, orderId, error,
+                                         errors != null && !errors.isEmpty() ? errors : null);
+        }
+
+        private void transition(Status next, OrderDto order, String error, List<String> errors) {
+            long current;
+            CheckoutTicketDto snapshot;
+            List<Subscription> targets;
+            synchronized (this) {
+                status = next;
+                this.order = order;
+                this.orderId = order != null ? order.getId() : null;
+                this.error = error;
+                this.errors = errors;
+                if (isDone()) {
+                    completedAt = LocalDateTime.now();
+                }
+                current = ++sequence;
+                snapshot = toDto();
+                targets = List.copyOf(subscriptions);
+                if (isDone()) {
+                    subscriptions.clear();
+                }
+            }
+            targets.forEach(subscription -> subscription.deliver(current, snapshot));
+        }
+
+        private boolean isDone() {
+            return status == Status.COMPLETED || status == Status.FAILED;
+        }
+
+    }
+
+    /**
+     * Bir dinleyicinin teslim durumu. Teslimler yalnızca bu dinleyici için sıralanır; bilet kilidi tutulmaz.
+     */
+    private static final class Subscription {
+        final Consumer<CheckoutTicketDto> listener;
+        private long delivered = -1;
+        private boolean cancelled;
+
+        Subscription(Consumer<CheckoutTicketDto> listener) {
+            this.listener = listener;
+        }
+
+        synchronized void deliver(long sequence, CheckoutTicketDto ticket) {
+            if (cancelled || sequence <= delivered) {
+                return;
+            }
+            delivered = sequence;
+            try {
+                listener.accept(ticket);
+            } catch (RuntimeException e) {
+                logger.debug("Sipariş bileti dinleyicisi hata verdi: {}", e.getMessage());
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+        }
+    }
+}
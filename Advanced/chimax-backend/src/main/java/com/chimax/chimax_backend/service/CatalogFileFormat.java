@@ -0,0 +1,58 @@
+package com.chimax.chimax_backend.service;
+
+import java.util.Locale;
+
+/**
+ * Toplu ürün dışa/içe aktarımında desteklenen dosya biçimleri.
+ */
+public enum CatalogFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"), // Her satırda bir JSON nesnesi
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    CatalogFileFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * İstek parametresini biçime çevirir (büyük/küçük harf duyarsız, boşsa NDJSON).
+     * @throws IllegalArgumentException Desteklenmeyen biçimde.
+     */
+    public static CatalogFileFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return CatalogFileFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Desteklenmeyen dosya biçimi: " + value + " (ndjson veya csv olmalı).");
+        }
+    }
+
+    /**
+     * İstek gövdesinin Content-Type başlığını biçime çevirir (parametreler, örn. charset, yok sayılır).
+     * @throws IllegalArgumentException Başlık yoksa veya desteklenmeyen bir türse.
+     */
+    public static CatalogFileFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (CatalogFileFormat format : values()) {
+                if (format.contentType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Desteklenmeyen içerik türü: " + contentType + " (application/x-ndjson veya text/csv olmalı).");
+    }
+}
@@ -0,0 +1,30 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.CategoryCatalog;
+import com.chimax.chimax_backend.entity.Category;
+
+import java.util.Optional;
+
+public interface CategoryService {
+
+    /**
+     * Kategorilerin ve aktif ürün sayılarının güncel, değişmez görüntüsünü döndürür (veritabanına gidilmez).
+     * Görüntünün sürümü ETag olarak kullanılabilir.
+     */
+    CategoryCatalog.Snapshot getCategorySnapshot();
+
+    /**
+     * Ürün yazma işlemleri için kategoriyi adına göre (büyük/küçük harf duyarsız) bulur.
+     * Önce bellek içi görüntüye bakılır; bulunamazsa (örn. kategori veritabanına yeni eklendiyse)
+     * veritabanına gidilir ve görüntü yenilenir.
+     * @param name Kategori adı.
+     * @return Kategori (id ve ad dolu, persistence context'e bağlı olmayan) veya bulunamazsa boş Optional.
+     */
+    Optional<Category> findByName(String name);
+
+    /**
+     * Kategori listesini veritabanından yeniden okur (veritabanında doğrudan yapılan değişikliklerden sonra).
+     * Aktif ürün sayımları korunur.
+     */
+    void reloadCategories();
+}
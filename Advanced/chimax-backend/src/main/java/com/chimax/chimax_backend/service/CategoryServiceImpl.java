@@ -0,0 +1,53 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.CategoryCatalog;
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class CategoryServiceImpl implements CategoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
+
+    private final CategoryCatalog categoryCatalog;
+    private final CategoryRepository categoryRepository;
+
+    public CategoryServiceImpl(CategoryCatalog categoryCatalog, CategoryRepository categoryRepository) {
+        this.categoryCatalog = categoryCatalog;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public CategoryCatalog.Snapshot getCategorySnapshot() {
+        return categoryCatalog.getSnapshot();
+    }
+
+    @Override
+    public Optional<Category> findByName(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        // Her çağrıda yeni bir Category örneği döner; görüntüdeki nesneler paylaşılmaz.
+        Optional<Category> cached = categoryCatalog.getSnapshot().findByName(name)
+                .map(category -> new Category(category.getId(), category.getName()));
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Category> fromDatabase = categoryRepository.findByNameIgnoreCase(name.trim());
+        if (fromDatabase.isPresent()) {
+            logger.info("Kategori '{}' bellek içi görüntüde yoktu, veritabanından bulundu; kategori listesi yenileniyor.", name);
+            categoryCatalog.reloadCategories();
+        }
+        return fromDatabase;
+    }
+
+    @Override
+    public void reloadCategories() {
+        categoryCatalog.reloadCategories();
+    }
+}
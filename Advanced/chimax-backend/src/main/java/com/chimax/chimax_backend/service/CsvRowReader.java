@@ -0,0 +1,76 @@
+package com.chimax.chimax_backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 uyumlu, akış tabanlı CSV okuyucu. Dosyanın tamamını belleğe almadan kayıt kayıt okur;
+ * tırnak içindeki virgül, kaçışlı tırnak ("") ve satır sonlarını destekler. CRLF ve LF satır sonları kabul
+ * edilir; dosya başındaki UTF-8 BOM atlanır.
+ */
+final class CsvRowReader {
+
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private boolean started;
+
+    CsvRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Sonraki kaydın alanlarını döndürür; dosya sonunda null. Boş satır tek boş alanlı bir kayıt olarak döner.
+     */
+    List<String> next() throws IOException {
+        if (!started) {
+            started = true;
+            reader.mark(1);
+            if (reader.read() != BOM) {
+                reader.reset();
+            }
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean readAny = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            readAny = true;
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+        if (!readAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,79 @@
+package com.chimax.chimax_backend.service;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * "fields=" istek parametresiyle seçilen DTO alanları (sparse fieldset).
+ * Controller'lar seçimi yanıtın serileştirilmesinde (@JsonFilter), servisler ise seçilmeyen alanlar için
+ * gereken JOIN'leri ve LAZY ilişkileri hiç yüklememek için kullanır. "id" her zaman dahildir.
+ */
+public final class FieldSelection {
+
+    /** Seçime göre filtrelenen DTO'lardaki @JsonFilter kimliği. */
+    public static final String FILTER_ID = "sparseFields";
+
+    /** Parametre verilmediğinde: tüm alanlar. */
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields; // null ise tüm alanlar
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * "fields" parametresini çözer ve alan adlarını DTO'nun alanlarına göre doğrular.
+     * @param fields Virgülle ayrılmış alan adları (örn. "id,name,price,imageUrl"); boşsa tüm alanlar.
+     * @param dtoType Yanıttaki DTO sınıfı.
+     * @throws IllegalArgumentException Bilinmeyen bir alan adı verilirse.
+     */
+    public static FieldSelection parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = propertyNames(dtoType);
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Bilinmeyen alan: " + name + ". Geçerli alanlar: " + String.join(", ", known));
+            }
+            selected.add(name);
+        }
+        return new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /** Alanın yanıtta yer alıp almayacağını döndürür. */
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Seçilen alan adları. Tüm alanlar seçiliyse (isAll) null döner.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    private static Set<String> propertyNames(Class<?> dtoType) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Field field : dtoType.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+}
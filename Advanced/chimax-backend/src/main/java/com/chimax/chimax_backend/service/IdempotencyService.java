@@ -0,0 +1,50 @@
+package com.chimax.chimax_backend.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Idempotency-Key başlığı taşıyan yazma isteklerinin (sipariş oluşturma, ödeme başlatma) yalnızca bir kez
+ * çalıştırılmasını sağlayan servis.
+ */
+public interface IdempotencyService {
+
+    /** İstemcinin gönderdiği anahtar başlığı. */
+    String HEADER = "Idempotency-Key";
+
+    /** Yanıt önceki bir çalıştırmadan tekrar oynatıldıysa "true" olarak eklenen başlık. */
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * İşlemi anahtar başına bir kez çalıştırır ve yanıtını saklar. Aynı anahtarla gelen tekrar istekler işlemi
+     * yeniden çalıştırmadan orijinal yanıtı alır; eşzamanlı tekrarlar devam eden çalıştırmanın sonucunu bekler.
+     * Aynı anahtar farklı bir istek gövdesiyle kullanılırsa 422 döner. Yalnızca 2xx yanıtlar saklanır; 4xx/5xx
+     * yanıtlarda anahtar serbest kalır ve düzeltilmiş (veya tekrar denenen) istek işlemi yeniden çalıştırır.
+     * @param scope İşlem türü (örn. "orders"); anahtarlar kapsamlar arasında paylaşılmaz.
+     * @param principal İsteği yapan kullanıcı (e-posta).
+     * @param idempotencyKey İstemci anahtarı; null ise işlem doğrudan çalıştırılır.
+     * @param request İstek gövdesi (parmak izi için).
+     * @param action Asıl işlem. Argüman olarak kapsamlı anahtar özetini alır (anahtar yoksa null); dış servislere
+     *               (örn. Stripe) aynı anahtarı iletmek için kullanılabilir.
+     * @return İşlemin yanıtı veya saklanan yanıt.
+     */
+    ResponseEntity<?> execute(String scope, String principal, String idempotencyKey, Object request,
+                              Function<String, ResponseEntity<?>> action);
+
+    /**
+     * {@link #execute(String, String, String, Object, Function)} ile aynıdır; ancak tabloya ve tekrarlara yanıt
+     * gövdesinin kendisi yerine storedBody'nin ürettiği hali gider. Saklanmaması gereken alanları (örn. Stripe
+     * clientSecret) çıkarmak için kullanılır; ilk çağıran orijinal yanıtı alır. Tekrar oynatılan gövde JSON metnidir.
+     * @param storedBody Yanıt gövdesinden saklanacak gövdeyi üretir; orijinal nesneyi değiştirmemelidir.
+     */
+    ResponseEntity<?> execute(String scope, String principal, String idempotencyKey, Object request,
+                              Function<String, ResponseEntity<?>> action, UnaryOperator<Object> storedBody);
+
+    /**
+     * Süresi dolan anahtarları bellekten ve tablodan siler.
+     * @return Bellekten silinen anahtar sayısı.
+     */
+    int sweepExpired();
+}
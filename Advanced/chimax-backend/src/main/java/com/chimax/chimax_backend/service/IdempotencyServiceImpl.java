@@ -0,0 +1,291 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.entity.IdempotencyRecord;
+import com.chimax.chimax_backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Idempotency-Key kayıtlarını bellek içi bir indeks ve idempotency_records tablosuyla tutar.
+ *
+ * İndeks, devam eden çalıştırmaları ve tamamlanan anahtarları tutar. Aynı anahtarla eşzamanlı gelen ikinci
+ * istek işlemi yarışarak yeniden çalıştırmaz, ilk çalıştırmanın sonucunu bekler. Tabloya yazılan anahtarlar
+ * bellekte yalnızca özet, durum kodu ve bitiş zamanıyla kalır; tekrar oynatmada gövde tablodan birincil
+ * anahtarla okunur. Bellekte olmayan anahtarlar (örn. yeniden başlatma sonrası) tablodan kontrol edilir.
+ * Yalnızca 2xx yanıtlar saklanır: 4xx yanıtlar genellikle istemcinin düzelteceği (veya stok gibi değişebilecek)
+ * durumlardır ve tabloda kalıcı olarak tekrar oynatılmaları yeni bir anahtar gerektirirdi.
+ *
+ * Tek uygulama örneği varsayılır; eşzamanlı tekrar beklemesi yalnızca aynı örnek içinde geçerlidir.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final long waitTimeoutMs;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository repository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                  @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        if (ttlSeconds <= 0 || waitTimeoutMs <= 0) {
+            throw new IllegalArgumentException("app.idempotency.ttl-seconds ve wait-timeout-ms pozitif olmalıdır.");
+        }
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String scope, String principal, String idempotencyKey, Object request,
+                                     Function<String, ResponseEntity<?>> action) {
+        return execute(scope, principal, idempotencyKey, request, action, UnaryOperator.identity());
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String scope, String principal, String idempotencyKey, Object request,
+                                     Function<String, ResponseEntity<?>> action, UnaryOperator<Object> storedBody) {
+        if (idempotencyKey == null) {
+            return action.apply(null);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error",
+                    HEADER + " başlığı 1 ile " + MAX_KEY_LENGTH + " karakter arasında olmalıdır."));
+        }
+        String keyHash = sha256(scope + '\n' + principal + '\n' + idempotencyKey);
+        String requestHash = sha256(toJson(request));
+
+        Entry own = new Entry(requestHash);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(keyHash, own)) != null) {
+            if (!existing.isExpired(LocalDateTime.now())) {
+                return awaitAndReplay(keyHash, existing, requestHash);
+            }
+            entries.remove(keyHash, existing);
+        }
+        return runOnce(keyHash, own, action, storedBody);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-interval-ms:60000}")
+    public int sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        int deleted = repository.deleteExpired(now);
+        if (removed > 0 || deleted > 0) {
+            logger.info("Süresi dolan idempotency anahtarları silindi. Bellek: {}, tablo: {}, kalan: {}",
+                        removed, deleted, entries.size());
+        }
+        return removed;
+    }
+
+    // --- Yardımcı metotlar ---
+
+    // Anahtarın sahibi olan istek: önce tabloya bakar, yoksa işlemi çalıştırıp sonucu saklar.
+    private ResponseEntity<?> runOnce(String keyHash, Entry own, Function<String, ResponseEntity<?>> action,
+                                      UnaryOperator<Object> storedBody) {
+        IdempotencyRecord persisted;
+        try {
+            persisted = repository.findById(keyHash)
+                    .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            abandon(keyHash, own, e);
+            throw e;
+        }
+        if (persisted != null) {
+            Stored stored = new Stored(persisted.getRequestHash(), persisted.getStatusCode(), null, true);
+            entries.replace(keyHash, own, Entry.completed(stored, persisted.getExpiresAt()));
+            own.result.complete(stored);
+            return replayIfSameRequest(keyHash, stored, own.requestHash);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.apply(keyHash);
+        } catch (RuntimeException | Error e) {
+            abandon(keyHash, own, e); // Sonuç saklanmaz; tekrar deneme işlemi yeniden çalıştırır.
+            throw e;
+        }
+        String body;
+        try {
+            body = response.getBody() != null ? objectMapper.writeValueAsString(storedBody.apply(response.getBody())) : null;
+        } catch (JsonProcessingException e) {
+            logger.error("Yanıt idempotency kaydı için serileştirilemedi, saklanmadı.", e);
+            abandon(keyHash, own, e);
+            return response;
+        }
+
+        int statusCode = response.getStatusCode().value();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            // Saklanmaz; o sırada bekleyen eşzamanlı tekrarlar yine aynı yanıtı alır.
+            entries.remove(keyHash, own);
+            own.result.complete(new Stored(own.requestHash, statusCode, body, false));
+            return response;
+        }
+        own.result.complete(new Stored(own.requestHash, statusCode, body, false));
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        own.expiresAt = expiresAt;
+        try {
+            repository.save(new IdempotencyRecord(keyHash, own.requestHash, statusCode, body, expiresAt));
+            entries.replace(keyHash, own, Entry.completed(new Stored(own.requestHash, statusCode, null, true), expiresAt));
+        } catch (RuntimeException e) {
+            // Yanıt bellekte tam haliyle kalır; bu örnek içindeki tekrarlar yine korunur.
+            logger.error("Idempotency kaydı tabloya yazılamadı, yalnızca bellekte tutuluyor.", e);
+        }
+        return response;
+    }
+
+    // Anahtarı serbest bırakır; bekleyen tekrarlar "tamamlanamadı" yanıtı alır.
+    private void abandon(String keyHash, Entry own, Throwable cause) {
+        entries.remove(keyHash, own);
+        own.result.completeExceptionally(cause);
+    }
+
+    private ResponseEntity<?> awaitAndReplay(String keyHash, Entry entry, String requestHash) {
+        if (!entry.requestHash.equals(requestHash)) {
+            return keyReusedResponse();
+        }
+        Stored stored;
+        try {
+            stored = entry.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return conflict("Aynı " + HEADER + " ile gönderilen önceki istek hâlâ işleniyor; lütfen biraz sonra tekrar deneyin.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return conflict("Aynı " + HEADER + " ile gönderilen önceki istek hâlâ işleniyor; lütfen biraz sonra tekrar deneyin.");
+        } catch (ExecutionException e) {
+            return conflict("Aynı " + HEADER + " ile gönderilen önceki istek tamamlanamadı; lütfen tekrar deneyin.");
+        }
+        return replayIfSameRequest(keyHash, stored, requestHash);
+    }
+
+    private ResponseEntity<?> replayIfSameRequest(String keyHash, Stored stored, String requestHash) {
+        if (!stored.requestHash.equals(requestHash)) {
+            return keyReusedResponse();
+        }
+        String body = stored.body;
+        if (stored.inTable) {
+            IdempotencyRecord record = repository.findById(keyHash).orElse(null);
+            if (record == null) {
+                // Kayıt bu arada süpürüldü; anahtar serbest bırakılır.
+                entries.remove(keyHash);
+                return conflict("Aynı " + HEADER + " ile gönderilen önceki isteğin kaydı bulunamadı; lütfen tekrar deneyin.");
+            }
+            body = record.getResponseBody();
+        }
+        logger.info("Idempotent yanıt tekrar oynatıldı: Durum {}", stored.statusCode);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode).header(REPLAYED_HEADER, "true");
+        return body != null ? builder.contentType(MediaType.APPLICATION_JSON).body(body) : builder.build();
+    }
+
+    private static ResponseEntity<?> keyReusedResponse() {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(Collections.singletonMap("error",
+                HEADER + " daha önce farklı bir istek için kullanıldı. Yeni istekler için yeni bir anahtar üretin."));
+    }
+
+    private static ResponseEntity<?> conflict(String message) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("error", message));
+    }
+
+    private byte[] toJson(Object request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("İstek gövdesi idempotency kontrolü için serileştirilemedi.", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor.", e);
+        }
+    }
+
+    /**
+     * Bir çalıştırmanın sonucu. inTable ise gövde bellekte tutulmaz, tablodan okunur.
+     */
+    private static final class Stored {
+        final String requestHash;
+        final int statusCode;
+        final String body;
+        final boolean inTable;
+
+        Stored(String requestHash, int statusCode, String body, boolean inTable) {
+            this.requestHash = requestHash;
+            this.statusCode = statusCode;
+            this.body = body;
+            this.inTable = inTable;
+        }
+    }
+
+    /**
+     * İndeks girişi. Çalıştırma sürerken expiresAt null'dır ve giriş süpürülmez.
+     */
+    private static final class Entry {
+        final String requestHash;
+        final CompletableFuture<Stored> result = new CompletableFuture<>();
+        volatile LocalDateTime expiresAt;
+
+        Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        static Entry completed(Stored stored, LocalDateTime expiresAt) {
+            Entry entry = new Entry(stored.requestHash);
+            entry.result.complete(stored);
+            entry.expiresAt = expiresAt;
+            return entry;
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            LocalDateTime at = expiresAt;
+            return at != null && !at.isAfter(now);
+        }
+    }
+}
@@ -21,12 +21,21 @@ public interface OrderService {
      */
     OrderDto createOrder(CreateOrderRequestDto orderRequest, String userEmail);
 
+    /**
+     * Siparişi oluşturmadan sepeti doğrular: kullanıcı, ürünlerin varlığı, satışta olması ve stok
+     * (diğer müşterilerin tuttuğu adetler düşülerek). Asenkron sipariş, isteği kuyruğa almadan önce çağırır;
+     * stok düşümü yapılmadığı için createOrder yine de aynı kontrolleri kendi transaction'ında tekrarlar.
+     * @throws com.chimax.chimax_backend.exception.OrderValidationException Sepette hatalı kalem varsa.
+     */
+    void validateOrder(CreateOrderRequestDto orderRequest, String userEmail);
+
     /**
      * Belirli bir kullanıcıya ait tüm siparişleri getirir.
      * @param userEmail Siparişleri istenen kullanıcının e-postası.
+     * @param fields İstemcinin "fields=" seçimi; seçilmeyen kullanıcı/kalem ilişkileri veritabanından okunmaz.
      * @return Kullanıcının siparişlerinin DTO listesi.
      */
-    List<OrderDto> findOrdersByUser(String userEmail);
+    List<OrderDto> findOrdersByUser(String userEmail, FieldSelection fields);
 
     /**
      * Belirli bir siparişin detaylarını getirir (müşteri için).
@@ -47,9 +56,10 @@ public interface OrderService {
 
     /**
      * Tüm siparişleri getirir (Admin için).
+     * @param fields İstemcinin "fields=" seçimi; seçilmeyen kullanıcı/kalem ilişkileri veritabanından okunmaz.
      * @return Tüm siparişlerin DTO listesi.
      */
-    List<OrderDto> findAllOrders(); // Admin işlemi
+    List<OrderDto> findAllOrders(FieldSelection fields); // Admin işlemi
 
     /**
      * Belirli bir siparişin durumunu ve isteğe bağlı olarak kargo takip numarasını günceller (Admin için).
@@ -66,9 +76,10 @@ public interface OrderService {
      * İsteğe bağlı olarak sipariş durumuna göre filtreleme yapılabilir.
      * @param seller Siparişleri listelenecek satıcı.
      * @param statusFilter Sipariş durumu filtresi (örn: "PENDING", "SHIPPED", null ise tümü).
+     * @param fields İstemcinin "fields=" seçimi; seçilmeyen kullanıcı/kalem ilişkileri veritabanından okunmaz.
      * @return Satıcıya ait OrderDto listesi.
      */
-    List<OrderDto> getOrdersForSeller(User seller, String statusFilter);
+    List<OrderDto> getOrdersForSeller(User seller, String statusFilter, FieldSelection fields);
 
     /**
      * Satıcının, kendi ürününü içeren belirli bir siparişin detaylarını getirmesini sağlar.
@@ -3,21 +3,40 @@ package com.chimax.chimax_backend.service; // Paket adını kontrol et
 import com.chimax.chimax_backend.dto.*; // Tüm DTO'ları import et
 import com.chimax.chimax_backend.entity.*; // Tüm Entity'leri import et
 import com.chimax.chimax_backend.repository.*; // Tüm Repository'leri import et
+import com.chimax.chimax_backend.event.HotStockTakenEvent; // Geri alınan siparişte sıcak ürün stoğunu iade etmek için
+import com.chimax.chimax_backend.event.OrderChangedEvent; // Birlikte satın alma önerilerini güncellemek için
+import com.chimax.chimax_backend.event.ProductChangedEvent; // Stok değişikliklerini önbelleklere duyurmak için
+import com.chimax.chimax_backend.exception.OrderValidationException; // Sepetteki tüm hatalı kalemleri birlikte raporlamak için
+import com.chimax.chimax_backend.inventory.HotSkuInventory; // Kampanya ürünlerinde parçalı bellek içi stok
 // import com.chimax.chimax_backend.model.OrderStatus; // Eğer bir OrderStatus enum'unuz varsa
 import org.slf4j.Logger; // Loglama
 import org.slf4j.LoggerFactory; // Loglama
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort; // Sıralama için import
+import org.springframework.jdbc.core.BatchPreparedStatementSetter; // Sipariş kalemlerinin tek batch ile eklenmesi için
+import org.springframework.jdbc.core.JdbcTemplate; // Sepet stoklarının tek UPDATE ile düşülmesi için
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.AccessDeniedException; // Yetkilendirme için
 
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,24 +46,52 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockReservationService stockReservationService;
+    private final HotSkuInventory hotSkuInventory;
     // private final StripeService stripeService; // Ödeme onayı/iadesi için gerekebilir
 
     private static final List<String> COMPLETED_STATUSES = List.of("DELIVERED", "TESLİM EDİLDİ");
     private static final List<String> CANCELLED_STATUSES = List.of("CANCELLED", "İPTAL EDİLDİ");
     private static final List<String> CANCELLABLE_STATUSES = List.of("PROCESSING", "PENDING", "HAZIRLANIYOR");
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "INSERT INTO order_items (order_id, product_id, quantity, price_at_order) VALUES (?, ?, ?, ?)";
 
 
     @Autowired
     public OrderServiceImpl(OrderRepository orderRepository,
                             UserRepository userRepository,
-                            ProductRepository productRepository
+                            ProductRepository productRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            JdbcTemplate jdbcTemplate,
+                            StockReservationService stockReservationService,
+                            HotSkuInventory hotSkuInventory
                            /*, StripeService stripeService */) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockReservationService = stockReservationService;
+        this.hotSkuInventory = hotSkuInventory;
         // this.stripeService = stripeService;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void validateOrder(CreateOrderRequestDto orderRequest, String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı: " + userEmail));
+        Map<Long, Integer> requestedQuantities = requestedQuantities(orderRequest);
+        List<String> errors = cartErrors(requestedQuantities, loadProducts(requestedQuantities),
+                stockReservationService.heldByOthers(requestedQuantities.keySet(), user.getId()));
+        if (!errors.isEmpty()) {
+            logger.warn("validateOrder - Sepet doğrulanamadı: Kullanıcı={}, Hatalar={}", userEmail, errors);
+            throw new OrderValidationException(errors);
+        }
+    }
+
     @Override
     @Transactional
     public OrderDto createOrder(CreateOrderRequestDto orderRequest, String userEmail) {
@@ -70,45 +117,88 @@ public class OrderServiceImpl implements OrderService {
         order.setShippingCountry(shippingAddressDto.getCountry());
         order.setShippingPhone(shippingAddressDto.getPhone());
 
-        BigDecimal calculatedTotal = BigDecimal.ZERO;
-        for (OrderItemDto itemDto : orderRequest.getItems()) {
-            Product product = productRepository.findById(itemDto.getProductId())
-                    .orElseThrow(() -> {
-                        logger.error("createOrder - Ürün bulunamadı: ID {}", itemDto.getProductId());
-                        return new RuntimeException("Siparişinizdeki bir ürün bulunamadı: ID " + itemDto.getProductId());
-                    });
-
-            if (!product.isActive() || product.getStockQuantity() < itemDto.getQuantity()) {
-                logger.error("createOrder - Stok yetersiz veya ürün aktif değil: Ürün ID {}, İstenen {}, Kalan {}, Aktif {}",
-                             itemDto.getProductId(), itemDto.getQuantity(), product.getStockQuantity(), product.isActive());
-                throw new RuntimeException("Stok yetersiz veya ürün aktif değil: " + product.getName());
+        Map<Long, Integer> requestedQuantities = requestedQuantities(orderRequest);
+        Map<Long, Product> products = loadProducts(requestedQuantities);
+
+        // Ödeme aşamasındaki diğer müşterilerin tuttuğu adetler kullanılabilir sayılmaz; kullanıcının kendi tutması sayılır.
+        Map<Long, Integer> heldByOthers = stockReservationService.heldByOthers(requestedQuantities.keySet(), user.getId());
+        List<String> errors = cartErrors(requestedQuantities, products, heldByOthers);
+        if (!errors.isEmpty()) {
+            logger.warn("createOrder - Sepet doğrulanamadı: Kullanıcı={}, Hatalar={}", userEmail, errors);
+            throw new OrderValidationException(errors);
+        }
+
+        // Sıcak ürünler (hot SKU) products satırı yerine bellek içi parçalı sayaçtan düşülür.
+        Map<Long, Integer> hotQuantities = new LinkedHashMap<>();
+        Map<Long, Integer> coldQuantities = new LinkedHashMap<>();
+        requestedQuantities.forEach((productId, quantity) ->
+                (hotSkuInventory.isHot(productId) ? hotQuantities : coldQuantities).put(productId, quantity));
+        if (!hotQuantities.isEmpty()) {
+            int shardHint = HotSkuInventory.shardHint(user.getId());
+            List<Long> failed = hotSkuInventory.tryTakeAll(hotQuantities, heldByOthers, shardHint);
+            if (!failed.isEmpty()) {
+                logger.warn("createOrder - Sıcak ürün stoğu ayrılamadı: Kullanıcı={}, Ürünler={}", userEmail, failed);
+                throw new OrderValidationException(failed.stream()
+                        .map(productId -> "Stok yetersiz: " + products.get(productId).getName() + " (siz sipariş verirken tükendi).")
+                        .collect(Collectors.toList()));
             }
+            // Aşağıdaki adımlardan biri başarısız olup transaction geri alınırsa birimler sayaca iade edilir.
+            eventPublisher.publishEvent(new HotStockTakenEvent(hotQuantities, shardHint));
+            // Düşümün kalıcı kaydı: siparişle aynı transaction'da commit edilir, uzlaştırıcı stoğa katlar.
+            hotSkuInventory.recordTaken(hotQuantities);
+        }
 
+        // Bellekteki kontrol yalnızca kullanıcıya anlamlı hata vermek içindir; asıl güvence koşullu UPDATE'tir.
+        // Arada başka bir sipariş stoğu tükettiyse veya başka bir müşteri stoğu tuttuysa satır eşleşmez ve
+        // istisna tüm transaction'ı geri alır.
+        LocalDateTime now = LocalDateTime.now();
+        int reserved = reserveStock(coldQuantities, user.getId(), now);
+        if (reserved != coldQuantities.size()) {
+            logger.warn("createOrder - Eşzamanlı sipariş nedeniyle stok ayrılamadı: Kullanıcı={}, Beklenen {}, Ayrılan {}",
+                        userEmail, coldQuantities.size(), reserved);
+            throw new OrderValidationException(List.of("Sepetinizdeki bazı ürünlerin stoğu siz sipariş verirken tükendi. Lütfen sepetinizi kontrol edin."));
+        }
+        stockReservationService.consume(user.getId()); // Tutma stok düşümüne dönüştü; commit'ten sonra bırakılır
+
+        BigDecimal calculatedTotal = BigDecimal.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>(orderRequest.getItems().size());
+        for (OrderItemDto itemDto : orderRequest.getItems()) {
+            Product product = products.get(itemDto.getProductId());
             OrderItem orderItem = new OrderItem();
             orderItem.setProduct(product);
             orderItem.setQuantity(itemDto.getQuantity());
             orderItem.setPriceAtOrder(product.getPrice());
-            order.addOrderItem(orderItem);
+            orderItems.add(orderItem);
 
             calculatedTotal = calculatedTotal.add(
                     product.getPrice().multiply(BigDecimal.valueOf(itemDto.getQuantity()))
             );
-            product.setStockQuantity(product.getStockQuantity() - itemDto.getQuantity());
+            // Not: product.stockQuantity burada değiştirilmez; değer veritabanında güncellendi.
         }
         order.setTotalAmount(calculatedTotal);
         Order savedOrder = orderRepository.save(order);
+        // Kalemler siparişin koleksiyonuna eklenmez (cascade ile kalem başına INSERT olurdu); tek JDBC batch ile yazılır.
+        insertOrderItems(savedOrder, orderItems);
+        Set<Long> orderedProductIds = requestedQuantities.keySet();
+        if (!coldQuantities.isEmpty()) {
+            // Sıcak ürünlerin stoğu sayaçta ve defterdedir; sipariş başına önbellek güncellemesi yapılmaz.
+            eventPublisher.publishEvent(new ProductChangedEvent(coldQuantities.keySet(), ProductChangedEvent.ChangeType.STOCK_CHANGED));
+        }
+        eventPublisher.publishEvent(new OrderChangedEvent(savedOrder.getId(), orderedProductIds, OrderChangedEvent.ChangeType.PLACED));
         logger.info("Sipariş başarıyla kaydedildi: ID {}", savedOrder.getId());
-        return convertToOrderDto(savedOrder, user); // Müşteri için DTO dönüşümü
+        OrderDto orderDto = convertToOrderDto(savedOrder, user); // Müşteri için DTO dönüşümü
+        orderDto.setItems(orderItems.stream().map(this::convertOrderItemToDto).collect(Collectors.toList()));
+        return orderDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderDto> findOrdersByUser(String userEmail) {
+    public List<OrderDto> findOrdersByUser(String userEmail, FieldSelection fields) {
         logger.debug("findOrdersByUser çağrıldı: Kullanıcı={}", userEmail);
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı: " + userEmail));
         List<Order> orders = orderRepository.findByUserOrderByOrderDateDesc(user);
-        return orders.stream().map(order -> convertToOrderDto(order, user)).collect(Collectors.toList());
+        return orders.stream().map(order -> convertToOrderDto(order, user, fields)).collect(Collectors.toList());
     }
 
     @Override
@@ -136,24 +226,30 @@ public class OrderServiceImpl implements OrderService {
         }
         order.setStatus("CANCELLED");
         logger.info("Sipariş ID {} için stoklar geri yükleniyor.", orderId);
+        Map<Long, Integer> restoredQuantities = new LinkedHashMap<>();
         for (OrderItem item : order.getItems()) {
             Product product = item.getProduct();
             if (product != null) {
-                product.setStockQuantity(product.getStockQuantity() + item.getQuantity());
+                restoredQuantities.merge(product.getId(), item.getQuantity(), Integer::sum);
             }
         }
+        // createOrder'daki toplu düşümün simetriği: tüm kalemler için tek UPDATE, okunan değerin üzerine yazma yok.
+        restoreStock(restoredQuantities, LocalDateTime.now());
         Order cancelledOrder = orderRepository.save(order);
+        Set<Long> cancelledProductIds = restoredQuantities.keySet();
+        eventPublisher.publishEvent(new ProductChangedEvent(cancelledProductIds, ProductChangedEvent.ChangeType.STOCK_CHANGED));
+        eventPublisher.publishEvent(new OrderChangedEvent(orderId, cancelledProductIds, OrderChangedEvent.ChangeType.CANCELLED));
         logger.info("Sipariş ID {} başarıyla iptal edildi.", orderId);
         return convertToOrderDto(cancelledOrder, cancelledOrder.getUser());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderDto> findAllOrders() {
+    public List<OrderDto> findAllOrders(FieldSelection fields) {
         logger.debug("findAllOrders (Admin) çağrıldı.");
         List<Order> orders = orderRepository.findAll(Sort.by(Sort.Direction.DESC, "orderDate"));
         return orders.stream()
-                .map(order -> convertToOrderDto(order, order.getUser())) // Admin tüm detayları görebilir
+                .map(order -> convertToOrderDto(order, order.getUser(), fields)) // Admin tüm detayları görebilir
                 .collect(Collectors.toList());
     }
 
@@ -184,7 +280,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersForSeller(User seller, String statusFilter) {
+    public List<OrderDto> getOrdersForSeller(User seller, String statusFilter, FieldSelection fields) {
         if (seller == null) {
             logger.warn("getOrdersForSeller çağrıldı ancak satıcı bilgisi null.");
             throw new IllegalArgumentException("Satıcı bilgisi gereklidir.");
@@ -197,7 +293,7 @@ public class OrderServiceImpl implements OrderService {
             orders = orderRepository.findOrdersBySeller(seller);
         }
         // Satıcıya özel DTO dönüşümü kullanılacak
-        return orders.stream().map(order -> convertToOrderDtoForSellerView(order, seller)).collect(Collectors.toList());
+        return orders.stream().map(order -> convertToOrderDtoForSellerView(order, seller, fields)).collect(Collectors.toList());
     }
 
     @Override
@@ -272,10 +368,145 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.countOrdersBySellerAndStatus(seller, pendingStatus);
     }
 
+    // === Stok Yardımcıları ===
+
+    /**
+     * Sepetteki tüm ürünlerin stoğunu tek bir koşullu UPDATE ile düşürür (sepet boyutundan bağımsız tek ifade).
+     * Yalnızca aktif ve stoğu, başka kullanıcıların süresi dolmamış tutmaları (stock_reservations) düşüldükten
+     * sonra yeterli olan satırlar güncellenir. Tutmalar böylece bellekteki defterden bağımsız olarak yazma anında
+     * uygulanır. Dönen sayı ürün sayısından azsa en az bir ürün eşzamanlı bir siparişte tükenmiş veya başka bir
+     * müşteri tarafından tutulmuştur; çağıran taraf transaction'ı geri almalıdır.
+     * @param userId Siparişi veren kullanıcı; kendi tutması kullanılabilir sayılır.
+     * @return Güncellenen satır sayısı.
+     */
+    // Aynı ürün birden fazla satırda olabilir; doğrulama ve stok düşümü ürün başına toplam adet üzerinden yapılır.
+    private static Map<Long, Integer> requestedQuantities(CreateOrderRequestDto orderRequest) {
+        Map<Long, Integer> requestedQuantities = new LinkedHashMap<>();
+        for (OrderItemDto itemDto : orderRequest.getItems()) {
+            requestedQuantities.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum);
+        }
+        return requestedQuantities;
+    }
+
+    // Sepetteki tüm ürünler tek sorguda yüklenir (kalem başına findById yok).
+    private Map<Long, Product> loadProducts(Map<Long, Integer> requestedQuantities) {
+        return productRepository.findAllById(requestedQuantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private List<String> cartErrors(Map<Long, Integer> requestedQuantities, Map<Long, Product> products,
+                                    Map<Long, Integer> heldByOthers) {
+        List<String> errors = new ArrayList<>();
+        requestedQuantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                errors.add("Siparişinizdeki bir ürün bulunamadı: ID " + productId + ".");
+            } else if (!product.isActive()) {
+                errors.add("Ürün satışta değil: " + product.getName() + ".");
+            } else {
+                int stock = hotSkuInventory.effectiveStock(productId, product.getStockQuantity());
+                int available = stock - heldByOthers.getOrDefault(productId, 0);
+                if (available < quantity) {
+                    errors.add("Stok yetersiz: " + product.getName() + " (istenen " + quantity + ", kalan " + Math.max(0, available) + ").");
+                }
+            }
+        });
+        return errors;
+    }
+
+    private int reserveStock(Map<Long, Integer> quantities, Long userId, LocalDateTime now) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        String delta = stockDeltaCase(quantities);
+        String sql = "UPDATE products SET stock_quantity = stock_quantity - " + delta + ", updated_at = ? " +
+                     "WHERE id IN (" + idPlaceholders(quantities) + ") AND active = true AND stock_quantity - " +
+                     "COALESCE((SELECT SUM(r.quantity) FROM stock_reservations r WHERE r.product_id = products.id " +
+                     "AND r.user_id <> ? AND r.expires_at > ?), 0) >= " + delta;
+        List<Object> args = new ArrayList<>(List.of(stockArgs(quantities, now)));
+        args.add(userId);
+        args.add(Timestamp.valueOf(now));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * Sipariş kalemlerini tek bir JDBC batch ile ekler ve üretilen ID'leri kalemlere yazar. IDENTITY anahtarlı
+     * order_items satırlarını Hibernate batch'leyemez; rewriteBatchedStatements açıkken MySQL'de bu batch
+     * tek bir çok satırlı INSERT olarak gider.
+     */
+    private void insertOrderItems(Order order, List<OrderItem> orderItems) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_ORDER_ITEM_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderItem orderItem = orderItems.get(i);
+                        ps.setLong(1, order.getId());
+                        ps.setLong(2, orderItem.getProduct().getId());
+                        ps.setInt(3, orderItem.getQuantity());
+                        ps.setBigDecimal(4, orderItem.getPriceAtOrder());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orderItems.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != orderItems.size()) {
+            throw new IllegalStateException("Üretilen anahtar sayısı (" + keys.size() + ") kalem sayısıyla (" + orderItems.size() + ") eşleşmiyor.");
+        }
+        for (int i = 0; i < orderItems.size(); i++) {
+            OrderItem orderItem = orderItems.get(i);
+            orderItem.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            orderItem.setOrder(order);
+        }
+    }
+
+    /**
+     * reserveStock'un simetriği: iptal edilen kalemlerin stoğunu tek bir UPDATE ile geri ekler.
+     */
+    private void restoreStock(Map<Long, Integer> quantities, LocalDateTime now) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE products SET stock_quantity = stock_quantity + " + stockDeltaCase(quantities) + ", updated_at = ? " +
+                     "WHERE id IN (" + idPlaceholders(quantities) + ")";
+        jdbcTemplate.update(sql, stockArgs(quantities, now));
+    }
+
+    // "CASE id WHEN <id> THEN <adet> ... END". Değerler Long/Integer olduğu için doğrudan yazılır; parametreli
+    // CASE dallarının tipini bazı veritabanları (örn. H2) çıkaramaz.
+    private static String stockDeltaCase(Map<Long, Integer> quantities) {
+        StringBuilder sql = new StringBuilder("CASE id");
+        quantities.forEach((productId, quantity) -> sql.append(" WHEN ").append(productId.longValue())
+                .append(" THEN ").append(quantity.intValue()));
+        return sql.append(" END").toString();
+    }
+
+    private static String idPlaceholders(Map<Long, Integer> quantities) {
+        return String.join(",", Collections.nCopies(quantities.size(), "?"));
+    }
+
+    private static Object[] stockArgs(Map<Long, Integer> quantities, LocalDateTime now) {
+        List<Object> args = new ArrayList<>(quantities.size() + 1);
+        args.add(Timestamp.valueOf(now)); // JDBC ile güncellendiği için @UpdateTimestamp çalışmaz
+        args.addAll(quantities.keySet());
+        return args.toArray();
+    }
+
     // === Yardımcı Dönüşüm Metotları ===
 
     // Genel Order -> OrderDto dönüşümü (Müşteri veya Admin için)
     private OrderDto convertToOrderDto(Order order, User perspectiveUser) {
+        return convertToOrderDto(order, perspectiveUser, FieldSelection.ALL);
+    }
+
+    // "fields=" seçiminde olmayan ilişkiler (kullanıcı, kalemler) hiç okunmaz; LAZY oldukları için ek SELECT atılmaz.
+    private OrderDto convertToOrderDto(Order order, User perspectiveUser, FieldSelection fields) {
         OrderDto dto = new OrderDto();
         dto.setId(order.getId());
         dto.setOrderDate(order.getOrderDate());
@@ -284,7 +515,7 @@ public class OrderServiceImpl implements OrderService {
         dto.setPaymentMethod(order.getPaymentMethod());
         dto.setTrackingNumber(order.getTrackingNumber());
 
-        if (order.getUser() != null) { // Siparişi veren kullanıcı bilgisi
+        if (fields.includes("user") && order.getUser() != null) { // Siparişi veren kullanıcı bilgisi
             UserDto customerDto = new UserDto();
             customerDto.setId(order.getUser().getId());
             customerDto.setFirstName(order.getUser().getFirstName());
@@ -293,16 +524,11 @@ public class OrderServiceImpl implements OrderService {
             dto.setUser(customerDto); // OrderDto'da UserDto alanı olduğunu varsayıyoruz
         }
         
-        AddressDto addressDto = new AddressDto();
-        addressDto.setFullName(order.getShippingFullName());
-        addressDto.setAddressLine1(order.getShippingAddressLine1());
-        addressDto.setCity(order.getShippingCity());
-        addressDto.setPostalCode(order.getShippingPostalCode());
-        addressDto.setCountry(order.getShippingCountry());
-        addressDto.setPhone(order.getShippingPhone());
-        dto.setShippingAddress(addressDto);
+        if (fields.includes("shippingAddress")) {
+            dto.setShippingAddress(toAddressDto(order));
+        }
 
-        if (order.getItems() != null) {
+        if (fields.includes("items") && order.getItems() != null) {
             dto.setItems(order.getItems().stream()
                 .map(this::convertOrderItemToDto)
                 .collect(Collectors.toList()));
@@ -313,6 +539,10 @@ public class OrderServiceImpl implements OrderService {
     // Satıcı perspektifinden Order -> OrderDto dönüşümü
     // Bu metot, satıcının sadece kendi ürünlerini ve görmesi gereken bilgileri içerecek şekilde özelleştirilebilir.
     private OrderDto convertToOrderDtoForSellerView(Order order, User seller) {
+        return convertToOrderDtoForSellerView(order, seller, FieldSelection.ALL);
+    }
+
+    private OrderDto convertToOrderDtoForSellerView(Order order, User seller, FieldSelection fields) {
         OrderDto dto = new OrderDto();
         dto.setId(order.getId());
         dto.setOrderDate(order.getOrderDate());
@@ -321,7 +551,7 @@ public class OrderServiceImpl implements OrderService {
         dto.setTrackingNumber(order.getTrackingNumber()); // Satıcı kargo takibini görebilir
 
         // Müşteri bilgileri (satıcı için önemli olabilir)
-        if (order.getUser() != null) {
+        if (fields.includes("user") && order.getUser() != null) {
             UserDto customerDto = new UserDto();
             // Müşterinin tüm bilgilerini vermek yerine sadece gerekli olanları verebilirsiniz.
             // Örneğin, sadece isim veya bir müşteri ID'si.
@@ -334,19 +564,15 @@ public class OrderServiceImpl implements OrderService {
         }
 
         // Kargo Adresi (satıcı için önemli)
-        AddressDto addressDto = new AddressDto();
-        addressDto.setFullName(order.getShippingFullName());
-        addressDto.setAddressLine1(order.getShippingAddressLine1());
-        addressDto.setCity(order.getShippingCity());
-        addressDto.setPostalCode(order.getShippingPostalCode());
-        addressDto.setCountry(order.getShippingCountry());
-        addressDto.setPhone(order.getShippingPhone());
-        dto.setShippingAddress(addressDto);
+        if (fields.includes("shippingAddress")) {
+            dto.setShippingAddress(toAddressDto(order));
+        }
 
         // Sipariş kalemleri: SADECE BU SATICIYA AİT OLANLARI filtrele ve DTO'ya çevir
         // ve bu kalemlere göre siparişin satıcıya düşen toplam tutarını hesapla.
         BigDecimal sellerSpecificTotalAmount = BigDecimal.ZERO;
-        if (order.getItems() != null) {
+        dto.setTotalAmount(order.getTotalAmount()); // Kalemler istenmese de (fields) genel toplam gösterilir
+        if (fields.includes("items") && order.getItems() != null) {
             List<OrderItemDto> sellerItemDtos = order.getItems().stream()
                     .filter(item -> item.getProduct() != null &&
                                    item.getProduct().getSeller() != null &&
@@ -369,13 +595,23 @@ public class OrderServiceImpl implements OrderService {
             // Eğer her bir OrderItemDto'da satıcıya ait ürünlerin fiyatı varsa, dto.items üzerinden toplanabilir.
             // Veya siparişin genel toplamını gösterip, satıcının kendi ürünlerinin detayını göstermek yeterli olabilir.
             // Şimdilik siparişin genel toplamını kullanıyoruz.
-            dto.setTotalAmount(order.getTotalAmount()); 
             // Alternatif: Satıcıya özel toplamı hesapla
             // dto.setTotalAmount(sellerSpecificTotalAmount);
         }
         return dto;
     }
 
+    private AddressDto toAddressDto(Order order) {
+        AddressDto addressDto = new AddressDto();
+        addressDto.setFullName(order.getShippingFullName());
+        addressDto.setAddressLine1(order.getShippingAddressLine1());
+        addressDto.setCity(order.getShippingCity());
+        addressDto.setPostalCode(order.getShippingPostalCode());
+        addressDto.setCountry(order.getShippingCountry());
+        addressDto.setPhone(order.getShippingPhone());
+        return addressDto;
+    }
+
     private OrderItemDto convertOrderItemToDto(OrderItem item) {
         OrderItemDto itemDto = new OrderItemDto();
         itemDto.setId(item.getId()); // OrderItem ID'si
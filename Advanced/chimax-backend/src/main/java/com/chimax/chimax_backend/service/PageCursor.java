@@ -0,0 +1,62 @@
+package com.chimax.chimax_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset sayfalamada kullanılan opak imleçleri (cursor) üretir ve çözer.
+ * İmleç, istemciye iç yapısı gösterilmeden URL güvenli Base64 olarak iletilir.
+ */
+public final class PageCursor {
+
+    private static final String ID_PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Son görülen ürün ID'sinden opak bir imleç üretir.
+     * @param lastId Sayfadaki son kaydın ID'si.
+     * @return URL güvenli imleç.
+     */
+    public static String encodeId(long lastId) {
+        return encode(ID_PREFIX + lastId);
+    }
+
+    /**
+     * İmleci çözer ve son görülen ID'yi döndürür. İmleç boşsa ilk sayfa için 0 döner.
+     * @param cursor İstemciden gelen imleç (null olabilir).
+     * @return Son görülen ID.
+     * @throws IllegalArgumentException İmleç bozuk veya geçersizse.
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String raw = decode(cursor);
+        if (!raw.startsWith(ID_PREFIX)) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci.");
+        }
+        try {
+            long id = Long.parseLong(raw.substring(ID_PREFIX.length()));
+            if (id < 0) {
+                throw new IllegalArgumentException("Geçersiz sayfa imleci.");
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci.", e);
+        }
+    }
+
+    static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci.", e);
+        }
+    }
+}
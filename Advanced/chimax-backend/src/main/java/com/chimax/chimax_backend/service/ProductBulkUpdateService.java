@@ -0,0 +1,26 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductBulkUpdateItemDto;
+import com.chimax.chimax_backend.dto.ProductBulkUpdateReportDto;
+import com.chimax.chimax_backend.entity.User;
+
+import java.util.List;
+
+public interface ProductBulkUpdateService {
+
+    /**
+     * Herhangi bir ürünün fiyat, stok ve aktiflik alanlarını toplu olarak günceller (admin).
+     * @param items Uygulanacak değişiklikler. Null alanlar değiştirilmez.
+     * @return İstekteki sırayla her kalemin sonucu.
+     */
+    ProductBulkUpdateReportDto bulkUpdate(List<ProductBulkUpdateItemDto> items);
+
+    /**
+     * Satıcının kendi ürünlerinde fiyat, stok ve aktiflik alanlarını toplu olarak günceller.
+     * Sahiplik kontrolü UPDATE ifadesinin kendisinde yapılır; başka satıcının ürünleri NOT_FOUND döner.
+     * @param items Uygulanacak değişiklikler. Null alanlar değiştirilmez.
+     * @param seller Ürünlerin sahibi olması gereken satıcı.
+     * @return İstekteki sırayla her kalemin sonucu.
+     */
+    ProductBulkUpdateReportDto bulkUpdateForSeller(List<ProductBulkUpdateItemDto> items, User seller);
+}
@@ -0,0 +1,171 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductBulkUpdateItemDto;
+import com.chimax.chimax_backend.dto.ProductBulkUpdateReportDto;
+import com.chimax.chimax_backend.dto.ProductBulkUpdateResultDto;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.event.ProductChangedEvent;
+import com.chimax.chimax_backend.event.StockSetEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ProductBulkUpdateServiceImpl implements ProductBulkUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBulkUpdateServiceImpl.class);
+
+    // Null parametreler COALESCE ile mevcut değeri korur; tek ifade tüm alan kombinasyonlarını karşılar ve
+    // batch içindeki tüm satırlar aynı PreparedStatement ile gönderilebilir.
+    private static final String UPDATE_SQL =
+            "UPDATE products SET price = COALESCE(?, price), stock_quantity = COALESCE(?, stock_quantity), " +
+            "active = COALESCE(?, active), updated_at = ? WHERE id = ?";
+    private static final String SELLER_SCOPE = " AND seller_user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductBulkUpdateServiceImpl(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public ProductBulkUpdateReportDto bulkUpdate(List<ProductBulkUpdateItemDto> items) {
+        return apply(items, null);
+    }
+
+    @Override
+    @Transactional
+    public ProductBulkUpdateReportDto bulkUpdateForSeller(List<ProductBulkUpdateItemDto> items, User seller) {
+        if (seller == null || seller.getId() == null) {
+            throw new IllegalArgumentException("Toplu güncelleme için geçerli satıcı bilgisi gereklidir.");
+        }
+        return apply(items, seller.getId());
+    }
+
+    /**
+     * Geçerli kalemleri tek bir JDBC batch ile uygular ve değişen ürünler için tek bir olay yayınlar.
+     * @param sellerId Null ise kapsam tüm ürünlerdir (admin); değilse yalnızca bu satıcının ürünleri.
+     */
+    private ProductBulkUpdateReportDto apply(List<ProductBulkUpdateItemDto> items, Long sellerId) {
+        long start = System.currentTimeMillis();
+        List<ProductBulkUpdateResultDto> results = new ArrayList<>(items.size());
+        List<ProductBulkUpdateItemDto> batch = new ArrayList<>(items.size());
+        List<ProductBulkUpdateResultDto> batchResults = new ArrayList<>(items.size());
+        Set<Long> seen = new HashSet<>();
+
+        for (ProductBulkUpdateItemDto item : items) {
+            ProductBulkUpdateResultDto result = new ProductBulkUpdateResultDto(item.getProductId(), null, null);
+            results.add(result);
+            if (!seen.add(item.getProductId())) {
+                result.setStatus(ProductBulkUpdateResultDto.STATUS_SKIPPED);
+                result.setMessage("Ürün aynı istekte birden fazla kez gönderildi; yalnızca ilki uygulandı.");
+            } else if (item.getPrice() == null && item.getStockQuantity() == null && item.getActive() == null) {
+                result.setStatus(ProductBulkUpdateResultDto.STATUS_SKIPPED);
+                result.setMessage("Güncellenecek alan yok (price, stockQuantity veya active gönderilmeli).");
+            } else {
+                batch.add(item);
+                batchResults.add(result);
+            }
+        }
+
+        List<Long> updatedIds = new ArrayList<>();
+        Map<Long, Integer> stockSets = new LinkedHashMap<>();
+        boolean stockOnly = true;
+        if (!batch.isEmpty()) {
+            String sql = sellerId == null ? UPDATE_SQL : UPDATE_SQL + SELLER_SCOPE;
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now()); // JDBC ile güncellendiği için @UpdateTimestamp çalışmaz
+            int[][] counts = jdbcTemplate.batchUpdate(sql, batch, batch.size(), (ps, item) -> {
+                ps.setObject(1, item.getPrice(), Types.DECIMAL);
+                ps.setObject(2, item.getStockQuantity(), Types.INTEGER);
+                ps.setObject(3, item.getActive(), Types.BOOLEAN);
+                ps.setTimestamp(4, now);
+                ps.setLong(5, item.getProductId());
+                if (sellerId != null) {
+                    ps.setLong(6, sellerId);
+                }
+            });
+
+            Set<Long> matched = matchedIds(batch, counts[0], sellerId);
+            for (int i = 0; i < batch.size(); i++) {
+                ProductBulkUpdateItemDto item = batch.get(i);
+                ProductBulkUpdateResultDto result = batchResults.get(i);
+                if (matched.contains(item.getProductId())) {
+                    result.setStatus(ProductBulkUpdateResultDto.STATUS_UPDATED);
+                    updatedIds.add(item.getProductId());
+                    if (item.getStockQuantity() != null) {
+                        stockSets.put(item.getProductId(), item.getStockQuantity());
+                    }
+                    stockOnly &= item.getPrice() == null && item.getActive() == null;
+                } else {
+                    result.setStatus(ProductBulkUpdateResultDto.STATUS_NOT_FOUND);
+                    result.setMessage(sellerId == null ? "Ürün bulunamadı." : "Ürün bulunamadı veya bu ürüne erişim yetkiniz yok.");
+                }
+            }
+        }
+
+        if (!updatedIds.isEmpty()) {
+            // Önbellek ve indeksler commit'ten sonra, tüm batch için tek seferde güncellenir.
+            eventPublisher.publishEvent(new ProductChangedEvent(updatedIds,
+                    stockOnly ? ProductChangedEvent.ChangeType.STOCK_CHANGED : ProductChangedEvent.ChangeType.UPDATED));
+        }
+        if (!stockSets.isEmpty()) {
+            // Mutlak stok yazımı; sıcak moddaki ürünlerin sayaçları commit'ten sonra bu değerlere ayarlanır.
+            eventPublisher.publishEvent(new StockSetEvent(stockSets));
+        }
+        logger.info("Toplu ürün güncellemesi tamamlandı. Kapsam: {}, istenen: {}, güncellenen: {}, süre: {} ms",
+                    sellerId == null ? "admin" : "satıcı " + sellerId, items.size(), updatedIds.size(), System.currentTimeMillis() - start);
+        return new ProductBulkUpdateReportDto(items.size(), updatedIds.size(), results);
+    }
+
+    /**
+     * UPDATE ifadesinin eşleştiği ürün ID'lerini döndürür. Sürücü satır bazlı sayı döndürmediyse
+     * (SUCCESS_NO_INFO), eşleşen ürünler aynı transaction içinde tek bir sorguyla belirlenir.
+     */
+    private Set<Long> matchedIds(List<ProductBulkUpdateItemDto> batch, int[] counts, Long sellerId) {
+        Set<Long> matched = new HashSet<>();
+        boolean countsKnown = true;
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                countsKnown = false;
+                break;
+            }
+            if (counts[i] > 0) {
+                matched.add(batch.get(i).getProductId());
+            }
+        }
+        if (countsKnown) {
+            return matched;
+        }
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        batch.forEach(item -> ids.add(item.getProductId()));
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        String sql = "SELECT id FROM products WHERE id IN (:ids)";
+        if (sellerId != null) {
+            sql += " AND seller_user_id = :sellerId";
+            params.addValue("sellerId", sellerId);
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(sql, params, Long.class));
+    }
+}
@@ -0,0 +1,22 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductDetailDto;
+
+import java.util.Optional;
+
+/**
+ * Ürün detay sayfası için birleşik yanıtı oluşturan servis.
+ */
+public interface ProductDetailService {
+
+    /** Detay yanıtında dönen ilk yorum sayfasının boyutu. */
+    int FIRST_REVIEW_PAGE_SIZE = 5;
+
+    /**
+     * Ürünü (satıcı bilgisiyle), puan özetini ve en yeni yorumların ilk sayfasını getirir.
+     * Üç bağımsız sorgu paralel çalışır; yanıt süresi en yavaş sorgu kadardır.
+     * @param productId Ürün ID'si.
+     * @return ProductDetailDto içeren Optional veya ürün bulunamazsa boş Optional.
+     */
+    Optional<ProductDetailDto> getProductDetail(Long productId);
+}
@@ -0,0 +1,66 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.CursorPageDto;
+import com.chimax.chimax_backend.dto.ProductDetailDto;
+import com.chimax.chimax_backend.dto.ProductResponseDto;
+import com.chimax.chimax_backend.dto.RatingSummaryDto;
+import com.chimax.chimax_backend.dto.ReviewDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Service
+public class ProductDetailServiceImpl implements ProductDetailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductDetailServiceImpl.class);
+
+    private final ProductService productService;
+    private final ReviewService reviewService;
+    private final Executor executor;
+
+    public ProductDetailServiceImpl(ProductService productService,
+                                    ReviewService reviewService,
+                                    @Qualifier("productDetailExecutor") Executor executor) {
+        this.productService = productService;
+        this.reviewService = reviewService;
+        this.executor = executor;
+    }
+
+    /**
+     * Sorgular: ürün + kategori + satıcı (tek JOIN), yıldız dağılımı (tek GROUP BY) ve yorum sayfası
+     * (kullanıcı adıyla birlikte tek projeksiyon). Her biri kendi kısa read-only transaction'ında çalışır;
+     * bu metot transaction açmaz, böylece bağlantı paralel sorgular beklenirken tutulmaz.
+     */
+    @Override
+    public Optional<ProductDetailDto> getProductDetail(Long productId) {
+        long start = System.currentTimeMillis();
+        CompletableFuture<Optional<ProductResponseDto>> product =
+                CompletableFuture.supplyAsync(() -> productService.findProductById(productId), executor);
+        CompletableFuture<RatingSummaryDto> ratingSummary =
+                CompletableFuture.supplyAsync(() -> reviewService.getRatingSummary(productId), executor);
+        CompletableFuture<CursorPageDto<ReviewDto>> reviews =
+                CompletableFuture.supplyAsync(() -> reviewService.getReviewPage(productId, null, FIRST_REVIEW_PAGE_SIZE), executor);
+
+        try {
+            CompletableFuture.allOf(product, ratingSummary, reviews).join();
+        } catch (CompletionException e) {
+            // Asıl hatayı (örn. DataAccessException) sarmalamadan çağırana ilet.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        Optional<ProductDetailDto> detail = product.join()
+                .map(dto -> new ProductDetailDto(dto, ratingSummary.join(), reviews.join()));
+        logger.debug("Ürün ID {} detay sayfası {} ms'de oluşturuldu (bulundu: {}).",
+                     productId, System.currentTimeMillis() - start, detail.isPresent());
+        return detail;
+    }
+}
@@ -0,0 +1,87 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductResponseDto;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import com.chimax.chimax_backend.dto.SellerInfoResponseDto;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.User;
+
+/**
+ * Product entity'sini ProductResponseDto/ProductSummaryDto'ya dönüştüren ortak yardımcı sınıf.
+ * Hem ProductServiceImpl hem de bellek içi katalog indeksleri aynı dönüşümü kullanır.
+ */
+public final class ProductDtoMapper {
+
+    private ProductDtoMapper() {
+    }
+
+    /**
+     * Ürünü yanıt DTO'suna çevirir. Satıcı LAZY olduğu için açık bir transaction/oturum içinde çağrılmalıdır.
+     * @param product Dönüştürülecek ürün (null olabilir).
+     * @return ProductResponseDto veya ürün null ise null.
+     */
+    public static ProductResponseDto toResponseDto(Product product) {
+        if (product == null) {
+            return null;
+        }
+        ProductResponseDto dto = new ProductResponseDto();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice()); // Product entity'sinde BigDecimal olduğunu varsayıyoruz
+        dto.setImageUrl(product.getImageUrl());
+
+        if (product.getCategory() != null) {
+            dto.setCategory(product.getCategory().getName());
+        } else {
+            dto.setCategory(null); // Kategori yoksa null ata
+        }
+
+        dto.setType(product.getType());
+        dto.setActive(product.isActive()); // Aktiflik durumu DTO'ya eklendi
+        dto.setStockQuantity(product.getStockQuantity()); // Stok miktarı DTO'ya eklendi
+        dto.setAverageRating(product.getAverageRating());
+        dto.setReviewCount(product.getReviewCount());
+        dto.setCreatedAt(product.getCreatedAt());
+
+        User sellerEntity = product.getSeller(); // LAZY fetch için transaction içinde olmalı
+        if (sellerEntity != null) {
+            SellerInfoResponseDto sellerDto = new SellerInfoResponseDto(
+                sellerEntity.getId(),
+                sellerEntity.getFirstName(),
+                sellerEntity.getLastName()
+            );
+            dto.setSeller(sellerDto);
+        }
+        return dto;
+    }
+
+    /**
+     * Ürünü liste görünümleri için özet DTO'ya çevirir (açıklama hariç).
+     * Bellek içi indeksler gibi entity'nin zaten elde olduğu yerlerde kullanılır; veritabanından okunan listeler
+     * doğrudan ProductRepository projeksiyonlarıyla oluşturulur.
+     * @param product Dönüştürülecek ürün (null olabilir).
+     * @return ProductSummaryDto veya ürün null ise null.
+     */
+    public static ProductSummaryDto toSummaryDto(Product product) {
+        if (product == null) {
+            return null;
+        }
+        User seller = product.getSeller(); // LAZY fetch için transaction içinde olmalı
+        return new ProductSummaryDto(
+                product.getId(),
+                product.getName(),
+                product.getPrice(),
+                product.getImageUrl(),
+                product.getCategory() != null ? product.getCategory().getName() : null,
+                product.getType(),
+                product.isActive(),
+                product.getStockQuantity(),
+                seller != null ? seller.getId() : null,
+                seller != null ? seller.getFirstName() : null,
+                seller != null ? seller.getLastName() : null,
+                product.getAverageRating(),
+                product.getReviewCount(),
+                product.getCreatedAt());
+    }
+}
@@ -0,0 +1,17 @@
+package com.chimax.chimax_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    /**
+     * Tüm aktif ürünleri verilen akışa, veritabanından okundukça satır satır yazar.
+     * Katalog boyutundan bağımsız olarak sabit bellek kullanır. Akış bu metot tarafından kapatılmaz.
+     * @param out Yazılacak akış (örn. HTTP yanıt gövdesi, gerekirse GZIP ile sarılmış).
+     * @param format Çıktı biçimi.
+     * @return Yazılan ürün sayısı.
+     * @throws IOException Akışa yazılamazsa (örn. istemci bağlantıyı kapattıysa).
+     */
+    long exportActiveProducts(OutputStream out, CatalogFileFormat format) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductResponseDto;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final String[] CSV_HEADER = {
+            "id", "name", "description", "price", "category", "type", "imageUrl", "stockQuantity", "sellerId"
+    };
+
+    private final ProductRepository productRepository;
+    private final ObjectWriter jsonWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductExportServiceImpl(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        // Her satırdan sonra alttaki Writer'ın kapanmaması için AUTO_CLOSE_TARGET kapatılır.
+        this.jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportActiveProducts(OutputStream out, CatalogFileFormat format) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == CatalogFileFormat.CSV) {
+            writeCsvRow(writer, CSV_HEADER);
+        }
+
+        try (Stream<Product> products = productRepository.streamAllActive()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                if (format == CatalogFileFormat.CSV) {
+                    writeCsv(writer, product);
+                } else {
+                    jsonWriter.writeValue(writer, ProductDtoMapper.toResponseDto(product));
+                    writer.write('\n');
+                }
+                // Yazılan ürün persistence context'ten çıkarılır; böylece bellek kullanımı katalog boyutuyla büyümez.
+                // Kategori ve satıcı (sayıca az) context'te kalır ve sonraki satırlarda tekrar sorgulanmaz.
+                entityManager.detach(product);
+                count++;
+            }
+        }
+        writer.flush();
+        logger.info("Katalog dışa aktarıldı. Biçim: {}, ürün sayısı: {}, süre: {} ms", format, count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private void writeCsv(Writer writer, Product product) throws IOException {
+        writeCsvRow(writer, new String[] {
+                String.valueOf(product.getId()),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice() != null ? product.getPrice().toPlainString() : null,
+                product.getCategory() != null ? product.getCategory().getName() : null,
+                product.getType(),
+                product.getImageUrl(),
+                String.valueOf(product.getStockQuantity()),
+                product.getSeller() != null ? String.valueOf(product.getSeller().getId()) : null
+        });
+    }
+
+    /**
+     * RFC 4180 uyumlu bir CSV satırı yazar: virgül, tırnak veya satır sonu içeren alanlar tırnak içine alınır.
+     */
+    private void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,24 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductFacetResultDto;
+
+import java.util.List;
+
+public interface ProductFacetService {
+
+    /**
+     * Aktif ürünleri kategori, tip, fiyat aralığı ve satıcıya göre filtreler ve
+     * her filtre değeri için ürün sayılarını aynı yanıtta döndürür. Veritabanına gidilmez.
+     * Aynı filtre içindeki birden fazla değer VEYA, farklı filtreler VE ile birleştirilir.
+     * @param categories Kategori adları (null/boş: filtre yok).
+     * @param types Ürün tipleri.
+     * @param priceBands Fiyat aralıkları (örn. "500-1000", "5000+").
+     * @param sellerIds Satıcı ID'leri.
+     * @param page Sayfa numarası (0'dan başlar).
+     * @param size Sayfa boyutu (sunucu tarafında üst sınır uygulanır).
+     * @return Sayfadaki ürünler ve facet sayımları.
+     * @throws IllegalArgumentException Sayfa numarası negatifse.
+     */
+    ProductFacetResultDto filter(List<String> categories, List<String> types, List<String> priceBands,
+                                 List<String> sellerIds, int page, int size);
+}
@@ -0,0 +1,72 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ActiveProductStore;
+import com.chimax.chimax_backend.catalog.ProductFacetIndex;
+import com.chimax.chimax_backend.catalog.ProductFacetIndex.Facet;
+import com.chimax.chimax_backend.dto.FacetValueCountDto;
+import com.chimax.chimax_backend.dto.ProductFacetResultDto;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductFacetIndex productFacetIndex;
+    private final ActiveProductStore activeProductStore;
+
+    public ProductFacetServiceImpl(ProductFacetIndex productFacetIndex, ActiveProductStore activeProductStore) {
+        this.productFacetIndex = productFacetIndex;
+        this.activeProductStore = activeProductStore;
+    }
+
+    @Override
+    public ProductFacetResultDto filter(List<String> categories, List<String> types, List<String> priceBands,
+                                        List<String> sellerIds, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Sayfa numarası negatif olamaz.");
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        Map<Facet, Set<String>> selections = new EnumMap<>(Facet.class);
+        putSelection(selections, Facet.CATEGORY, categories);
+        putSelection(selections, Facet.TYPE, types);
+        putSelection(selections, Facet.PRICE, priceBands);
+        putSelection(selections, Facet.SELLER, sellerIds);
+
+        // Çok büyük sayfa numaralarında int taşmasın; sonuçların ötesindeki ofset boş sayfa döndürür.
+        int offset = (int) Math.min((long) page * pageSize, Integer.MAX_VALUE);
+        ProductFacetIndex.FacetQueryResult result = productFacetIndex.query(selections, offset, pageSize);
+        List<ProductSummaryDto> items = activeProductStore.getAll(result.getProductIds());
+
+        Map<String, List<FacetValueCountDto>> facets = new LinkedHashMap<>();
+        for (Map.Entry<Facet, List<FacetValueCountDto>> entry : result.getFacetCounts().entrySet()) {
+            facets.put(entry.getKey().getKey(), entry.getValue());
+        }
+        return new ProductFacetResultDto(result.getTotalHits(), page, pageSize, items, facets);
+    }
+
+    private void putSelection(Map<Facet, Set<String>> selections, Facet facet, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        Set<String> cleaned = new HashSet<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                cleaned.add(value.trim());
+            }
+        }
+        if (!cleaned.isEmpty()) {
+            selections.put(facet, cleaned);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductImportReportDto;
+import com.chimax.chimax_backend.entity.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Satıcının ürünlerini bir CSV veya NDJSON dosyasından toplu olarak oluşturur.
+     * Dosya akış olarak okunur; geçerli satırlar parçalar (chunk) halinde JDBC batch ile eklenir ve her parça
+     * kendi transaction'ında commit edilir. Hatalı satırlar atlanır ve raporda gerekçesiyle listelenir.
+     *
+     * CSV dosyasının ilk satırı başlıktır; sütunlar ada göre eşlenir (name, description, price, category, type,
+     * imageUrl, stockQuantity, active). Bilinmeyen sütunlar yok sayılır, bu yüzden dışa aktarım çıktısı doğrudan
+     * geri yüklenebilir.
+     * @param in Dosya içeriği (UTF-8). Bu metot tarafından kapatılmaz.
+     * @param format Dosya biçimi.
+     * @param seller Ürünlerin sahibi olacak satıcı.
+     * @return Satır bazlı sonuç raporu.
+     * @throws IOException Akış okunamazsa.
+     * @throws IllegalArgumentException CSV başlığı eksik veya geçersizse.
+     */
+    ProductImportReportDto importProducts(InputStream in, CatalogFileFormat format, User seller) throws IOException;
+}
@@ -0,0 +1,375 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductDto;
+import com.chimax.chimax_backend.dto.ProductImportReportDto;
+import com.chimax.chimax_backend.dto.ProductImportRowResultDto;
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.event.ProductChangedEvent;
+import com.chimax.chimax_backend.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, category_id, type, image_url, stock_quantity, active, seller_user_id, " +
+            "average_rating, review_count, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)";
+
+    /** CSV başlığında tanınan sütunlar (küçük harfle). */
+    private static final List<String> CSV_COLUMNS = List.of(
+            "name", "description", "price", "category", "type", "imageurl", "stockquantity", "active");
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final int batchSize;
+    private final int maxRows;
+
+    public ProductImportServiceImpl(CategoryRepository categoryRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.catalog.import.batch-size:500}") int batchSize,
+                                    @Value("${app.catalog.import.max-rows:50000}") int maxRows) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(ProductDto.class);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRows = Math.max(1, maxRows);
+    }
+
+    @Override
+    public ProductImportReportDto importProducts(InputStream in, CatalogFileFormat format, User seller) throws IOException {
+        if (seller == null || seller.getId() == null) {
+            throw new IllegalArgumentException("Ürün içe aktarmak için geçerli satıcı bilgisi gereklidir.");
+        }
+        long start = System.currentTimeMillis();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource source = format == CatalogFileFormat.CSV ? new CsvRowSource(new CsvRowReader(reader)) : new NdjsonRowSource(reader);
+
+        // Kategori adları içe aktarım başında bir kez okunur; satır başına sorgu atılmaz.
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.put(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+        }
+
+        List<ProductImportRowResultDto> results = new ArrayList<>();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        int rowNumber = 0;
+        boolean truncated = false;
+        ParsedRow parsed;
+        while ((parsed = source.next()) != null) {
+            if (rowNumber >= maxRows) {
+                truncated = true;
+                break;
+            }
+            rowNumber++;
+            ProductImportRowResultDto result = new ProductImportRowResultDto(rowNumber, null, null, new ArrayList<>());
+            results.add(result);
+
+            List<String> errors = result.getErrors();
+            errors.addAll(parsed.errors);
+            Long categoryId = null;
+            if (parsed.product != null) {
+                for (ConstraintViolation<ProductDto> violation : validator.validate(parsed.product)) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                String categoryName = parsed.product.getCategory();
+                if (categoryName == null || categoryName.isBlank()) {
+                    errors.add("category: Kategori adı boş olamaz.");
+                } else {
+                    categoryId = categoryIds.get(categoryName.trim().toLowerCase(Locale.ROOT));
+                    if (categoryId == null) {
+                        errors.add("category: Belirtilen kategori '" + categoryName + "' bulunamadı.");
+                    }
+                }
+            }
+            if (!errors.isEmpty()) {
+                result.setStatus(ProductImportRowResultDto.STATUS_FAILED);
+                continue;
+            }
+
+            chunk.add(new PendingRow(parsed.product, categoryId, result));
+            if (chunk.size() >= batchSize) {
+                insertChunk(chunk, seller);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, seller);
+        }
+
+        int created = 0;
+        for (ProductImportRowResultDto result : results) {
+            if (ProductImportRowResultDto.STATUS_CREATED.equals(result.getStatus())) {
+                created++;
+            }
+        }
+        logger.info("Satıcı (ID: {}) toplu içe aktarım tamamladı. Biçim: {}, satır: {}, oluşturulan: {}, hatalı: {}, kesildi: {}, süre: {} ms",
+                    seller.getId(), format, results.size(), created, results.size() - created, truncated, System.currentTimeMillis() - start);
+        return new ProductImportReportDto(results.size(), created, results.size() - created, truncated, results);
+    }
+
+    /**
+     * Bir parçayı tek bir JDBC batch ve tek transaction ile ekler. Parça başarısız olursa yalnızca o parçanın
+     * satırları hatalı işaretlenir; önceki parçalar commit edilmiş olarak kalır.
+     */
+    private void insertChunk(List<PendingRow> chunk, User seller) {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                // JDBC ile eklendiği için @CreationTimestamp çalışmaz; zaman damgası parça için bir kez alınır.
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(
+                        connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                bindRow(ps, chunk.get(i), seller, now);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return chunk.size();
+                            }
+                        },
+                        keyHolder);
+
+                List<Map<String, Object>> keys = keyHolder.getKeyList();
+                if (keys.size() != chunk.size()) {
+                    throw new IllegalStateException("Üretilen anahtar sayısı (" + keys.size() + ") satır sayısıyla (" + chunk.size() + ") eşleşmiyor.");
+                }
+                List<Long> generated = new ArrayList<>(keys.size());
+                for (Map<String, Object> key : keys) {
+                    generated.add(((Number) key.values().iterator().next()).longValue());
+                }
+                // Önbellek ve arama indeksleri commit'ten sonra parça başına bir kez güncellenir.
+                eventPublisher.publishEvent(new ProductChangedEvent(generated, ProductChangedEvent.ChangeType.CREATED));
+                return generated;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                ProductImportRowResultDto result = chunk.get(i).result;
+                result.setStatus(ProductImportRowResultDto.STATUS_CREATED);
+                result.setProductId(ids.get(i));
+            }
+        } catch (DataAccessException | IllegalStateException e) {
+            String reason = e instanceof DataAccessException dae ? dae.getMostSpecificCause().getMessage() : e.getMessage();
+            logger.error("Satıcı (ID: {}) içe aktarımında {} satırlık parça eklenemedi: {}", seller.getId(), chunk.size(), e.getMessage(), e);
+            for (PendingRow row : chunk) {
+                row.result.setStatus(ProductImportRowResultDto.STATUS_FAILED);
+                row.result.getErrors().add("Veritabanı hatası nedeniyle satır eklenemedi: " + reason);
+            }
+        }
+    }
+
+    private static void bindRow(PreparedStatement ps, PendingRow row, User seller, Timestamp now) throws SQLException {
+        ProductDto product = row.product;
+        ps.setString(1, product.getName().trim());
+        ps.setString(2, product.getDescription());
+        ps.setBigDecimal(3, product.getPrice());
+        ps.setLong(4, row.categoryId);
+        if (product.getType() != null) {
+            ps.setString(5, product.getType());
+        } else {
+            ps.setNull(5, Types.VARCHAR);
+        }
+        if (product.getImageUrl() != null) {
+            ps.setString(6, product.getImageUrl());
+        } else {
+            ps.setNull(6, Types.VARCHAR);
+        }
+        ps.setInt(7, product.getStockQuantity());
+        ps.setBoolean(8, product.getActive());
+        ps.setLong(9, seller.getId());
+        ps.setTimestamp(10, now);
+        ps.setTimestamp(11, now);
+    }
+
+    // --- Satır kaynakları ---
+
+    private interface RowSource {
+        /** Sonraki veri satırı; dosya sonunda null. Boş satırlar atlanır. */
+        ParsedRow next() throws IOException;
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(ndjsonReader.readValue(line), List.of());
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(null, List.of("Geçersiz JSON: " + e.getOriginalMessage()));
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final CsvRowReader reader;
+        /** Tanınan sütun adı → dosyadaki sütun indeksi. */
+        private Map<String, Integer> columns;
+
+        private CsvRowSource(CsvRowReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                return toRow(fields);
+            }
+            return null;
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV dosyası boş; ilk satır sütun başlıklarını içermelidir.");
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (CSV_COLUMNS.contains(name)) {
+                    columns.put(name, i);
+                }
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price")) {
+                throw new IllegalArgumentException("CSV başlığında en az 'name' ve 'price' sütunları bulunmalıdır.");
+            }
+        }
+
+        private ParsedRow toRow(List<String> fields) {
+            ProductDto product = new ProductDto();
+            List<String> errors = new ArrayList<>();
+            product.setName(field(fields, "name"));
+            product.setDescription(field(fields, "description"));
+            product.setCategory(field(fields, "category"));
+            product.setType(field(fields, "type"));
+            product.setImageUrl(field(fields, "imageurl"));
+
+            String price = field(fields, "price");
+            if (price != null) {
+                try {
+                    product.setPrice(new BigDecimal(price));
+                } catch (NumberFormatException e) {
+                    errors.add("price: Geçersiz sayı: " + price);
+                }
+            }
+            // Boş bırakılan stok ve aktiflik alanlarında DTO'nun varsayılanları kullanılır.
+            String stock = field(fields, "stockquantity");
+            if (stock != null) {
+                try {
+                    product.setStockQuantity(Integer.parseInt(stock));
+                } catch (NumberFormatException e) {
+                    errors.add("stockQuantity: Geçersiz tamsayı: " + stock);
+                }
+            }
+            String active = field(fields, "active");
+            if (active != null) {
+                if ("true".equalsIgnoreCase(active) || "1".equals(active)) {
+                    product.setActive(true);
+                } else if ("false".equalsIgnoreCase(active) || "0".equals(active)) {
+                    product.setActive(false);
+                } else {
+                    errors.add("active: true veya false olmalı: " + active);
+                }
+            }
+            return new ParsedRow(product, errors);
+        }
+
+        /** Sütunun kırpılmış değeri; sütun yoksa veya boşsa null. */
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static final class ParsedRow {
+        private final ProductDto product; // Ayrıştırılamadıysa null
+        private final List<String> errors;
+
+        private ParsedRow(ProductDto product, List<String> errors) {
+            this.product = product;
+            this.errors = errors;
+        }
+    }
+
+    private static final class PendingRow {
+        private final ProductDto product;
+        private final Long categoryId;
+        private final ProductImportRowResultDto result;
+
+        private PendingRow(ProductDto product, Long categoryId, ProductImportRowResultDto result) {
+            this.product = product;
+            this.categoryId = categoryId;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+
+import java.util.List;
+
+public interface ProductRecommendationService {
+
+    /**
+     * Ürünle aynı siparişlerde en sık birlikte satın alınan aktif ürünleri (çok → az) döndürür.
+     * Bellek içi birlikte satın alma matrisinden okunur, veritabanına gidilmez.
+     * @param productId Ürün ID'si.
+     * @param limit En fazla ürün sayısı (sunucu tarafında üst sınır uygulanır).
+     * @return Önerilen ürünler (sipariş geçmişi yoksa boş liste).
+     */
+    List<ProductSummaryDto> findFrequentlyBoughtTogether(Long productId, int limit);
+}
@@ -0,0 +1,30 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ActiveProductStore;
+import com.chimax.chimax_backend.catalog.CoPurchaseIndex;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ProductRecommendationServiceImpl implements ProductRecommendationService {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final ActiveProductStore activeProductStore;
+
+    public ProductRecommendationServiceImpl(CoPurchaseIndex coPurchaseIndex, ActiveProductStore activeProductStore) {
+        this.coPurchaseIndex = coPurchaseIndex;
+        this.activeProductStore = activeProductStore;
+    }
+
+    @Override
+    public List<ProductSummaryDto> findFrequentlyBoughtTogether(Long productId, int limit) {
+        int effectiveLimit = Math.max(0, Math.min(limit, MAX_LIMIT));
+        // Pasif/silinmiş komşular ActiveProductStore'da bulunmaz ve atlanır; bu yüzden ilk K komşunun tamamı istenir.
+        List<ProductSummaryDto> related = activeProductStore.getAll(coPurchaseIndex.related(productId, coPurchaseIndex.getTopK()));
+        return related.size() > effectiveLimit ? related.subList(0, effectiveLimit) : related;
+    }
+}
@@ -0,0 +1,17 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductSearchResultDto;
+
+public interface ProductSearchService {
+
+    /**
+     * Aktif ürünlerde ad, tip, kategori ve açıklama üzerinden tam metin araması yapar.
+     * Arama bellek içi indeks üzerinde çalışır, veritabanına gidilmez.
+     * @param query Arama metni.
+     * @param page Sayfa numarası (0'dan başlar).
+     * @param size Sayfa boyutu (sunucu tarafında üst sınır uygulanır).
+     * @return Alaka puanına göre sıralı sonuçlar.
+     * @throws IllegalArgumentException Sorgu boşsa veya sayfa numarası negatifse.
+     */
+    ProductSearchResultDto search(String query, int page, int size);
+}
@@ -0,0 +1,53 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ActiveProductStore;
+import com.chimax.chimax_backend.catalog.ProductSearchIndex;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import com.chimax.chimax_backend.dto.ProductSearchResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ActiveProductStore activeProductStore;
+
+    public ProductSearchServiceImpl(ProductSearchIndex productSearchIndex, ActiveProductStore activeProductStore) {
+        this.productSearchIndex = productSearchIndex;
+        this.activeProductStore = activeProductStore;
+    }
+
+    @Override
+    public ProductSearchResultDto search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Arama metni boş olamaz.");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Sayfa numarası negatif olamaz.");
+        }
+        String trimmedQuery = query.trim();
+        if (trimmedQuery.length() > MAX_QUERY_LENGTH) {
+            trimmedQuery = trimmedQuery.substring(0, MAX_QUERY_LENGTH);
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        long start = System.nanoTime();
+        // Çok büyük sayfa numaralarında int taşmasın; sonuçların ötesindeki ofset boş sayfa döndürür.
+        int offset = (int) Math.min((long) page * pageSize, Integer.MAX_VALUE);
+        ProductSearchIndex.SearchHits hits = productSearchIndex.search(trimmedQuery, offset, pageSize);
+        List<ProductSummaryDto> items = activeProductStore.getAll(hits.getProductIds());
+        logger.debug("Arama '{}': {} sonuç, {} µs", trimmedQuery, hits.getTotalHits(), (System.nanoTime() - start) / 1000);
+
+        return new ProductSearchResultDto(trimmedQuery, hits.getTotalHits(), page, pageSize, items);
+    }
+}
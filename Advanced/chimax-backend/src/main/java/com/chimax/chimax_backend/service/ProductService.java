@@ -1,7 +1,9 @@
 package com.chimax.chimax_backend.service;
 
+import com.chimax.chimax_backend.dto.CursorPageDto; // İmleç tabanlı sayfalama yanıtı
 import com.chimax.chimax_backend.dto.ProductDto; // İstekler için kullanılan DTO
 import com.chimax.chimax_backend.dto.ProductResponseDto; // Yanıtlar için yeni DTO
+import com.chimax.chimax_backend.dto.ProductSummaryDto; // Liste görünümleri için hafif DTO
 import com.chimax.chimax_backend.entity.User;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
@@ -12,9 +14,39 @@ public interface ProductService {
     // --- Genel Kullanıcı ve Admin için Metotlar (DTO Yanıtları ile) ---
     /**
      * Tüm aktif ürünleri listeler (genellikle tüm kullanıcılar için).
-     * @return Aktif ürünlerin ProductResponseDto listesi.
+     * Açıklama alanı içermeyen özet DTO'lar döner; tam detay için findProductById kullanılmalıdır.
+     * @return Aktif ürünlerin ProductSummaryDto listesi.
      */
-    List<ProductResponseDto> findAllActiveProducts();
+    List<ProductSummaryDto> findAllActiveProducts();
+
+    /**
+     * Aktif ürünleri keyset (imleç) sayfalaması ile listeler. Filtreleme veritabanında yapılır.
+     * @param cursor Önceki sayfadan dönen opak imleç (ilk sayfa için null).
+     * @param size İstenen sayfa boyutu (sunucu tarafında üst sınır uygulanır).
+     * @return Sayfadaki ürünler ve bir sonraki sayfanın imleci.
+     * @throws IllegalArgumentException İmleç geçersizse.
+     */
+    CursorPageDto<ProductSummaryDto> findActiveProductsPage(String cursor, int size);
+
+    /**
+     * findActiveProductsPage ile aynı; seçimde kategori ve satıcı yoksa bunlar veritabanından hiç okunmaz (JOIN yapılmaz).
+     * @param fields İstemcinin "fields=" seçimi.
+     */
+    CursorPageDto<ProductSummaryDto> findActiveProductsPage(String cursor, int size, FieldSelection fields);
+
+    /**
+     * Tüm ürünleri (aktif ve pasif) keyset sayfalaması ile listeler (Admin için).
+     * @param cursor Önceki sayfadan dönen opak imleç (ilk sayfa için null).
+     * @param size İstenen sayfa boyutu.
+     * @return Sayfadaki ürünler ve bir sonraki sayfanın imleci.
+     */
+    CursorPageDto<ProductSummaryDto> findAllProductsPage(String cursor, int size);
+
+    /**
+     * findAllProductsPage ile aynı; seçimde kategori ve satıcı yoksa bunlar veritabanından hiç okunmaz.
+     * @param fields İstemcinin "fields=" seçimi.
+     */
+    CursorPageDto<ProductSummaryDto> findAllProductsPage(String cursor, int size, FieldSelection fields);
 
     /**
      * Belirli bir ID'ye sahip aktif bir ürünü getirir (genellikle tüm kullanıcılar için).
@@ -58,9 +90,9 @@ public interface ProductService {
     /**
      * Belirtilen satıcıya ait tüm ürünleri listeler.
      * @param seller Ürünleri listelenecek satıcı.
-     * @return Satıcıya ait ürünlerin ProductResponseDto listesi.
+     * @return Satıcıya ait ürünlerin ProductSummaryDto listesi.
      */
-    List<ProductResponseDto> getProductsBySeller(User seller);
+    List<ProductSummaryDto> getProductsBySeller(User seller);
 
     /**
      * Belirtilen satıcıya ait, verilen ID'ye sahip ürünü getirir.
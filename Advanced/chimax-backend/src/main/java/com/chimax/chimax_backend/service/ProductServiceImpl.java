@@ -1,27 +1,32 @@
 package com.chimax.chimax_backend.service;
 
+import com.chimax.chimax_backend.dto.CursorPageDto; // İmleç tabanlı sayfalama yanıtı
 import com.chimax.chimax_backend.dto.ProductDto; // İstekler için kullanılan DTO
 import com.chimax.chimax_backend.dto.ProductResponseDto; // Yanıtlar için yeni DTO
-import com.chimax.chimax_backend.dto.SellerInfoResponseDto; // Satıcı bilgileri için DTO
+import com.chimax.chimax_backend.dto.ProductSummaryDto; // Liste görünümleri için hafif DTO
 import com.chimax.chimax_backend.entity.Category; // Category entity'si
 import com.chimax.chimax_backend.entity.Product;
 import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.event.ProductChangedEvent; // Önbellek/indeks geçersiz kılma olayı
+import com.chimax.chimax_backend.event.StockSetEvent; // Mutlak stok yazımını sıcak ürün sayaçlarına bildirmek için
 import com.chimax.chimax_backend.exception.FileStorageException;
 import com.chimax.chimax_backend.exception.ResourceNotFoundException; // Kategori bulunamazsa fırlatılacak istisna
-import com.chimax.chimax_backend.repository.CategoryRepository; // CategoryRepository
 import com.chimax.chimax_backend.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImpl implements ProductService {
@@ -29,61 +34,94 @@ public class ProductServiceImpl implements ProductService {
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
     private final ProductRepository productRepository;
     private final FileStorageService fileStorageService;
-    private final CategoryRepository categoryRepository; // CategoryRepository enjekte edildi
+    private final CategoryService categoryService; // Kategoriler bellek içi görüntüden çözülür
+    private final ApplicationEventPublisher eventPublisher; // Ürün değişikliklerini önbelleklere duyurmak için
     private static final String PRODUCT_IMAGE_SUBDIRECTORY = "product-images";
+    static final int DEFAULT_PAGE_SIZE = 24;
+    static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
     public ProductServiceImpl(ProductRepository productRepository,
                               FileStorageService fileStorageService,
-                              CategoryRepository categoryRepository) { // Constructor'a CategoryRepository eklendi
+                              CategoryService categoryService, // Kategori adı → kategori çözümlemesi için
+                              ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.fileStorageService = fileStorageService;
-        this.categoryRepository = categoryRepository;
+        this.categoryService = categoryService;
+        this.eventPublisher = eventPublisher;
     }
 
     // --- Entity'den DTO'ya Dönüşüm Yardımcı Metodu ---
     private ProductResponseDto convertToProductResponseDto(Product product) {
-        if (product == null) {
-            return null;
-        }
-        ProductResponseDto dto = new ProductResponseDto();
-        dto.setId(product.getId());
-        dto.setName(product.getName());
-        dto.setDescription(product.getDescription());
-        dto.setPrice(product.getPrice()); // Product entity'sinde BigDecimal olduğunu varsayıyoruz
-        dto.setImageUrl(product.getImageUrl());
-        
-        if (product.getCategory() != null) {
-            dto.setCategory(product.getCategory().getName());
-        } else {
-            dto.setCategory(null); // Kategori yoksa null ata
-        }
-        
-        dto.setType(product.getType());
-        dto.setActive(product.isActive()); // Aktiflik durumu DTO'ya eklendi
-        dto.setStockQuantity(product.getStockQuantity()); // Stok miktarı DTO'ya eklendi
-
-        User sellerEntity = product.getSeller(); // LAZY fetch için transaction içinde olmalı
-        if (sellerEntity != null) {
-            SellerInfoResponseDto sellerDto = new SellerInfoResponseDto(
-                sellerEntity.getId(),
-                sellerEntity.getFirstName(),
-                sellerEntity.getLastName()
-            );
-            dto.setSeller(sellerDto);
-        }
-        return dto;
+        // Dönüşüm, bellek içi katalog indeksleriyle ortak kullanılabilmesi için ProductDtoMapper'a taşındı.
+        return ProductDtoMapper.toResponseDto(product);
     }
 
     // --- Genel Kullanıcı ve Admin için Metotlar (DTO Yanıtları ile) ---
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> findAllActiveProducts() {
-        logger.debug("Tüm aktif ürünler (DTO olarak) getiriliyor...");
-        return productRepository.findAll().stream()
-                .filter(Product::isActive) // Sadece aktif olanları filtrele
-                .map(this::convertToProductResponseDto)
-                .collect(Collectors.toList());
+    public List<ProductSummaryDto> findAllActiveProducts() {
+        logger.debug("Tüm aktif ürünler (özet DTO olarak) getiriliyor...");
+        // Filtreleme veritabanında yapılır; açıklama okunmaz, kategori ve satıcı tek sorguda JOIN edilir.
+        return productRepository.findActiveSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductSummaryDto> findActiveProductsPage(String cursor, int size) {
+        return findActiveProductsPage(cursor, size, FieldSelection.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductSummaryDto> findActiveProductsPage(String cursor, int size, FieldSelection fields) {
+        long afterId = PageCursor.decodeId(cursor);
+        int pageSize = normalizePageSize(size);
+        logger.debug("Aktif ürünler sayfası getiriliyor. afterId={}, size={}", afterId, pageSize);
+        // Bir fazla kayıt istenir; fazlalık varsa bir sonraki sayfa vardır (COUNT sorgusu gerekmez).
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ProductSummaryDto> products = needsRelations(fields)
+                ? productRepository.findActiveSummariesAfterId(afterId, limit)
+                : productRepository.findActiveLeanSummariesAfterId(afterId, limit);
+        return toCursorPage(products, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductSummaryDto> findAllProductsPage(String cursor, int size) {
+        return findAllProductsPage(cursor, size, FieldSelection.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductSummaryDto> findAllProductsPage(String cursor, int size, FieldSelection fields) {
+        long afterId = PageCursor.decodeId(cursor);
+        int pageSize = normalizePageSize(size);
+        logger.debug("Tüm ürünler (Admin) sayfası getiriliyor. afterId={}, size={}", afterId, pageSize);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ProductSummaryDto> products = needsRelations(fields)
+                ? productRepository.findSummariesAfterId(afterId, limit)
+                : productRepository.findLeanSummariesAfterId(afterId, limit);
+        return toCursorPage(products, pageSize);
+    }
+
+    /** Kategori veya satıcı istenmiyorsa JOIN'siz projeksiyon yeterlidir. */
+    private static boolean needsRelations(FieldSelection fields) {
+        return fields.includes("category") || fields.includes("seller");
+    }
+
+    private CursorPageDto<ProductSummaryDto> toCursorPage(List<ProductSummaryDto> products, int pageSize) {
+        boolean hasNext = products.size() > pageSize;
+        List<ProductSummaryDto> items = hasNext ? new ArrayList<>(products.subList(0, pageSize)) : products;
+        String nextCursor = hasNext ? PageCursor.encodeId(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDto<>(items, nextCursor, hasNext, pageSize);
+    }
+
+    private int normalizePageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
     @Override
@@ -107,7 +145,7 @@ public class ProductServiceImpl implements ProductService {
             logger.error("Admin createProduct: Kategori adı DTO'da boş veya null.");
             throw new IllegalArgumentException("Kategori adı boş olamaz.");
         }
-        Category categoryEntity = categoryRepository.findByNameIgnoreCase(categoryName)
+        Category categoryEntity = categoryService.findByName(categoryName)
             .orElseThrow(() -> {
                 logger.warn("Admin createProduct: Kategori '{}' bulunamadı.", categoryName);
                 return new ResourceNotFoundException("Belirtilen kategori '" + categoryName + "' bulunamadı.");
@@ -127,6 +165,7 @@ public class ProductServiceImpl implements ProductService {
         // product.setSeller(null); 
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct.getId(), ProductChangedEvent.ChangeType.CREATED));
         logger.info("Admin tarafından yeni ürün (ID: {}) oluşturuldu. Kategori: {}, Aktif: {}",
                      savedProduct.getId(), (savedProduct.getCategory() != null ? savedProduct.getCategory().getName() : "N/A"), savedProduct.isActive());
         return convertToProductResponseDto(savedProduct);
@@ -142,7 +181,7 @@ public class ProductServiceImpl implements ProductService {
             logger.error("Admin updateProduct: Kategori adı DTO'da boş veya null. Ürün ID: {}", id);
             throw new IllegalArgumentException("Kategori adı boş olamaz.");
         }
-        Category categoryEntity = categoryRepository.findByNameIgnoreCase(categoryName)
+        Category categoryEntity = categoryService.findByName(categoryName)
             .orElseThrow(() -> {
                 logger.warn("Admin updateProduct: Kategori '{}' bulunamadı. Ürün ID: {}", categoryName, id);
                 return new ResourceNotFoundException("Belirtilen kategori '" + categoryName + "' bulunamadı.");
@@ -157,10 +196,14 @@ public class ProductServiceImpl implements ProductService {
                     existingProduct.setCategory(categoryEntity);
                     existingProduct.setType(productDto.getType());
                     existingProduct.setImageUrl(productDto.getImageUrl());
-                    existingProduct.setStockQuantity(productDto.getStockQuantity() != null ? productDto.getStockQuantity() : existingProduct.getStockQuantity());
+                    boolean stockSet = applyStockQuantity(existingProduct, productDto.getStockQuantity());
                     existingProduct.setActive(productDto.getActive() != null ? productDto.getActive() : existingProduct.isActive());
                                  
                     Product updatedProduct = productRepository.save(existingProduct);
+                    eventPublisher.publishEvent(ProductChangedEvent.of(updatedProduct.getId(), ProductChangedEvent.ChangeType.UPDATED));
+                    if (stockSet) {
+                        eventPublisher.publishEvent(new StockSetEvent(Map.of(updatedProduct.getId(), updatedProduct.getStockQuantity())));
+                    }
                     logger.info("Admin tarafından ürün (ID: {}) güncellendi. Kategori: {}, Aktif: {}",
                                  updatedProduct.getId(), (updatedProduct.getCategory() != null ? updatedProduct.getCategory().getName() : "N/A"), updatedProduct.isActive());
                     return convertToProductResponseDto(updatedProduct);
@@ -179,6 +222,7 @@ public class ProductServiceImpl implements ProductService {
         
         productToDelete.setActive(false); // Ürünü pasif yap
         productRepository.save(productToDelete);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id, ProductChangedEvent.ChangeType.DEACTIVATED));
         logger.info("Admin tarafından ürün (ID: {}) başarıyla pasif yapıldı.", id);
         // Resim dosyası bu durumda silinmez.
     }
@@ -199,7 +243,7 @@ public class ProductServiceImpl implements ProductService {
             logger.error("Satıcı createProduct: Kategori adı DTO'da boş veya null. Satıcı ID: {}", seller.getId());
             throw new IllegalArgumentException("Kategori adı boş olamaz.");
         }
-        Category categoryEntity = categoryRepository.findByNameIgnoreCase(categoryName)
+        Category categoryEntity = categoryService.findByName(categoryName)
             .orElseThrow(() -> {
                 logger.warn("Satıcı createProduct: Kategori '{}' bulunamadı. Satıcı ID: {}", categoryName, seller.getId());
                 return new ResourceNotFoundException(
@@ -234,6 +278,7 @@ public class ProductServiceImpl implements ProductService {
         }
         
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct.getId(), ProductChangedEvent.ChangeType.CREATED));
         logger.info("Satıcı (ID: {}) tarafından yeni ürün (ID: {}) oluşturuldu. Kategori: {}, Aktif: {}", 
                      seller.getId(), savedProduct.getId(), (savedProduct.getCategory() != null ? savedProduct.getCategory().getName() : "N/A"), savedProduct.isActive());
         return convertToProductResponseDto(savedProduct);
@@ -241,7 +286,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> getProductsBySeller(User seller) {
+    public List<ProductSummaryDto> getProductsBySeller(User seller) {
         if (seller == null || seller.getId() == null) {
             logger.warn("getProductsBySeller (DTO) çağrıldı ancak satıcı veya satıcı ID'si null.");
             throw new IllegalArgumentException("Satıcı bilgisi gereklidir.");
@@ -250,11 +295,10 @@ public class ProductServiceImpl implements ProductService {
         // Satıcının hem aktif hem pasif ürünlerini getirmek için findAllBySeller kullanılabilir.
         // Eğer sadece aktifler isteniyorsa findBySellerAndActiveTrue repository metodu olmalı.
         // Şimdilik tüm ürünlerini getirdiğini varsayalım ve DTO'da active durumu belirtiliyor.
-        List<Product> products = productRepository.findBySeller(seller); // findBySeller repository metodu olmalı
+        // Özet projeksiyon: ürün başına satıcı/rol SELECT'i atılmaz, açıklama okunmaz.
+        List<ProductSummaryDto> products = productRepository.findSummariesBySellerId(seller.getId());
         logger.info("Satıcı (ID: {}) için {} adet ürün bulundu.", seller.getId(), products.size());
-        return products.stream()
-                       .map(this::convertToProductResponseDto)
-                       .collect(Collectors.toList());
+        return products;
     }
 
     @Override
@@ -293,7 +337,7 @@ public class ProductServiceImpl implements ProductService {
             logger.error("Satıcı updateProduct: Kategori adı DTO'da boş veya null. Ürün ID: {}, Satıcı ID: {}", productId, seller.getId());
             throw new IllegalArgumentException("Kategori adı boş olamaz.");
         }
-        Category categoryEntity = categoryRepository.findByNameIgnoreCase(categoryName)
+        Category categoryEntity = categoryService.findByName(categoryName)
             .orElseThrow(() -> {
                 logger.warn("Satıcı updateProduct: Kategori '{}' bulunamadı. Ürün ID: {}, Satıcı ID: {}", categoryName, productId, seller.getId());
                 return new ResourceNotFoundException("Belirtilen kategori '" + categoryName + "' bulunamadı.");
@@ -305,7 +349,7 @@ public class ProductServiceImpl implements ProductService {
         existingProduct.setPrice(productDto.getPrice());
         existingProduct.setCategory(categoryEntity);
         existingProduct.setType(productDto.getType());
-        existingProduct.setStockQuantity(productDto.getStockQuantity() != null ? productDto.getStockQuantity() : existingProduct.getStockQuantity());
+        boolean stockSet = applyStockQuantity(existingProduct, productDto.getStockQuantity());
         existingProduct.setActive(productDto.getActive() != null ? productDto.getActive() : existingProduct.isActive());
 
         if (imageFile != null && !imageFile.isEmpty()) {
@@ -335,6 +379,10 @@ public class ProductServiceImpl implements ProductService {
         // }
 
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.of(updatedProduct.getId(), ProductChangedEvent.ChangeType.UPDATED));
+        if (stockSet) {
+            eventPublisher.publishEvent(new StockSetEvent(Map.of(updatedProduct.getId(), updatedProduct.getStockQuantity())));
+        }
         logger.info("Ürün (ID: {}) satıcı (ID: {}) tarafından güncellendi. Kategori: {}, Aktif: {}", 
                      updatedProduct.getId(), seller.getId(), (updatedProduct.getCategory() != null ? updatedProduct.getCategory().getName() : "N/A"), updatedProduct.isActive());
         return Optional.of(convertToProductResponseDto(updatedProduct));
@@ -353,6 +401,21 @@ public class ProductServiceImpl implements ProductService {
         
         productToDelete.setActive(false); // Ürünü pasif yap
         productRepository.save(productToDelete);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId, ProductChangedEvent.ChangeType.DEACTIVATED));
         logger.info("Ürün (ID: {}) satıcı (ID: {}) tarafından başarıyla pasif yapıldı.", productId, seller.getId());
     }
+
+    /**
+     * Formdan gelen stok değerini uygular. Değer yoksa veya okunan değerle aynıysa stok değiştirilmez
+     * (@DynamicUpdate sayesinde UPDATE'e de girmez); böylece eski stoğu yeniden gönderen bir form, arada
+     * satılan birimleri geri eklemez.
+     * @return Stok yeni bir değere yazıldıysa true.
+     */
+    private static boolean applyStockQuantity(Product product, Integer stockQuantity) {
+        if (stockQuantity == null || stockQuantity.equals(product.getStockQuantity())) {
+            return false;
+        }
+        product.setStockQuantity(stockQuantity);
+        return true;
+    }
 }
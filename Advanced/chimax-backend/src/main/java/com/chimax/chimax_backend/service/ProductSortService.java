@@ -0,0 +1,19 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.CursorPageDto;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+
+public interface ProductSortService {
+
+    /**
+     * Aktif ürünlerin istenen ölçüte göre sıralanmış bir sayfasını imleç (keyset) sayfalamasıyla getirir.
+     * Sıralama bellek içi indekslerden okunur; maliyet katalog boyutuna değil sayfa boyutuna bağlıdır.
+     * @param sort Sıralama: "price_asc", "price_desc", "newest" veya "rating". "rating" önce ortalama puana
+     *             (yüksekten düşüğe), eşitlikte yorum sayısına (çoktan aza), en son ürün ID'sine göre sıralar.
+     * @param cursor Önceki sayfanın nextCursor değeri (ilk sayfa için null). Aynı sıralamaya ait olmalıdır.
+     * @param size Sayfa boyutu (sunucu tarafında üst sınır uygulanır).
+     * @return Sayfadaki ürünler ve sonraki sayfa imleci.
+     * @throws IllegalArgumentException Sıralama veya imleç geçersizse.
+     */
+    CursorPageDto<ProductSummaryDto> findSortedPage(String sort, String cursor, int size);
+}
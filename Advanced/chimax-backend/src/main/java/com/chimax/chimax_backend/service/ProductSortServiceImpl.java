@@ -0,0 +1,78 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ActiveProductStore;
+import com.chimax.chimax_backend.catalog.ProductSortIndex;
+import com.chimax.chimax_backend.dto.CursorPageDto;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ProductSortServiceImpl implements ProductSortService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSortServiceImpl.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_PREFIX = "sort:";
+
+    private final ProductSortIndex productSortIndex;
+    private final ActiveProductStore activeProductStore;
+
+    public ProductSortServiceImpl(ProductSortIndex productSortIndex, ActiveProductStore activeProductStore) {
+        this.productSortIndex = productSortIndex;
+        this.activeProductStore = activeProductStore;
+    }
+
+    @Override
+    public CursorPageDto<ProductSummaryDto> findSortedPage(String sort, String cursor, int size) {
+        ProductSortIndex.Sort sortOrder = ProductSortIndex.Sort.fromKey(sort);
+        ProductSortIndex.Entry after = decodeCursor(sortOrder, cursor);
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        long start = System.nanoTime();
+        // Bir fazla kayıt istenir; fazlalık varsa bir sonraki sayfa vardır.
+        List<ProductSortIndex.Entry> entries = productSortIndex.page(sortOrder, after, pageSize + 1);
+        boolean hasNext = entries.size() > pageSize;
+        if (hasNext) {
+            entries = entries.subList(0, pageSize);
+        }
+        List<Long> ids = new ArrayList<>(entries.size());
+        entries.forEach(entry -> ids.add(entry.getProductId()));
+        List<ProductSummaryDto> items = activeProductStore.getAll(ids);
+        String nextCursor = hasNext ? encodeCursor(sortOrder, entries.get(entries.size() - 1)) : null;
+        logger.debug("Sıralı sayfa ({}): {} ürün, {} µs", sortOrder.getKey(), items.size(), (System.nanoTime() - start) / 1000);
+
+        return new CursorPageDto<>(items, nextCursor, hasNext, pageSize);
+    }
+
+    /**
+     * İmleç, son kaydın sıralama değerlerini taşır; böylece ürün bu arada değişse veya silinse bile
+     * sonraki sayfa doğru konumdan başlar.
+     */
+    private static String encodeCursor(ProductSortIndex.Sort sort, ProductSortIndex.Entry last) {
+        return PageCursor.encode(CURSOR_PREFIX + sort.getKey() + ":" + last.getPrice().toPlainString() + ":" + last.getCreatedAt()
+                + ":" + last.getAverageRating() + ":" + last.getReviewCount() + ":" + last.getProductId());
+    }
+
+    private static ProductSortIndex.Entry decodeCursor(ProductSortIndex.Sort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = PageCursor.decode(cursor).split(":");
+        if (parts.length != 7 || !(parts[0] + ":").equals(CURSOR_PREFIX) || !parts[1].equals(sort.getKey())) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci.");
+        }
+        try {
+            return new ProductSortIndex.Entry(Long.parseLong(parts[6]), new BigDecimal(parts[2]), Long.parseLong(parts[3]),
+                    Double.parseDouble(parts[4]), Integer.parseInt(parts[5]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz sayfa imleci.", e);
+        }
+    }
+}
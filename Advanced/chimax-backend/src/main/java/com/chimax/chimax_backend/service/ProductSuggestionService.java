@@ -0,0 +1,17 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.SuggestionDto;
+
+import java.util.List;
+
+public interface ProductSuggestionService {
+
+    /**
+     * Yazılan öneke uyan ürün adı, ürün tipi ve kategori önerilerini popülerlik sırasıyla döndürür.
+     * Bellek içi önek ağacından okunur, veritabanına gidilmez.
+     * @param prefix Kullanıcının yazdığı metin.
+     * @param limit En fazla öneri sayısı (sunucu tarafında üst sınır uygulanır).
+     * @return Öneriler (önek boşsa boş liste).
+     */
+    List<SuggestionDto> suggest(String prefix, int limit);
+}
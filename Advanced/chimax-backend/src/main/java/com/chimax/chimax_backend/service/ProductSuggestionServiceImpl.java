@@ -0,0 +1,38 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ProductSuggestionIndex;
+import com.chimax.chimax_backend.catalog.SuggestionTrie;
+import com.chimax.chimax_backend.dto.SuggestionDto;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class ProductSuggestionServiceImpl implements ProductSuggestionService {
+
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final ProductSuggestionIndex productSuggestionIndex;
+
+    public ProductSuggestionServiceImpl(ProductSuggestionIndex productSuggestionIndex) {
+        this.productSuggestionIndex = productSuggestionIndex;
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        String trimmedPrefix = prefix.length() > MAX_PREFIX_LENGTH ? prefix.substring(0, MAX_PREFIX_LENGTH) : prefix;
+        int effectiveLimit = limit <= 0 ? ProductSuggestionIndex.MAX_SUGGESTIONS : limit;
+
+        List<SuggestionTrie.Suggestion> suggestions = productSuggestionIndex.suggest(trimmedPrefix, effectiveLimit);
+        List<SuggestionDto> result = new ArrayList<>(suggestions.size());
+        for (SuggestionTrie.Suggestion suggestion : suggestions) {
+            result.add(new SuggestionDto(suggestion.getText(), suggestion.getKind()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+
+import java.util.List;
+
+public interface ProductTrendingService {
+
+    /**
+     * Son bir saatte veya günde görüntülenme ve satın almalara göre en popüler aktif ürünleri döndürür.
+     * Önceden hesaplanmış bellek içi listeden okunur, veritabanına gidilmez.
+     * @param window "hour" veya "day".
+     * @param limit En fazla ürün sayısı (sunucu tarafında üst sınır uygulanır).
+     * @throws IllegalArgumentException Pencere geçersizse.
+     */
+    List<ProductSummaryDto> findTrending(String window, int limit);
+}
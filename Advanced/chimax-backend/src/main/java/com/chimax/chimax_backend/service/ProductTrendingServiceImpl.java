@@ -0,0 +1,31 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ActiveProductStore;
+import com.chimax.chimax_backend.catalog.TrendingTracker;
+import com.chimax.chimax_backend.dto.ProductSummaryDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ProductTrendingServiceImpl implements ProductTrendingService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TrendingTracker trendingTracker;
+    private final ActiveProductStore activeProductStore;
+
+    public ProductTrendingServiceImpl(TrendingTracker trendingTracker, ActiveProductStore activeProductStore) {
+        this.trendingTracker = trendingTracker;
+        this.activeProductStore = activeProductStore;
+    }
+
+    @Override
+    public List<ProductSummaryDto> findTrending(String window, int limit) {
+        TrendingTracker.Window trendingWindow = TrendingTracker.Window.fromKey(window);
+        int effectiveLimit = Math.max(0, Math.min(limit, Math.min(MAX_LIMIT, trendingTracker.getTopN())));
+        // Bu arada pasif yapılan ürünler depoda bulunmaz ve atlanır.
+        List<ProductSummaryDto> trending = activeProductStore.getAll(trendingTracker.getTopProducts(trendingWindow));
+        return trending.size() > effectiveLimit ? trending.subList(0, effectiveLimit) : trending;
+    }
+}
@@ -0,0 +1,35 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductViewStatsDto;
+import com.chimax.chimax_backend.entity.User;
+
+import java.util.List;
+
+public interface ProductViewService {
+
+    /**
+     * Ürün detayının bir kez görüntülendiğini kaydeder. Veritabanına gitmez; sayı bellekte biriktirilir
+     * ve periyodik olarak toplu yazılır; ayrıca "şu an popüler" hesaplamasına eklenir.
+     * Aktif katalogda olmayan ürün ID'leri yok sayılır.
+     * @param productId Görüntülenen ürünün ID'si.
+     */
+    void recordView(Long productId);
+
+    /**
+     * Bellekte biriken görüntülenme sayılarını tek bir JDBC batch ile veritabanına ekler.
+     * Zamanlayıcı tarafından periyodik olarak ve uygulama kapanırken çağrılır.
+     */
+    void flush();
+
+    /**
+     * En çok görüntülenen ürünleri döndürür (admin).
+     * @param limit En fazla ürün sayısı (sunucu tarafında üst sınır uygulanır).
+     */
+    List<ProductViewStatsDto> getMostViewed(int limit);
+
+    /**
+     * Satıcının tüm ürünlerinin görüntülenme sayılarını çoktan aza döndürür.
+     * @param seller Satıcı.
+     */
+    List<ProductViewStatsDto> getViewStatsForSeller(User seller);
+}
@@ -0,0 +1,143 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.catalog.ActiveProductStore;
+import com.chimax.chimax_backend.catalog.TrendingTracker;
+import com.chimax.chimax_backend.dto.ProductViewStatsDto;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Görüntülenme sayıları her istekte veritabanına yazılmaz: popüler bir ürünün satırı her görüntülenmede
+ * kilitlenir ve istekler sıraya girerdi. Bunun yerine ürün başına bir LongAdder tutulur (eşzamanlı artışlar
+ * farklı hücrelere dağılır, thread'ler birbirini beklemez) ve biriken farklar birkaç saniyede bir tek batch ile
+ * "view_count = view_count + ?" olarak eklenir.
+ *
+ * Sayaçlar silinmez; en fazla aktif ürün sayısı kadar olur. sumThenReset her hücreyi atomik olarak sıfırladığından
+ * yazma sırasında gelen artışlar kaybolmaz, bir sonraki yazmaya kalır. Batch tek transaction'da çalışır; yazma
+ * başarısız olursa hiçbir satır güncellenmemiş olur ve farkların tamamı sayaçlara geri eklenir (çift sayım olmaz).
+ * Uygulama beklenmedik şekilde kapanırsa son aralığın sayıları kaybolabilir.
+ */
+@Service
+public class ProductViewServiceImpl implements ProductViewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductViewServiceImpl.class);
+
+    private static final String FLUSH_SQL = "UPDATE products SET view_count = view_count + ? WHERE id = ?";
+    private static final int MAX_LIMIT = 200;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final ActiveProductStore activeProductStore;
+    private final TrendingTracker trendingTracker;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductViewServiceImpl(ActiveProductStore activeProductStore,
+                                  TrendingTracker trendingTracker,
+                                  ProductRepository productRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate) {
+        this.activeProductStore = activeProductStore;
+        this.trendingTracker = trendingTracker;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void recordView(Long productId) {
+        // Sadece bilinen ürünler sayılır; rastgele ID'lerle sayaç haritası şişirilemez.
+        if (productId == null || activeProductStore.get(productId).isEmpty()) {
+            return;
+        }
+        pendingViews.computeIfAbsent(productId, id -> new LongAdder()).increment();
+        trendingTracker.recordView(productId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.catalog.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<long[]> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new long[] {entry.getKey(), delta});
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            // Autocommit'te batch yarıda kesilirse önceki satırlar commit edilmiş kalır ve geri eklenen farklar
+            // bir sonraki yazmada ikinci kez sayılırdı; transaction ile ya hepsi yazılır ya hiçbiri.
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, deltas.size(), (ps, delta) -> {
+                        ps.setLong(1, delta[1]);
+                        ps.setLong(2, delta[0]);
+                    }));
+            logger.debug("{} ürünün görüntülenme sayısı {} ms'de yazıldı.", deltas.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // Sayılar kaybolmasın; bir sonraki denemede tekrar yazılır.
+            for (long[] delta : deltas) {
+                pendingViews.computeIfAbsent(delta[0], id -> new LongAdder()).add(delta[1]);
+            }
+            logger.error("Görüntülenme sayıları yazılamadı ({} ürün); sonraki denemede tekrar yazılacak.", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductViewStatsDto> getMostViewed(int limit) {
+        int effectiveLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // Henüz yazılmamış sayılar sıralamayı değiştirebileceğinden biraz fazla okunur ve yeniden sıralanır.
+        List<ProductViewStatsDto> stats = withPendingViews(
+                productRepository.findViewStats(PageRequest.of(0, effectiveLimit + effectiveLimit / 2 + 10)));
+        return stats.size() > effectiveLimit ? new ArrayList<>(stats.subList(0, effectiveLimit)) : stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductViewStatsDto> getViewStatsForSeller(User seller) {
+        if (seller == null || seller.getId() == null) {
+            throw new IllegalArgumentException("Görüntülenme istatistikleri için geçerli satıcı bilgisi gereklidir.");
+        }
+        return withPendingViews(productRepository.findViewStatsBySellerId(seller.getId()));
+    }
+
+    /**
+     * Kalıcı sayılara bellekte bekleyen farkları ekler ve listeyi yeniden sıralar.
+     */
+    private List<ProductViewStatsDto> withPendingViews(List<ProductViewStatsDto> stats) {
+        for (ProductViewStatsDto dto : stats) {
+            LongAdder pending = pendingViews.get(dto.getProductId());
+            if (pending != null) {
+                dto.setViewCount(dto.getViewCount() + pending.sum());
+            }
+        }
+        stats.sort(Comparator.comparingLong(ProductViewStatsDto::getViewCount).reversed()
+                .thenComparing(ProductViewStatsDto::getProductId));
+        return stats;
+    }
+}
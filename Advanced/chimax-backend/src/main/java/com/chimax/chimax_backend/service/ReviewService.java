@@ -1,6 +1,8 @@
 package com.chimax.chimax_backend.service; // Paket adını kontrol et
 
 import com.chimax.chimax_backend.dto.CreateReviewDto; // Yeni DTO import edildi
+import com.chimax.chimax_backend.dto.CursorPageDto; // İmleç tabanlı sayfalama yanıtı
+import com.chimax.chimax_backend.dto.RatingSummaryDto;
 import com.chimax.chimax_backend.dto.ReviewDto;
 import java.util.List;
 
@@ -8,6 +10,21 @@ public interface ReviewService {
 
     List<ReviewDto> getReviewsForProduct(Long productId);
 
+    /**
+     * Ürünün yorumlarını en yeniden eskiye imleç (keyset) sayfalamasıyla getirir. Tek sorgu çalışır.
+     * @param productId Ürün ID'si.
+     * @param cursor Önceki sayfanın nextCursor değeri (ilk sayfa için null).
+     * @param size Sayfa boyutu (sunucu tarafında üst sınır uygulanır).
+     * @throws IllegalArgumentException İmleç geçersizse.
+     */
+    CursorPageDto<ReviewDto> getReviewPage(Long productId, String cursor, int size);
+
+    /**
+     * Ürünün ortalama puanını ve 1-5 yıldız dağılımını tek bir gruplama sorgusuyla hesaplar.
+     * @param productId Ürün ID'si.
+     */
+    RatingSummaryDto getRatingSummary(Long productId);
+
     /**
      * Bir ürüne yeni bir yorum ekler.
      * @param productId Yorum yapılacak ürünün ID'si.
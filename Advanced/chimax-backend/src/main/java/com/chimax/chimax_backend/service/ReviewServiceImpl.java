@@ -1,10 +1,13 @@
 package com.chimax.chimax_backend.service; // Paket adını kontrol et
 
 import com.chimax.chimax_backend.dto.CreateReviewDto; // Yeni DTO import
+import com.chimax.chimax_backend.dto.CursorPageDto;
+import com.chimax.chimax_backend.dto.RatingSummaryDto;
 import com.chimax.chimax_backend.dto.ReviewDto;
 import com.chimax.chimax_backend.entity.Product;
 import com.chimax.chimax_backend.entity.Review;
 import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.event.ProductChangedEvent;
 import com.chimax.chimax_backend.repository.OrderRepository;
 import com.chimax.chimax_backend.repository.ProductRepository;
 import com.chimax.chimax_backend.repository.ReviewRepository;
@@ -12,11 +15,16 @@ import com.chimax.chimax_backend.repository.UserRepository;
 import org.slf4j.Logger; // Loglama
 import org.slf4j.LoggerFactory; // Loglama
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,18 +35,23 @@ public class ReviewServiceImpl implements ReviewService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String COMPLETED_ORDER_STATUS = "Teslim Edildi";
+    private static final int DEFAULT_REVIEW_PAGE_SIZE = 10;
+    private static final int MAX_REVIEW_PAGE_SIZE = 50;
 
     @Autowired
     public ReviewServiceImpl(ReviewRepository reviewRepository,
                              ProductRepository productRepository,
                              UserRepository userRepository,
-                             OrderRepository orderRepository) {
+                             OrderRepository orderRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -49,6 +62,44 @@ public class ReviewServiceImpl implements ReviewService {
                 .map(this::convertToReviewDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewDto> getReviewPage(Long productId, String cursor, int size) {
+        long beforeId = PageCursor.decodeId(cursor);
+        if (beforeId == 0L) {
+            beforeId = Long.MAX_VALUE; // İlk sayfa: en yeni yorumdan başla
+        }
+        int pageSize = size <= 0 ? DEFAULT_REVIEW_PAGE_SIZE : Math.min(size, MAX_REVIEW_PAGE_SIZE);
+        // Bir fazla kayıt istenir; fazlalık varsa bir sonraki sayfa vardır (COUNT sorgusu gerekmez).
+        List<ReviewDto> reviews = reviewRepository.findReviewPage(productId, beforeId, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = reviews.size() > pageSize;
+        List<ReviewDto> items = hasNext ? new ArrayList<>(reviews.subList(0, pageSize)) : reviews;
+        String nextCursor = hasNext ? PageCursor.encodeId(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDto<>(items, nextCursor, hasNext, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingSummaryDto getRatingSummary(Long productId) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            histogram.put(rating, 0L);
+        }
+        long count = 0;
+        long total = 0;
+        for (Object[] row : reviewRepository.countByRatingForProduct(productId)) {
+            int rating = ((Number) row[0]).intValue();
+            long ratingCount = ((Number) row[1]).longValue();
+            histogram.merge(rating, ratingCount, Long::sum);
+            count += ratingCount;
+            total += rating * ratingCount;
+        }
+        // Ortalama dağılımla aynı sorgudan hesaplanır; ikisi birbiriyle her zaman tutarlıdır.
+        double average = count == 0 ? 0 : Math.round(total * 100.0 / count) / 100.0;
+        return new RatingSummaryDto(average, count, histogram);
+    }
+
     @Override
     @Transactional
     // Metot imzası güncellendi:
@@ -81,6 +132,10 @@ public class ReviewServiceImpl implements ReviewService {
         Review savedReview = reviewRepository.save(review);
         logger.info("Yorum başarıyla kaydedildi: ID {}", savedReview.getId());
 
+        // Ürünün ortalama puanı ve yorum sayısı güncellenir; "en yüksek puanlı" sıralaması ve önbellekler commit'ten sonra yenilenir.
+        productRepository.refreshRatingSummary(productId);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId, ProductChangedEvent.ChangeType.UPDATED));
+
         return convertToReviewDto(savedReview);
     }
 
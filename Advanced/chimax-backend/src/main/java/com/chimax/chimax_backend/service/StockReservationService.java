@@ -0,0 +1,51 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.OrderItemDto;
+import com.chimax.chimax_backend.dto.StockReservationDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ödeme aşamasında sepet için süreli stok tutma (rezervasyon). Ödeme başlatıldığında alınan tutma,
+ * sipariş verildiğinde stok düşümüne dönüşür; süresi dolan tutmalar arka planda toplu olarak bırakılır.
+ */
+public interface StockReservationService {
+
+    /**
+     * Kullanıcının sepeti için süreli bir tutma oluşturur; kullanıcının önceki tutması varsa onun yerine geçer.
+     * @param userEmail Kullanıcının e-postası.
+     * @param items Sepet kalemleri (aynı ürün birden fazla satırda olabilir).
+     * @return Tutmanın kimliği ve bitiş zamanı.
+     * @throws com.chimax.chimax_backend.exception.OrderValidationException Bulunamayan, satışta olmayan veya
+     *         kullanılabilir stoğu (stok - başkalarının tutmaları) yetersiz ürün varsa; tüm hatalı kalemlerle.
+     */
+    StockReservationDto reserve(String userEmail, List<OrderItemDto> items);
+
+    /**
+     * Kullanıcının aktif tutmasını bırakır (örn. ödeme başlatılamadı). Tutma yoksa bir şey yapmaz.
+     * @param userEmail Kullanıcının e-postası.
+     */
+    void release(String userEmail);
+
+    /**
+     * Sipariş verilirken kullanıcının tutmasını tüketir: kayıtları mevcut transaction içinde siler, bellekteki
+     * tutma commit'ten sonra bırakılır. Stok düşümü çağıran tarafa aittir.
+     * @param userId Sipariş veren kullanıcının ID'si.
+     */
+    void consume(Long userId);
+
+    /**
+     * Verilen ürünlerde, belirtilen kullanıcı dışındaki müşterilerin tuttuğu adetler (bellekten, sorgusuz).
+     * Kullanılabilir stok = stok - bu değer.
+     * @return Ürün ID → başkalarının tuttuğu adet.
+     */
+    Map<Long, Integer> heldByOthers(Collection<Long> productIds, Long userId);
+
+    /**
+     * Süresi dolmuş tutmaları partiler halinde bırakır. Zamanlayıcı tarafından periyodik olarak çağrılır.
+     * @return Bırakılan tutma sayısı.
+     */
+    int sweepExpired();
+}
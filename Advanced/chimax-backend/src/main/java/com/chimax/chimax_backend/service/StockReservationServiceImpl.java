@@ -0,0 +1,206 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.OrderItemDto;
+import com.chimax.chimax_backend.dto.StockReservationDto;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.StockReservation;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.event.StockReservationReleasedEvent;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import com.chimax.chimax_backend.inventory.HotSkuInventory;
+import com.chimax.chimax_backend.inventory.StockReservationLedger;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import com.chimax.chimax_backend.repository.StockReservationRepository;
+import com.chimax.chimax_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationServiceImpl.class);
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final StockReservationLedger ledger;
+    private final HotSkuInventory hotSkuInventory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlSeconds;
+    private final int sweepBatchSize;
+
+    public StockReservationServiceImpl(StockReservationRepository reservationRepository,
+                                       ProductRepository productRepository,
+                                       UserRepository userRepository,
+                                       StockReservationLedger ledger,
+                                       HotSkuInventory hotSkuInventory,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${app.inventory.reservation.ttl-seconds:600}") long ttlSeconds,
+                                       @Value("${app.inventory.reservation.sweep-batch-size:500}") int sweepBatchSize) {
+        if (ttlSeconds <= 0 || sweepBatchSize <= 0) {
+            throw new IllegalArgumentException("app.inventory.reservation.ttl-seconds ve sweep-batch-size pozitif olmalıdır.");
+        }
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.ledger = ledger;
+        this.hotSkuInventory = hotSkuInventory;
+        this.eventPublisher = eventPublisher;
+        this.ttlSeconds = ttlSeconds;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Açılışta süresi dolmuş kayıtları siler ve kalan tutmaları deftere yükler.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLedger() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = reservationRepository.deleteExpired(now);
+        Map<String, List<StockReservation>> rowsByReservation = reservationRepository.findByExpiresAtAfter(now).stream()
+                .collect(Collectors.groupingBy(StockReservation::getReservationId, LinkedHashMap::new, Collectors.toList()));
+        List<StockReservationLedger.Hold> holds = new ArrayList<>(rowsByReservation.size());
+        rowsByReservation.forEach((reservationId, rows) -> {
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            rows.forEach(row -> quantities.merge(row.getProductId(), row.getQuantity(), Integer::sum));
+            StockReservation first = rows.get(0);
+            holds.add(new StockReservationLedger.Hold(reservationId, first.getUserId(), quantities, first.getExpiresAt()));
+        });
+        ledger.load(holds);
+        logger.info("Stok tutma defteri yüklendi. Aktif tutma: {}, silinen süresi dolmuş satır: {}", ledger.size(), purged);
+    }
+
+    @Override
+    @Transactional
+    public StockReservationDto reserve(String userEmail, List<OrderItemDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Stok tutmak için sepette en az bir ürün olmalıdır.");
+        }
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("Kullanıcı bulunamadı: " + userEmail));
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDto item : items) {
+            if (item.getProductId() == null || item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new IllegalArgumentException("Her sepet kalemi için ürün ID'si ve en az 1 adet gönderilmelidir.");
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<String> errors = new ArrayList<>();
+        Map<Long, Integer> stockByProduct = new LinkedHashMap<>();
+        quantities.keySet().forEach(productId -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                errors.add("Sepetinizdeki bir ürün bulunamadı: ID " + productId + ".");
+            } else if (!product.isActive()) {
+                errors.add("Ürün satışta değil: " + product.getName() + ".");
+            } else {
+                stockByProduct.put(productId, hotSkuInventory.effectiveStock(productId, product.getStockQuantity()));
+            }
+        });
+        if (!errors.isEmpty()) {
+            throw new OrderValidationException(errors);
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        StockReservationLedger.Hold hold = new StockReservationLedger.Hold(
+                UUID.randomUUID().toString(), user.getId(), quantities, expiresAt);
+        StockReservationLedger.Hold previous = ledger.currentHoldOf(user.getId());
+        List<Long> shortProducts = ledger.tryHold(hold, stockByProduct);
+        if (!shortProducts.isEmpty()) {
+            shortProducts.forEach(productId -> errors.add("Stok yetersiz: " + products.get(productId).getName()
+                    + " (şu an diğer müşterilerin ödeme aşamasında tuttuğu ürünler hariç)."));
+            logger.info("Stok tutulamadı: Kullanıcı={}, Yetersiz ürünler={}", userEmail, shortProducts);
+            throw new OrderValidationException(errors);
+        }
+
+        // Defter önce güncellendi (kontrol-ve-ekle tek kilit altında olmalı). Veritabanı yazımı veya commit
+        // başarısız olup transaction geri alınırsa defter de tablo ile aynı duruma döndürülür; aksi halde tabloda
+        // olmayan tutma, süresi dolana kadar diğer müşterilerin tutmalarını reddettirirdi.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    ledger.revert(hold, previous);
+                    logger.warn("Stok tutması kaydedilemedi, defterden geri alındı: Kullanıcı={}, Tutma={}",
+                                userEmail, hold.getReservationId());
+                }
+            }
+        });
+        reservationRepository.deleteByUserId(user.getId());
+        List<StockReservation> rows = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) ->
+                rows.add(new StockReservation(null, hold.getReservationId(), user.getId(), productId, quantity, expiresAt)));
+        reservationRepository.saveAll(rows);
+        logger.info("Stok tutuldu: Kullanıcı={}, Tutma={}, Ürün sayısı={}, Bitiş={}",
+                    userEmail, hold.getReservationId(), quantities.size(), expiresAt);
+        return new StockReservationDto(hold.getReservationId(), expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public void release(String userEmail) {
+        userRepository.findByEmail(userEmail).ifPresent(user -> releaseHoldOf(user.getId()));
+    }
+
+    @Override
+    @Transactional
+    public void consume(Long userId) {
+        releaseHoldOf(userId);
+    }
+
+    // Kayıtlar bu transaction'da silinir; defterdeki tutma commit'ten sonra olay dinleyicisiyle bırakılır.
+    private void releaseHoldOf(Long userId) {
+        StockReservationLedger.Hold hold = ledger.currentHoldOf(userId);
+        if (hold == null) {
+            return;
+        }
+        reservationRepository.deleteByUserId(userId);
+        eventPublisher.publishEvent(new StockReservationReleasedEvent(List.of(hold.getReservationId())));
+    }
+
+    @Override
+    public Map<Long, Integer> heldByOthers(Collection<Long> productIds, Long userId) {
+        return ledger.heldByOthers(productIds, userId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.inventory.reservation.sweep-interval-ms:15000}")
+    public int sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+        List<String> batch;
+        while (!(batch = ledger.expired(now, sweepBatchSize)).isEmpty()) {
+            reservationRepository.deleteByReservationIdIn(batch); // Parti başına tek DELETE, kendi transaction'ında
+            ledger.release(batch);
+            released += batch.size();
+        }
+        reservationRepository.deleteExpired(now); // Defterde karşılığı olmayan (örn. commit'i yarım kalmış) artıklar
+        if (released > 0) {
+            logger.info("Süresi dolan {} stok tutması bırakıldı. Kalan aktif tutma: {}", released, ledger.size());
+        }
+        return released;
+    }
+}
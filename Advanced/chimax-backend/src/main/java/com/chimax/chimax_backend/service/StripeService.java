@@ -17,6 +17,25 @@ public interface StripeService {
      */
     PaymentIntent createPaymentIntent(Long amount, String currency) throws StripeException;
 
+    /**
+     * Verilen tutar ve para birimi için bir Stripe Payment Intent oluşturur; aynı anahtarla tekrarlanan
+     * çağrılarda Stripe yeni bir Payment Intent oluşturmaz, ilkini döndürür.
+     * @param amount Tutar (kuruş veya en küçük para birimi cinsinden).
+     * @param currency Para birimi kodu (örn: "try").
+     * @param idempotencyKey Stripe'a iletilecek idempotency anahtarı (null ise gönderilmez).
+     * @return Oluşturulan (veya daha önce bu anahtarla oluşturulmuş) PaymentIntent nesnesi.
+     * @throws StripeException Stripe API hatası olursa.
+     */
+    PaymentIntent createPaymentIntent(Long amount, String currency, String idempotencyKey) throws StripeException;
+
+    /**
+     * Var olan bir Payment Intent'i Stripe'tan okur.
+     * @param paymentIntentId Payment Intent ID'si.
+     * @return PaymentIntent nesnesi (clientSecret dahil).
+     * @throws StripeException Stripe API hatası olursa.
+     */
+    PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException;
+
     /**
      * Bir Payment Intent'in başarılı olup olmadığını ve tutarının doğru olup olmadığını kontrol eder.
      * @param paymentIntentId Kontrol edilecek Payment Intent ID'si.
@@ -4,6 +4,7 @@ import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.stripe.param.RefundCreateParams;
 import jakarta.annotation.PostConstruct;
@@ -35,6 +36,11 @@ public class StripeServiceImpl implements StripeService {
 
     @Override
     public PaymentIntent createPaymentIntent(Long amount, String currency) throws StripeException {
+        return createPaymentIntent(amount, currency, null);
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(Long amount, String currency, String idempotencyKey) throws StripeException {
         // API anahtarının init() sırasında ayarlandığını varsayıyoruz.
         // Eğer init() başarısız olduysa, Stripe.apiKey null olabilir ve Stripe.create çağrısı hata verecektir.
         // Veya burada ek bir kontrol yapabiliriz:
@@ -54,12 +60,26 @@ public class StripeServiceImpl implements StripeService {
                 )
                 .build();
 
+        // Zaman aşımı sonrası tekrar denemelerde Stripe aynı anahtar için ikinci bir Payment Intent oluşturmaz.
+        RequestOptions options = idempotencyKey != null
+                ? RequestOptions.builder().setIdempotencyKey(idempotencyKey).build()
+                : RequestOptions.getDefault();
+
         logger.info("Stripe Payment Intent oluşturuluyor: Tutar={}, Para Birimi={}", amount, currency);
-        PaymentIntent paymentIntent = PaymentIntent.create(params);
+        PaymentIntent paymentIntent = PaymentIntent.create(params, options);
         logger.info("Stripe Payment Intent başarıyla oluşturuldu. ID: {}", paymentIntent.getId());
         return paymentIntent;
     }
 
+    @Override
+    public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
+        if (Stripe.apiKey == null) {
+            logger.error("Stripe API Key is not configured. Cannot retrieve Payment Intent.");
+            throw new IllegalStateException("Stripe API Anahtarı yapılandırılmamış. Ödeme bilgisi alınamıyor.");
+        }
+        return PaymentIntent.retrieve(paymentIntentId);
+    }
+
     @Override
     public boolean verifyPayment(String paymentIntentId, Long expectedAmount) throws StripeException {
          if (Stripe.apiKey == null) {
@@ -0,0 +1,77 @@
+package com.chimax.chimax_backend;
+
+import com.chimax.chimax_backend.dto.AddressDto;
+import com.chimax.chimax_backend.dto.CreateOrderRequestDto;
+import com.chimax.chimax_backend.dto.OrderItemDto;
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.User;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Veritabanı testlerinde kullanılan ortak kategori, kullanıcı, ürün ve sipariş isteği örnekleri.
+ * Nesneler kaydedilmeden döndürülür; kaydetme testin kendi repository'si veya TestEntityManager'ı ile yapılır.
+ */
+public final class TestFixtures {
+
+    public static final BigDecimal PRICE = new BigDecimal("100.00");
+
+    private TestFixtures() {
+    }
+
+    public static Category category() {
+        return new Category(null, "Elektronik");
+    }
+
+    public static User user(String email) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Kullanıcı");
+        user.setEmail(email);
+        user.setPassword("x");
+        return user;
+    }
+
+    /**
+     * PRICE fiyatlı, satışta olan bir ürün.
+     */
+    public static Product product(String name, int stock, Category category, User seller) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription(name + " açıklaması");
+        product.setPrice(PRICE);
+        product.setCategory(category);
+        product.setType("Tip");
+        product.setStockQuantity(stock);
+        product.setActive(true);
+        product.setSeller(seller);
+        return product;
+    }
+
+    public static OrderItemDto orderItem(Long productId, int quantity) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    /**
+     * Geçerli bir teslimat adresi ve Stripe ödeme bilgisiyle sipariş isteği.
+     */
+    public static CreateOrderRequestDto orderRequest(List<OrderItemDto> items) {
+        AddressDto address = new AddressDto();
+        address.setFullName("Test Kullanıcı");
+        address.setAddressLine1("Adres 1");
+        address.setCity("İstanbul");
+        address.setPostalCode("34000");
+        address.setPhone("5550000000");
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        request.setShippingAddress(address);
+        request.setPaymentMethod("stripe");
+        request.setPaymentIntentId("pi_test");
+        request.setItems(items);
+        return request;
+    }
+}
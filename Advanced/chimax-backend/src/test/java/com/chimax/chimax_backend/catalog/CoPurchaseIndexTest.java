@@ -0,0 +1,46 @@
+package com.chimax.chimax_backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tam kurulum sırasında gelen sipariş olaylarının, kurulumun okuduğu siparişlere göre yeni matrise
+ * bir kez ve yalnızca gerektiğinde uygulandığını doğrular.
+ */
+class CoPurchaseIndexTest {
+
+    private final CoPurchaseIndex index = new CoPurchaseIndex(20, 50);
+
+    @Test
+    void cancelCommittedBeforeTheRebuildReadIsNotSubtractedAgain() {
+        index.applyOrder(1L, List.of(10L, 20L), 1);
+        index.applyOrder(2L, List.of(10L, 20L), 1);
+
+        index.beginRebuild();
+        index.applyOrder(2L, List.of(10L, 20L), -1); // Kurulum sorgusundan önce commit edildi; sipariş 2 okunmaz
+        Map<Long, Map<Long, Integer>> rebuilt = index.buildMatrix(List.of(new long[] {10L, 20L}));
+        index.completeRebuild(rebuilt, new long[] {1L});
+
+        assertThat(index.related(10L, 5)).containsExactly(20L);
+    }
+
+    @Test
+    void ordersReadByTheRebuildAreCountedOnceAndLaterCancelsAreApplied() {
+        index.beginRebuild();
+        index.applyOrder(5L, List.of(10L, 20L), 1);  // Okundu: yeniden eklenmez
+        index.applyOrder(3L, List.of(10L, 30L), 1);  // Daha küçük ID ama okumadan sonra commit edildi: eklenir
+        index.applyOrder(5L, List.of(10L, 20L), -1); // Okunan sipariş sonradan iptal edildi: düşülür
+        index.applyOrder(7L, List.of(10L, 40L), 1);
+        index.applyOrder(7L, List.of(10L, 40L), -1); // Kurulum sırasında oluşturulup iptal edildi: iz bırakmaz
+        Map<Long, Map<Long, Integer>> rebuilt = index.buildMatrix(List.of(new long[] {10L, 20L}));
+        index.completeRebuild(rebuilt, new long[] {5L});
+
+        assertThat(index.related(10L, 5)).containsExactly(30L);
+        assertThat(index.related(20L, 5)).isEmpty();
+        assertThat(index.related(40L, 5)).isEmpty();
+    }
+}
@@ -0,0 +1,120 @@
+package com.chimax.chimax_backend.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parçalı stok sayacının eşzamanlı alıcılar, yeniden dağıtım, dış değişiklikler ve kapatma sırasında
+ * hiçbir birimi iki kez vermediğini doğrular.
+ */
+class ShardedStockTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void concurrentBuyersDrainAllUnitsWithoutOverselling() throws Exception {
+        ShardedStock stock = new ShardedStock(8, 1_000);
+        AtomicInteger taken = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            int quantity = thread % 3 + 1;
+            while (stock.tryTake(quantity, thread)) {
+                taken.addAndGet(quantity);
+            }
+            // Büyük istekler reddedildikten sonra kalan tekli birimler de alınabilmeli (yeniden dağıtım)
+            while (stock.tryTake(1, thread)) {
+                taken.incrementAndGet();
+            }
+        });
+
+        assertThat(taken.get()).isEqualTo(1_000);
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void externalAdjustmentsAndGiveBacksDuringSalesAreNeitherLostNorDuplicated() throws Exception {
+        ShardedStock stock = new ShardedStock(4, 500);
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger added = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 200; i++) {
+                if (thread == 0 && i % 20 == 0) {
+                    stock.adjust(10); // Örn. iptal edilen sipariş veya admin stok eklemesi
+                    added.addAndGet(10);
+                } else if (stock.tryTake(2, thread)) {
+                    taken.addAndGet(2);
+                    if (i % 10 == 0 && stock.giveBack(2, thread)) { // Geri alınan transaction
+                        taken.addAndGet(-2);
+                    }
+                }
+            }
+        });
+
+        assertThat(taken.get() + stock.available()).isEqualTo(500 + added.get());
+    }
+
+    @Test
+    void closedStockGivesNothingAndRefusesGiveBacks() {
+        ShardedStock stock = new ShardedStock(4, 10);
+
+        assertThat(stock.tryTake(3, 1)).isTrue();
+        assertThat(stock.close()).isEqualTo(7);
+        assertThat(stock.tryTake(1, 1)).isFalse();
+        assertThat(stock.giveBack(3, 1)).isFalse();
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void negativeAdjustmentBelowZeroIsClamped() {
+        ShardedStock stock = new ShardedStock(4, 5);
+
+        assertThat(stock.adjust(-8)).isEqualTo(3);
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void resetReplacesTheStockInsteadOfAddingToIt() {
+        ShardedStock stock = new ShardedStock(4, 10);
+
+        assertThat(stock.tryTake(4, 2)).isTrue();
+        assertThat(stock.reset(25)).isTrue();
+        assertThat(stock.available()).isEqualTo(25);
+        assertThat(stock.close()).isEqualTo(25);
+        assertThat(stock.reset(5)).isFalse();
+    }
+
+    private static void runConcurrently(ThreadBody body) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                body.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread);
+    }
+}
@@ -0,0 +1,119 @@
+package com.chimax.chimax_backend.repository;
+
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.Role;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.service.ProductDtoMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.chimax.chimax_backend.TestFixtures.category;
+import static com.chimax.chimax_backend.TestFixtures.product;
+import static com.chimax.chimax_backend.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ürün listesi döndüren repository metotlarının, sonuç sayısından bağımsız olarak sabit sayıda SQL
+ * çalıştırdığını doğrular (satıcı/rol için ürün başına ek SELECT olmamalı).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductRepositoryStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+    private Role sellerRole;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = entityManager.persist(category());
+        Role role = new Role();
+        role.setName("ROLE_SELLER");
+        sellerRole = entityManager.persist(role);
+    }
+
+    @Test
+    void findBySellerRunsSameNumberOfStatementsForSmallAndLargeResults() {
+        User smallSeller = persistSellerWithProducts("small@test.com", 2);
+        User largeSeller = persistSellerWithProducts("large@test.com", 40);
+
+        long small = countStatements(() -> productRepository.findBySeller(smallSeller));
+        long large = countStatements(() -> productRepository.findBySeller(largeSeller));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isEqualTo(1);
+    }
+
+    @Test
+    void findAllByIdRunsSingleStatementAcrossManySellers() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User seller = persistSellerWithProducts("seller" + i + "@test.com", 3);
+            productRepository.findBySeller(seller).forEach(p -> ids.add(p.getId()));
+        }
+
+        long statements = countStatements(() -> productRepository.findAllById(ids));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void findAllActiveForIndexingDoesNotLoadSellersOneByOne() {
+        for (int i = 0; i < 15; i++) {
+            persistSellerWithProducts("indexed" + i + "@test.com", 2);
+        }
+
+        long statements = countStatements(productRepository::findAllActiveForIndexing);
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    /**
+     * Entity'leri temiz bir persistence context ile yükleyip DTO'ya çevirir ve çalışan SQL sayısını döndürür.
+     */
+    private long countStatements(Supplier<List<Product>> query) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Product> products = query.get();
+        products.forEach(ProductDtoMapper::toResponseDto); // Satıcı ve rollere erişim ek sorgu üretmemeli
+        products.forEach(p -> p.getSeller().getRoles().size());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistSellerWithProducts(String email, int productCount) {
+        User seller = user(email);
+        seller.getRoles().add(sellerRole);
+        entityManager.persist(seller);
+
+        for (int i = 0; i < productCount; i++) {
+            entityManager.persist(product(email + " ürün " + i, 10, category, seller));
+        }
+        return seller;
+    }
+}
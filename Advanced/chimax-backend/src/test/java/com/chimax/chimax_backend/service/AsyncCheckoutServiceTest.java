@@ -0,0 +1,202 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.CheckoutQueueStatsDto;
+import com.chimax.chimax_backend.dto.CheckoutTicketDto;
+import com.chimax.chimax_backend.dto.CreateOrderRequestDto;
+import com.chimax.chimax_backend.dto.OrderDto;
+import com.chimax.chimax_backend.exception.CheckoutQueueFullException;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Asenkron sipariş kuyruğunun tüm istekleri işçilerle siparişe dönüştürdüğünü, dinleyicilere son durumu
+ * bildirdiğini, sepet hatalarını bilete taşıdığını, hatalı sepeti kuyruğa almadan reddettiğini ve kuyruk
+ * dolduğunda veya servis kapandığında yeni istekleri reddettiğini doğrular.
+ */
+class AsyncCheckoutServiceTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private AsyncCheckoutServiceImpl checkoutService;
+
+    @AfterEach
+    void tearDown() {
+        if (checkoutService != null) {
+            checkoutService.stopWorkers();
+        }
+    }
+
+    @Test
+    void everySubmittedOrderIsPlacedAndSubscribersReceiveTheTerminalState() throws Exception {
+        AtomicLong orderIds = new AtomicLong();
+        when(orderService.createOrder(any(), anyString())).thenAnswer(invocation -> {
+            OrderDto order = new OrderDto();
+            order.setId(orderIds.incrementAndGet());
+            return order;
+        });
+        checkoutService = start(100, 2, 8);
+
+        int orders = 50;
+        CountDownLatch done = new CountDownLatch(orders);
+        Map<String, String> lastStatus = new ConcurrentHashMap<>();
+        List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            CheckoutTicketDto ticket = checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com");
+            ticketIds.add(ticket.getTicketId());
+            checkoutService.subscribe(ticket.getTicketId(), "buyer@test.com", update -> {
+                lastStatus.put(update.getTicketId(), update.getStatus());
+                if (update.getCompletedAt() != null) {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        for (String ticketId : ticketIds) {
+            assertThat(lastStatus.get(ticketId)).isEqualTo("COMPLETED");
+            assertThat(checkoutService.findTicket(ticketId, "buyer@test.com").orElseThrow().getOrder()).isNotNull();
+            assertThat(checkoutService.findTicket(ticketId, "other@test.com")).isEmpty();
+        }
+        CheckoutQueueStatsDto stats = checkoutService.getStats();
+        assertThat(stats.getSubmittedCount()).isEqualTo(orders);
+        assertThat(stats.getCompletedCount()).isEqualTo(orders);
+        assertThat(stats.getQueueDepth()).isZero();
+        assertThat(stats.getAverageBatchSize()).isGreaterThanOrEqualTo(1.0);
+        assertThat(orderIds.get()).isEqualTo(orders);
+    }
+
+    @Test
+    void cartValidationErrorsAreReportedOnTheTicket() throws Exception {
+        when(orderService.createOrder(any(), anyString()))
+                .thenThrow(new OrderValidationException(List.of("Stok yetersiz: Kulaklık.")));
+        checkoutService = start(10, 1, 4);
+
+        CheckoutTicketDto ticket = checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com");
+        CountDownLatch done = new CountDownLatch(1);
+        checkoutService.subscribe(ticket.getTicketId(), "buyer@test.com", update -> {
+            if (update.getCompletedAt() != null) {
+                done.countDown();
+            }
+        });
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        CheckoutTicketDto result = checkoutService.findTicket(ticket.getTicketId(), "buyer@test.com").orElseThrow();
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getErrors()).containsExactly("Stok yetersiz: Kulaklık.");
+        assertThat(checkoutService.getStats().getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidCartIsRejectedBeforeItIsQueued() {
+        doThrow(new OrderValidationException(List.of("Ürün satışta değil: Kulaklık.")))
+                .when(orderService).validateOrder(any(), anyString());
+        checkoutService = start(10, 1, 4);
+
+        assertThatThrownBy(() -> checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com"))
+                .isInstanceOf(OrderValidationException.class);
+        verify(orderService, never()).createOrder(any(), anyString());
+        assertThat(checkoutService.getStats().getSubmittedCount()).isZero();
+        assertThat(checkoutService.getStats().getQueueDepth()).isZero();
+    }
+
+    @Test
+    void submissionsAfterShutdownAreRejected() {
+        checkoutService = start(10, 1, 4);
+        checkoutService.stopWorkers();
+
+        assertThatThrownBy(() -> checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com"))
+                .isInstanceOf(CheckoutQueueFullException.class);
+        assertThat(checkoutService.getStats().getQueueDepth()).isZero();
+    }
+
+    @Test
+    void submissionsBeyondQueueCapacityAreRejected() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any(), anyString())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new OrderDto();
+        });
+        checkoutService = start(2, 1, 1);
+
+        checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com");
+        assertThat(workerBusy.await(10, TimeUnit.SECONDS)).isTrue(); // Tek işçi ilk istekte meşgul
+        checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com");
+        checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com");
+
+        assertThatThrownBy(() -> checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com"))
+                .isInstanceOf(CheckoutQueueFullException.class);
+        assertThat(checkoutService.getStats().getRejectedCount()).isEqualTo(1);
+        assertThat(checkoutService.getStats().getQueueDepth()).isEqualTo(2);
+        release.countDown();
+    }
+
+    @Test
+    void expiredTicketsKeepTheirOrderIdUntilTheResultTtlAndUnsubscribedListenersAreNotCalled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any(), anyString())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            OrderDto order = new OrderDto();
+            order.setId(42L);
+            return order;
+        });
+        checkoutService = start(10, 1, 1);
+
+        CheckoutTicketDto ticket = checkoutService.submit(new CreateOrderRequestDto(), "buyer@test.com");
+        AtomicInteger removedCalls = new AtomicInteger();
+        Consumer<CheckoutTicketDto> removed = update -> removedCalls.incrementAndGet();
+        checkoutService.subscribe(ticket.getTicketId(), "buyer@test.com", removed);
+        checkoutService.unsubscribe(ticket.getTicketId(), removed); // Örn. SSE bağlantısı kapandı
+        int callsBeforeCompletion = removedCalls.get();
+        CountDownLatch done = new CountDownLatch(1);
+        checkoutService.subscribe(ticket.getTicketId(), "buyer@test.com", update -> {
+            if (update.getCompletedAt() != null) {
+                done.countDown();
+            }
+        });
+        release.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(removedCalls.get()).isEqualTo(callsBeforeCompletion); // Sonuç bildirimi kaldırılan dinleyiciye gitmez
+
+        // Ayrıntı süresi (600 sn) doldu: sipariş ayrıntısı bırakılır, durum ve sipariş ID'si kalır.
+        assertThat(checkoutService.sweepExpiredTickets(LocalDateTime.now().plusSeconds(601))).isZero();
+        CheckoutTicketDto compacted = checkoutService.findTicket(ticket.getTicketId(), "buyer@test.com").orElseThrow();
+        assertThat(compacted.getStatus()).isEqualTo("COMPLETED");
+        assertThat(compacted.getOrder()).isNull();
+        assertThat(compacted.getOrderId()).isEqualTo(42L);
+
+        // Sonuç süresi (3600 sn) doldu: bilet silinir.
+        assertThat(checkoutService.sweepExpiredTickets(LocalDateTime.now().plusSeconds(3601))).isEqualTo(1);
+        assertThat(checkoutService.findTicket(ticket.getTicketId(), "buyer@test.com")).isEmpty();
+    }
+
+    private AsyncCheckoutServiceImpl start(int queueCapacity, int workers, int batchSize) {
+        AsyncCheckoutServiceImpl service = new AsyncCheckoutServiceImpl(orderService,
+                new SimpleAsyncTaskExecutor("checkout-test-"), queueCapacity, workers, batchSize, 600, 3600);
+        service.startWorkers();
+        return service;
+    }
+}
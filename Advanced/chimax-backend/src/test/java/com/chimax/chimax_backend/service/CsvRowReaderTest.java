@@ -0,0 +1,82 @@
+package com.chimax.chimax_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CsvRowReader'ın RFC 4180 kayıtlarını doğru ayrıştırdığını doğrular: tırnak içindeki virgül ve satır sonu,
+ * kaçışlı tırnak, CRLF satır sonları, dosya başındaki BOM ve son satırda satır sonu olmaması.
+ */
+class CsvRowReaderTest {
+
+    @Test
+    void quotedFieldsMayContainCommasAndEscapedQuotes() throws IOException {
+        List<List<String>> records = readAll("name,description\n\"Kulaklık, kablosuz\",\"15\"\" ekran, \"\"pro\"\"\"\n");
+
+        assertThat(records).containsExactly(
+                List.of("name", "description"),
+                List.of("Kulaklık, kablosuz", "15\" ekran, \"pro\""));
+    }
+
+    @Test
+    void quotedFieldsMayContainLineBreaks() throws IOException {
+        List<List<String>> records = readAll("name,description\nKlavye,\"Birinci satır\nİkinci satır\"\nMouse,Tek satır\n");
+
+        assertThat(records).containsExactly(
+                List.of("name", "description"),
+                List.of("Klavye", "Birinci satır\nİkinci satır"),
+                List.of("Mouse", "Tek satır"));
+    }
+
+    @Test
+    void crlfLineEndingsAreNotPartOfTheLastField() throws IOException {
+        List<List<String>> records = readAll("name,price\r\nKlavye,99.90\r\n\"Mouse\",49.90\r\n");
+
+        assertThat(records).containsExactly(
+                List.of("name", "price"),
+                List.of("Klavye", "99.90"),
+                List.of("Mouse", "49.90"));
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        List<List<String>> records = readAll("\uFEFF\"name\",price\nKlavye,99.90\n");
+
+        assertThat(records).containsExactly(
+                List.of("name", "price"),
+                List.of("Klavye", "99.90"));
+    }
+
+    @Test
+    void lastRecordWithoutTrailingNewlineIsReturned() throws IOException {
+        List<List<String>> records = readAll("name,price\nKlavye,99.90\nMouse,");
+
+        assertThat(records).containsExactly(
+                List.of("name", "price"),
+                List.of("Klavye", "99.90"),
+                List.of("Mouse", ""));
+    }
+
+    @Test
+    void blankLineIsASingleEmptyFieldAndEmptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("a,b\n\nc,d\n")).containsExactly(List.of("a", "b"), List.of(""), List.of("c", "d"));
+        assertThat(readAll("")).isEmpty();
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvRowReader reader = new CsvRowReader(new BufferedReader(new StringReader(csv)));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
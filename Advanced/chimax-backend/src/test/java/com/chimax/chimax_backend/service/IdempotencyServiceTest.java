@@ -0,0 +1,175 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotency-Key ile gelen tekrarların işlemi yeniden çalıştırmadığını, eşzamanlı tekrarların ilk
+ * çalıştırmanın sonucunu beklediğini ve saklanan yanıtın bellek kaybından sonra tablodan okunduğunu doğrular.
+ * Kayıtlar işçi thread'lerinde commit edildiği için test sınıfı transaction dışında çalışır.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(IdempotencyServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheActionOnceAndReceiveTheOriginalResponse() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<ResponseEntity<?>>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return idempotencyService.execute("orders", "buyer@test.com", "key-1", Map.of("productId", 7), key -> {
+                    int order = executions.incrementAndGet();
+                    sleep(200); // Diğer tekrarlar bu sırada gelir ve beklemek zorunda kalır
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("orderId", order));
+                });
+            }));
+        }
+        start.countDown();
+
+        int replayed = 0;
+        for (Future<ResponseEntity<?>> future : futures) {
+            ResponseEntity<?> response = future.get(30, TimeUnit.SECONDS);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(bodyJson(response)).isEqualTo("{\"orderId\":1}");
+            if ("true".equals(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER))) {
+                replayed++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replayed).isEqualTo(THREADS - 1);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejectedButOtherUsersAreIndependent() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute("orders", "a@test.com", "key-2", Map.of("productId", 1), key -> created(executions));
+        ResponseEntity<?> reused = idempotencyService.execute("orders", "a@test.com", "key-2", Map.of("productId", 2),
+                                                              key -> created(executions));
+        ResponseEntity<?> otherUser = idempotencyService.execute("orders", "b@test.com", "key-2", Map.of("productId", 2),
+                                                                 key -> created(executions));
+
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(otherUser.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void onlySuccessfulResponsesAreStoredSoRetriesAfterErrorsExecuteAgain() {
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<?> serverError = idempotencyService.execute("payment-intents", "a@test.com", "key-3", Map.of("amount", 100),
+                key -> {
+                    executions.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Stripe erişilemedi"));
+                });
+        ResponseEntity<?> conflict = idempotencyService.execute("payment-intents", "a@test.com", "key-3", Map.of("amount", 100),
+                key -> {
+                    executions.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Stok yetersiz"));
+                });
+        ResponseEntity<?> retry = idempotencyService.execute("payment-intents", "a@test.com", "key-3", Map.of("amount", 100),
+                                                             key -> created(executions));
+
+        assertThat(serverError.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(3);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void storedBodyExcludesFieldsRemovedByTheCallerButTheFirstResponseKeepsThem() {
+        ResponseEntity<?> first = idempotencyService.execute("payment-intents", "a@test.com", "key-5", Map.of("amount", 100),
+                key -> ResponseEntity.ok(Map.of("clientSecret", "pi_1_secret_x", "paymentIntentId", "pi_1")),
+                body -> Map.of("paymentIntentId", "pi_1"));
+        ResponseEntity<?> replay = idempotencyService.execute("payment-intents", "a@test.com", "key-5", Map.of("amount", 100),
+                key -> ResponseEntity.ok(Map.of()), body -> body);
+
+        assertThat(first.getBody()).isEqualTo(Map.of("clientSecret", "pi_1_secret_x", "paymentIntentId", "pi_1"));
+        assertThat(replay.getBody()).isEqualTo("{\"paymentIntentId\":\"pi_1\"}");
+        assertThat(repository.findAll()).allSatisfy(record -> assertThat(record.getResponseBody()).doesNotContain("secret"));
+    }
+
+    @Test
+    void storedResponseIsReplayedFromTheTableAfterTheInMemoryIndexIsLost() {
+        AtomicInteger executions = new AtomicInteger();
+        idempotencyService.execute("orders", "a@test.com", "key-4", Map.of("productId", 1), key -> created(executions));
+
+        // Yeniden başlatmayı taklit eder: boş indeksli yeni bir servis aynı tabloyu kullanır.
+        IdempotencyService restarted = new IdempotencyServiceImpl(repository, objectMapper, 3600, 1000);
+        ResponseEntity<?> replay = restarted.execute("orders", "a@test.com", "key-4", Map.of("productId", 1),
+                                                     key -> created(executions));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replay.getBody()).isEqualTo("{\"orderId\":1}");
+    }
+
+    private static ResponseEntity<?> created(AtomicInteger executions) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("orderId", executions.incrementAndGet()));
+    }
+
+    // Orijinal yanıtın gövdesi nesne, tekrar oynatılanınki JSON metnidir.
+    private String bodyJson(ResponseEntity<?> response) throws Exception {
+        Object body = response.getBody();
+        return body instanceof String json ? json : objectMapper.writeValueAsString(body);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
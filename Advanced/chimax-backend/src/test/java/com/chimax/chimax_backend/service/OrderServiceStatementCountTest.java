@@ -0,0 +1,181 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.OrderItemDto;
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import com.chimax.chimax_backend.inventory.HotSkuInventory;
+import com.chimax.chimax_backend.inventory.StockReservationLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.chimax.chimax_backend.TestFixtures.category;
+import static com.chimax.chimax_backend.TestFixtures.orderItem;
+import static com.chimax.chimax_backend.TestFixtures.orderRequest;
+import static com.chimax.chimax_backend.TestFixtures.product;
+import static com.chimax.chimax_backend.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sipariş oluşturmanın sepet boyutundan bağımsız sayıda SQL ifadesi çalıştırdığını doğrular. Sayım
+ * DataSource seviyesinde yapılır; böylece Hibernate'in ifadeleri ile JdbcTemplate'in stok UPDATE'i ve
+ * kalem INSERT batch'i birlikte sayılır.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({OrderServiceImpl.class, StockReservationServiceImpl.class, StockReservationLedger.class, HotSkuInventory.class,
+         OrderServiceStatementCountTest.StatementCountingConfig.class})
+class OrderServiceStatementCountTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderServiceStatementCountTest.class);
+
+    private static final AtomicLong PREPARED_STATEMENTS = new AtomicLong();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    private User seller;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(category());
+        seller = entityManager.persist(user("seller@test.com"));
+        entityManager.persist(user("buyer@test.com"));
+    }
+
+    @Test
+    void createOrderRunsSameNumberOfStatementsForOneItemAndTwentyItemCarts() {
+        List<Product> small = persistProducts("küçük", 1, 10);
+        List<Product> large = persistProducts("büyük", 20, 10);
+
+        long smallStatements = statementsForOrder(small);
+        long largeStatements = statementsForOrder(large);
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        entityManager.clear();
+        for (Product product : large) {
+            assertThat(entityManager.find(Product.class, product.getId()).getStockQuantity()).isEqualTo(9);
+        }
+    }
+
+    @Test
+    void createOrderReportsEveryFailingLineAndLeavesStockUntouched() {
+        List<Product> products = persistProducts("hatalı", 3, 1);
+        products.get(1).setActive(false);
+        entityManager.flush();
+
+        List<OrderItemDto> items = new ArrayList<>();
+        items.add(orderItem(products.get(0).getId(), 1)); // geçerli
+        items.add(orderItem(products.get(1).getId(), 1)); // aktif değil
+        items.add(orderItem(products.get(2).getId(), 5)); // stok yetersiz
+        items.add(orderItem(999_999L, 1));                // bulunamadı
+
+        assertThatThrownBy(() -> orderService.createOrder(orderRequest(items), "buyer@test.com"))
+                .isInstanceOfSatisfying(OrderValidationException.class,
+                        e -> assertThat(e.getErrors()).hasSize(3));
+        entityManager.clear();
+        assertThat(entityManager.find(Product.class, products.get(0).getId()).getStockQuantity()).isEqualTo(1);
+    }
+
+    /**
+     * Her üründen birer adetlik bir sipariş verir; sipariş ve flush sırasında hazırlanan JDBC ifadelerinin
+     * sayısını döndürür.
+     */
+    private long statementsForOrder(List<Product> products) {
+        List<OrderItemDto> items = new ArrayList<>();
+        for (Product product : products) {
+            items.add(orderItem(product.getId(), 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        PREPARED_STATEMENTS.set(0);
+
+        long start = System.nanoTime();
+        orderService.createOrder(orderRequest(items), "buyer@test.com");
+        entityManager.flush();
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        long statements = PREPARED_STATEMENTS.get();
+        logger.info("createOrder: {} kalem, {} SQL ifadesi, {} µs", items.size(), statements, elapsedMicros);
+        return statements;
+    }
+
+    private List<Product> persistProducts(String prefix, int count, int stock) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(entityManager.persist(product(prefix + " ürün " + i, stock, category, seller)));
+        }
+        return products;
+    }
+
+    /**
+     * DataSource'u, bağlantılarda hazırlanan her ifadeyi sayan bir vekil ile sarar.
+     */
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                        Object result = method.invoke(target, args);
+                        return result instanceof Connection connection
+                                ? proxy(Connection.class, connection, StatementCountingConfig::countStatements)
+                                : result;
+                    });
+                }
+            };
+        }
+
+        private static Object countStatements(Object connection, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement")) {
+                PREPARED_STATEMENTS.incrementAndGet();
+            }
+            return method.invoke(connection, args);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, TargetInvocation invocation) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+                try {
+                    return invocation.invoke(target, method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }));
+        }
+
+        @FunctionalInterface
+        private interface TargetInvocation {
+            Object invoke(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
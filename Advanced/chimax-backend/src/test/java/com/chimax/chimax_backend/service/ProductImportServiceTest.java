@@ -0,0 +1,140 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.dto.ProductImportReportDto;
+import com.chimax.chimax_backend.dto.ProductImportRowResultDto;
+import com.chimax.chimax_backend.entity.Product;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.repository.CategoryRepository;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import com.chimax.chimax_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.chimax.chimax_backend.TestFixtures.category;
+import static com.chimax.chimax_backend.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * CSV içe aktarımının hatalı satırları atlayıp geçerli satırları parçalar halinde eklediğini ve veritabanında
+ * başarısız olan bir parçanın yalnızca kendi satırlarını hatalı işaretlediğini doğrular. Parçalar kendi
+ * transaction'larında commit edildiği için test sınıfı transaction dışında çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.catalog.import.batch-size=2"
+})
+@Import(ProductImportServiceImpl.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceTest {
+
+    /** Veritabanının reddettiği ad; DTO doğrulamasından geçer, parçanın INSERT'ü başarısız olur. */
+    private static final String REJECTED_NAME = "Reddedilen Ürün";
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.save(category());
+        seller = userRepository.save(user("seller@test.com"));
+        jdbcTemplate.execute("ALTER TABLE products ADD CONSTRAINT chk_import_test CHECK (name <> '" + REJECTED_NAME + "')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE products DROP CONSTRAINT chk_import_test");
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void invalidRowsAndRowsOfAFailedChunkAreReportedWhileOtherChunksAreCreated() throws IOException {
+        String csv = String.join("\r\n",
+                "name,description,price,category,stockQuantity,active",
+                "Kulaklık,\"Kablosuz, gürültü önleyici\",199.90,Elektronik,5,true", // 1: parça 1
+                "Fiyatsız,,abc,Elektronik,1,true",                                   // 2: geçersiz fiyat
+                "Mouse,,49.90,elektronik,3,1",                                       // 3: parça 1
+                "Kategorisiz,,10,Mobilya,1,true",                                    // 4: kategori yok
+                "\"   \",,10,Elektronik,1,true",                                     // 5: ad yalnızca boşluk
+                REJECTED_NAME + ",,10,Elektronik,1,true",                            // 6: parça 2 (veritabanı reddeder)
+                "Klavye,,99,Elektronik,2,false",                                     // 7: parça 2
+                "Monitör,,1500,Elektronik,1,true");                                  // 8: parça 3, satır sonu yok
+
+        ProductImportReportDto report = productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), CatalogFileFormat.CSV, seller);
+
+        assertThat(report.getTotalRows()).isEqualTo(8);
+        assertThat(report.getCreatedCount()).isEqualTo(3);
+        assertThat(report.getFailedCount()).isEqualTo(5);
+        assertThat(report.isTruncated()).isFalse();
+        List<ProductImportRowResultDto> rows = report.getRows();
+        assertThat(rows).extracting(ProductImportRowResultDto::getStatus).containsExactly(
+                ProductImportRowResultDto.STATUS_CREATED, ProductImportRowResultDto.STATUS_FAILED,
+                ProductImportRowResultDto.STATUS_CREATED, ProductImportRowResultDto.STATUS_FAILED,
+                ProductImportRowResultDto.STATUS_FAILED, ProductImportRowResultDto.STATUS_FAILED,
+                ProductImportRowResultDto.STATUS_FAILED, ProductImportRowResultDto.STATUS_CREATED);
+        assertThat(rows.get(1).getErrors()).contains("price: Geçersiz sayı: abc");
+        assertThat(rows.get(3).getErrors()).containsExactly("category: Belirtilen kategori 'Mobilya' bulunamadı.");
+        assertThat(rows.get(4).getErrors()).singleElement().asString().startsWith("name:");
+        // Parça 2'deki geçerli "Klavye" satırı da, reddedilen satırla aynı batch'te olduğu için eklenmez.
+        assertThat(rows.get(5).getErrors()).singleElement().asString().startsWith("Veritabanı hatası");
+        assertThat(rows.get(6).getErrors()).singleElement().asString().startsWith("Veritabanı hatası");
+        assertThat(rows.get(6).getProductId()).isNull();
+
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName, Product::getDescription)
+                .containsExactlyInAnyOrder(
+                        tuple("Kulaklık", "Kablosuz, gürültü önleyici"),
+                        tuple("Mouse", null),
+                        tuple("Monitör", null));
+        assertThat(productRepository.findAllById(List.of(rows.get(0).getProductId(), rows.get(2).getProductId(),
+                                                         rows.get(7).getProductId()))).hasSize(3);
+    }
+
+    @Test
+    void ndjsonRowWhoseNameIsOnlyWhitespaceIsRejected() throws IOException {
+        String ndjson = String.join("\n",
+                "{\"name\":\"   \",\"price\":10,\"category\":\"Elektronik\"}",
+                "{\"name\":\" Mouse \",\"price\":49.90,\"category\":\"Elektronik\"}");
+
+        ProductImportReportDto report = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), CatalogFileFormat.NDJSON, seller);
+
+        assertThat(report.getRows()).extracting(ProductImportRowResultDto::getStatus).containsExactly(
+                ProductImportRowResultDto.STATUS_FAILED, ProductImportRowResultDto.STATUS_CREATED);
+        assertThat(report.getRows().get(0).getErrors()).singleElement().asString().startsWith("name:");
+        assertThat(productRepository.findAll()).extracting(Product::getName).containsExactly("Mouse");
+    }
+}
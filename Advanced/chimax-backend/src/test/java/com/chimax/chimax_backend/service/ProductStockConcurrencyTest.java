@@ -0,0 +1,179 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import com.chimax.chimax_backend.inventory.HotSkuInventory;
+import com.chimax.chimax_backend.inventory.StockReservationLedger;
+import com.chimax.chimax_backend.repository.CategoryRepository;
+import com.chimax.chimax_backend.repository.OrderRepository;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import com.chimax.chimax_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.chimax.chimax_backend.TestFixtures.category;
+import static com.chimax.chimax_backend.TestFixtures.orderItem;
+import static com.chimax.chimax_backend.TestFixtures.orderRequest;
+import static com.chimax.chimax_backend.TestFixtures.product;
+import static com.chimax.chimax_backend.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OrderService.createOrder'ın, çok sayıda eşzamanlı alıcı aynı ürünün son birimlerini almaya çalıştığında
+ * fazla satış yapmadığını ve stoğu yetmeyen siparişlerin tamamen geri alındığını doğrular. Her sipariş
+ * iki kalemlidir: son birimleri tükenen ürün ve bol stoklu bir ürün; başarısız bir siparişte bol stoklu ürünün
+ * düşümü de geri alınmalıdır. Her deneme ayrı bir transaction'da commit edildiği için test sınıfı
+ * @DataJpaTest'in varsayılan (geri alınan) transaction'ı dışında çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockconcurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderServiceImpl.class, StockReservationServiceImpl.class, StockReservationLedger.class, HotSkuInventory.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockConcurrencyTest.class);
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+    private static final int INITIAL_STOCK = 100;
+    private static final int COMPANION_STOCK = 10_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Long productId;
+    private Long companionId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Category category = categoryRepository.save(category());
+            User seller = userRepository.save(user("stock@test.com"));
+            for (int t = 0; t < THREADS; t++) {
+                userRepository.save(user("buyer" + t + "@test.com"));
+            }
+            productId = productRepository.save(product("Son Birimler", INITIAL_STOCK, category, seller)).getId();
+            companionId = productRepository.save(product("Bol Stoklu", COMPANION_STOCK, category, seller)).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            orderRepository.deleteAll();
+            productRepository.deleteAll();
+            userRepository.deleteAll();
+            categoryRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void concurrentOrdersNeverOversellLastUnitsAndFailedOrdersRollBack() throws Exception {
+        AtomicInteger soldUnits = new AtomicInteger();
+        AtomicInteger placedOrders = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            int quantity = t % 3 + 1; // 1-3 adet; son birimlerde büyük istekler reddedilmeli, küçükler geçebilmeli
+            String email = "buyer" + t + "@test.com";
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        orderService.createOrder(orderRequest(List.of(orderItem(productId, quantity), orderItem(companionId, 1))), email);
+                        soldUnits.addAndGet(quantity);
+                        placedOrders.incrementAndGet();
+                    } catch (OrderValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS); // İşçideki beklenmeyen istisnalar burada testi düşürür
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int remaining = productRepository.findById(productId).orElseThrow().getStockQuantity();
+        int companionRemaining = productRepository.findById(companionId).orElseThrow().getStockQuantity();
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        logger.info("Eşzamanlı sipariş: {} iş parçacığı, {} deneme, {} sipariş, {} birim satıldı, {} ret, {} ms ({} deneme/sn)",
+                    THREADS, attempts, placedOrders.get(), soldUnits.get(), rejected.get(), elapsedNanos / 1_000_000,
+                    attempts * 1_000_000_000L / Math.max(1, elapsedNanos));
+
+        assertThat(remaining).isGreaterThanOrEqualTo(0);
+        assertThat(soldUnits.get() + remaining).isEqualTo(INITIAL_STOCK);
+        assertThat(remaining).isZero(); // Talep stoğun çok üzerinde; 1 adetlik istekler son birimi de tüketmeli
+        // Reddedilen siparişler ne sipariş kaydı ne de diğer kalemin stok düşümünü bırakır.
+        assertThat(orderRepository.count()).isEqualTo(placedOrders.get());
+        assertThat(companionRemaining).isEqualTo(COMPANION_STOCK - placedOrders.get());
+    }
+
+    @Test
+    void inactiveProductIsNotSoldAndItsStockIsLeftUntouched() {
+        tx.executeWithoutResult(status -> productRepository.findById(productId).orElseThrow().setActive(false));
+
+        assertThatThrownBy(() -> orderService.createOrder(
+                orderRequest(List.of(orderItem(companionId, 1), orderItem(productId, 1))), "buyer0@test.com"))
+                .isInstanceOf(OrderValidationException.class);
+
+        assertThat(orderRepository.count()).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(INITIAL_STOCK);
+        assertThat(productRepository.findById(companionId).orElseThrow().getStockQuantity()).isEqualTo(COMPANION_STOCK);
+    }
+}
@@ -0,0 +1,221 @@
+package com.chimax.chimax_backend.service;
+
+import com.chimax.chimax_backend.entity.Category;
+import com.chimax.chimax_backend.entity.User;
+import com.chimax.chimax_backend.exception.OrderValidationException;
+import com.chimax.chimax_backend.inventory.HotSkuInventory;
+import com.chimax.chimax_backend.inventory.StockReservationLedger;
+import com.chimax.chimax_backend.repository.CategoryRepository;
+import com.chimax.chimax_backend.repository.OrderRepository;
+import com.chimax.chimax_backend.repository.ProductRepository;
+import com.chimax.chimax_backend.repository.StockReservationRepository;
+import com.chimax.chimax_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.chimax.chimax_backend.TestFixtures.category;
+import static com.chimax.chimax_backend.TestFixtures.orderItem;
+import static com.chimax.chimax_backend.TestFixtures.orderRequest;
+import static com.chimax.chimax_backend.TestFixtures.product;
+import static com.chimax.chimax_backend.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ödeme aşamasındaki bir müşterinin tuttuğu birimlerin, eşzamanlı siparişlerde başka müşterilere
+ * satılamadığını doğrular. Normal ürünlerde tutmalar koşullu UPDATE içinde tablodan uygulanır (bellekteki
+ * defter tutmayı kaçırsa bile); sıcak ürünlerde sayaçtan düşüm tutulan adetleri bırakır. Sıcak ürün satışlarının
+ * uzlaştırmadan önce yeniden başlatmada kaybolmadığı da burada doğrulanır.
+ * Her sipariş kendi transaction'ında commit edildiği için test sınıfı transaction dışında çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockholds;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderServiceImpl.class, StockReservationServiceImpl.class, StockReservationLedger.class, HotSkuInventory.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockHoldEnforcementTest {
+
+    private static final int BUYERS = 16;
+    private static final int STOCK = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockReservationLedger ledger;
+
+    @Autowired
+    private HotSkuInventory hotSkuInventory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        productId = tx.execute(status -> {
+            Category category = categoryRepository.save(category());
+            User seller = userRepository.save(user("seller@test.com"));
+            userRepository.save(user("holder@test.com"));
+            for (int i = 0; i < BUYERS; i++) {
+                userRepository.save(user("buyer" + i + "@test.com"));
+            }
+            return productRepository.save(product("Tutulan Ürün", STOCK, category, seller)).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotSkuInventory.disable(productId);
+        ledger.load(List.of());
+        tx.executeWithoutResult(status -> {
+            orderRepository.deleteAll();
+            reservationRepository.deleteAll();
+            productRepository.deleteAll();
+            userRepository.deleteAll();
+            categoryRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void heldUnitsCannotBeBoughtByOthersEvenWhenTheInMemoryCheckMissesTheHold() throws Exception {
+        stockReservationService.reserve("holder@test.com", List.of(orderItem(productId, STOCK)));
+        // Sipariş doğrulaması tutma deftere yazılmadan önce yapılmış gibi: yalnızca tablodaki kayıt kalır.
+        ledger.load(List.of());
+
+        int sold = buyConcurrently(1);
+
+        assertThat(sold).isZero();
+        assertThat(stockInDatabase()).isEqualTo(STOCK);
+        orderService.createOrder(orderRequest(List.of(orderItem(productId, STOCK))), "holder@test.com"); // Sahibi alabilir
+        assertThat(stockInDatabase()).isZero();
+    }
+
+    @Test
+    void hotSkuBuyersCannotTakeUnitsHeldByAnotherCustomer() throws Exception {
+        hotSkuInventory.enable(productId);
+        stockReservationService.reserve("holder@test.com", List.of(orderItem(productId, 3)));
+
+        int sold = buyConcurrently(1);
+
+        assertThat(sold).isEqualTo(STOCK - 3);
+        assertThat(hotSkuInventory.effectiveStock(productId, 0)).isEqualTo(3);
+        orderService.createOrder(orderRequest(List.of(orderItem(productId, 3))), "holder@test.com");
+        assertThat(hotSkuInventory.effectiveStock(productId, 0)).isZero();
+        hotSkuInventory.reconcile();
+        assertThat(stockInDatabase()).isZero();
+    }
+
+    @Test
+    void hotSkuSalesAreNotLostWhenTheServerRestartsBeforeReconciliation() {
+        hotSkuInventory.enable(productId);
+        orderService.createOrder(orderRequest(List.of(orderItem(productId, 2))), "buyer0@test.com");
+        assertThat(stockInDatabase()).isEqualTo(STOCK); // Henüz katlanmadı; düşüm defterde
+
+        // Yeniden başlatma: bellekteki sayaç kaybolur, açılışta defter katlanıp sayaç yeniden kurulur.
+        HotSkuInventory restarted = new HotSkuInventory(jdbcTemplate, transactionManager, 4, String.valueOf(productId));
+        restarted.enableConfiguredProducts();
+
+        assertThat(stockInDatabase()).isEqualTo(STOCK - 2);
+        assertThat(restarted.effectiveStock(productId, 0)).isEqualTo(STOCK - 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hot_stock_ledger", Integer.class)).isZero();
+    }
+
+    @Test
+    void rolledBackHoldIsRemovedFromTheLedgerAndThePreviousHoldIsRestored() {
+        stockReservationService.reserve("holder@test.com", List.of(orderItem(productId, 2)));
+        Long holderId = userRepository.findByEmail("holder@test.com").orElseThrow().getId();
+
+        tx.executeWithoutResult(status -> {
+            stockReservationService.reserve("holder@test.com", List.of(orderItem(productId, 3)));
+            status.setRollbackOnly(); // Örn. commit başarısız oldu
+        });
+
+        assertThat(ledger.size()).isEqualTo(1);
+        assertThat(ledger.currentHoldOf(holderId).getQuantities()).containsEntry(productId, 2);
+        assertThat(reservationRepository.findAll()).singleElement()
+                .satisfies(row -> assertThat(row.getQuantity()).isEqualTo(2));
+    }
+
+    /**
+     * Her alıcı aynı anda quantity adetlik sipariş vermeyi dener; başarılı sipariş sayısını döndürür.
+     */
+    private int buyConcurrently(int quantity) throws Exception {
+        AtomicInteger placed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        List<Future<?>> futures = new ArrayList<>(BUYERS);
+        for (int i = 0; i < BUYERS; i++) {
+            String email = "buyer" + i + "@test.com";
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(orderRequest(List.of(orderItem(productId, quantity))), email);
+                    placed.incrementAndGet();
+                } catch (OrderValidationException e) {
+                    // Beklenen: stok başka bir müşteri için tutuluyor veya tükendi
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        return placed.get();
+    }
+
+    private int stockInDatabase() {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity();
+    }
+}